@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import am.ik.yavi.benchmark.Models.User;
+import am.ik.yavi.builder.ValidatorBuilder;
+import am.ik.yavi.core.ConstraintViolations;
+import am.ik.yavi.core.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Validator#validate(Object)} against a bean whose properties are all
+ * validated directly without nesting.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlatBeanBenchmark {
+
+	@Param({ "true", "false" })
+	boolean valid;
+
+	@Param({ "false", "true" })
+	boolean failFast;
+
+	Validator<User> validator;
+
+	User user;
+
+	@Setup
+	public void setup() {
+		this.validator = ValidatorBuilder.<User>of()
+			.constraint(User::getName, "name", c -> c.notBlank().lessThanOrEqual(20))
+			.constraint(User::getEmail, "email", c -> c.notBlank().lessThanOrEqual(50).email())
+			._integer(User::getAge, "age", c -> c.greaterThanOrEqual(0).lessThanOrEqual(150))
+			._boolean(User::isEnabled, "enabled", c -> c.isTrue())
+			.failFast(this.failFast)
+			.build();
+		this.user = this.valid ? User.valid() : User.invalid();
+	}
+
+	@Benchmark
+	public ConstraintViolations validate() {
+		return this.validator.validate(this.user);
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import am.ik.yavi.benchmark.Models.LineItem;
+import am.ik.yavi.benchmark.Models.Order;
+import am.ik.yavi.builder.ValidatorBuilder;
+import am.ik.yavi.core.ConstraintViolations;
+import am.ik.yavi.core.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Validator#validate(Object)} against a collection validated with
+ * {@code forEach}. When {@code valid} is {@code false}, only the last element is
+ * invalid.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForEachBenchmark {
+
+	@Param({ "10", "1000", "100000" })
+	int size;
+
+	@Param({ "true", "false" })
+	boolean valid;
+
+	@Param({ "false", "true" })
+	boolean failFast;
+
+	Validator<Order> validator;
+
+	Order order;
+
+	@Setup
+	public void setup() {
+		this.validator = ValidatorBuilder.<Order>of()
+			.constraint(Order::getOrderId, "orderId", c -> c.notBlank().lessThanOrEqual(32))
+			.forEach(Order::getLineItems, "lineItems",
+					b -> b.constraint(LineItem::getSku, "sku", c -> c.notBlank().lessThanOrEqual(20))
+						._integer(LineItem::getQuantity, "quantity", c -> c.greaterThan(0).lessThanOrEqual(100))
+						._long(LineItem::getPrice, "price", c -> c.greaterThanOrEqual(0L)))
+			.failFast(this.failFast)
+			.build();
+		this.order = Order.of(this.size, this.valid);
+	}
+
+	@Benchmark
+	public ConstraintViolations validate() {
+		return this.validator.validate(this.order);
+	}
+
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Domain objects shared by the benchmarks. Every model provides a valid and an invalid
+ * instance so that each scenario can be measured on both paths.
+ */
+final class Models {
+
+	private Models() {
+	}
+
+	static final class User {
+
+		final String name;
+
+		final String email;
+
+		final int age;
+
+		final boolean enabled;
+
+		User(String name, String email, int age, boolean enabled) {
+			this.name = name;
+			this.email = email;
+			this.age = age;
+			this.enabled = enabled;
+		}
+
+		String getName() {
+			return name;
+		}
+
+		String getEmail() {
+			return email;
+		}
+
+		int getAge() {
+			return age;
+		}
+
+		boolean isEnabled() {
+			return enabled;
+		}
+
+		static User valid() {
+			return new User("John Doe", "john@example.com", 30, true);
+		}
+
+		static User invalid() {
+			return new User("", "john@example@com", -1, false);
+		}
+
+	}
+
+	static final class Address {
+
+		final String street;
+
+		final String city;
+
+		final String zipCode;
+
+		Address(String street, String city, String zipCode) {
+			this.street = street;
+			this.city = city;
+			this.zipCode = zipCode;
+		}
+
+		String getStreet() {
+			return street;
+		}
+
+		String getCity() {
+			return city;
+		}
+
+		String getZipCode() {
+			return zipCode;
+		}
+
+		static Address valid() {
+			return new Address("1-2-3 Shibuya", "Tokyo", "150-0002");
+		}
+
+		static Address invalid() {
+			return new Address("", null, "1500002");
+		}
+
+	}
+
+	static final class Customer {
+
+		final String name;
+
+		final Address address;
+
+		final Address billingAddress;
+
+		Customer(String name, Address address, Address billingAddress) {
+			this.name = name;
+			this.address = address;
+			this.billingAddress = billingAddress;
+		}
+
+		String getName() {
+			return name;
+		}
+
+		Address getAddress() {
+			return address;
+		}
+
+		Address getBillingAddress() {
+			return billingAddress;
+		}
+
+		static Customer valid() {
+			return new Customer("John Doe", Address.valid(), Address.valid());
+		}
+
+		static Customer invalid() {
+			return new Customer("", Address.invalid(), Address.invalid());
+		}
+
+	}
+
+	static final class LineItem {
+
+		final String sku;
+
+		final int quantity;
+
+		final long price;
+
+		LineItem(String sku, int quantity, long price) {
+			this.sku = sku;
+			this.quantity = quantity;
+			this.price = price;
+		}
+
+		String getSku() {
+			return sku;
+		}
+
+		int getQuantity() {
+			return quantity;
+		}
+
+		long getPrice() {
+			return price;
+		}
+
+	}
+
+	static final class Order {
+
+		final String orderId;
+
+		final String channel;
+
+		final String couponCode;
+
+		final List<LineItem> lineItems;
+
+		Order(String orderId, String channel, String couponCode, List<LineItem> lineItems) {
+			this.orderId = orderId;
+			this.channel = channel;
+			this.couponCode = couponCode;
+			this.lineItems = lineItems;
+		}
+
+		String getOrderId() {
+			return orderId;
+		}
+
+		String getChannel() {
+			return channel;
+		}
+
+		String getCouponCode() {
+			return couponCode;
+		}
+
+		List<LineItem> getLineItems() {
+			return lineItems;
+		}
+
+		/**
+		 * Creates an order with the given number of line items.
+		 * @param size number of line items
+		 * @param valid whether the line items should be valid. When {@code false}, only
+		 * the last line item is invalid so that full collection has to walk the whole list.
+		 */
+		static Order of(int size, boolean valid) {
+			final List<LineItem> lineItems = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				lineItems.add(new LineItem("SKU-" + i, 1 + (i % 10), 100L * (i + 1)));
+			}
+			if (!valid) {
+				lineItems.set(size - 1, new LineItem("", 0, -1L));
+			}
+			return new Order("ORDER-1", "web", "SUMMER", lineItems);
+		}
+
+		static Order conditional(boolean valid) {
+			return valid ? new Order("ORDER-1", "web", "SUMMER", new ArrayList<>())
+					: new Order("ORDER-1", "web", "X", new ArrayList<>());
+		}
+
+	}
+
+}
@@ -35,6 +35,8 @@ import am.ik.yavi.constraint.MapConstraint;
 import am.ik.yavi.constraint.ObjectConstraint;
 import am.ik.yavi.constraint.OffsetDateTimeConstraint;
 import am.ik.yavi.constraint.ShortConstraint;
+import am.ik.yavi.constraint.TextStreamConstraint;
+import am.ik.yavi.constraint.Utf8Constraint;
 import am.ik.yavi.constraint.YearConstraint;
 import am.ik.yavi.constraint.YearMonthConstraint;
 import am.ik.yavi.constraint.ZonedDateTimeConstraint;
@@ -65,6 +67,7 @@ import am.ik.yavi.core.ValueValidator;
 import am.ik.yavi.core.ViolatedArguments;
 import am.ik.yavi.core.ViolationMessage;
 import am.ik.yavi.fn.Pair;
+import am.ik.yavi.jsr305.Nullable;
 import am.ik.yavi.message.MessageFormatter;
 import am.ik.yavi.message.SimpleMessageFormatter;
 import am.ik.yavi.meta.BigDecimalConstraintMeta;
@@ -87,8 +90,12 @@ import am.ik.yavi.meta.StringConstraintMeta;
 import am.ik.yavi.meta.YearConstraintMeta;
 import am.ik.yavi.meta.YearMonthConstraintMeta;
 import am.ik.yavi.meta.ZonedDateTimeConstraintMeta;
+import java.io.InputStream;
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -101,10 +108,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Deque;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -165,10 +176,21 @@ public class ValidatorBuilder<T> {
 
 	final List<ConstraintPredicates<T, ?>> predicatesList = new ArrayList<>();
 
+	/**
+	 * The names of the properties constrained by {@link #_reader} or
+	 * {@link #_inputStream}, which can only be read once.
+	 */
+	final Set<String> streamNames = new HashSet<>();
+
 	MessageFormatter messageFormatter;
 
 	boolean failFast = false;
 
+	int parallelThreshold;
+
+	@Nullable
+	Executor parallelExecutor;
+
 	ConflictStrategy conflictStrategy = ConflictStrategy.NOOP;
 
 	/**
@@ -198,8 +220,11 @@ public class ValidatorBuilder<T> {
 		this.collectionValidators.addAll(cloningSource.collectionValidators);
 		this.conditionalValidators.addAll(cloningSource.conditionalValidators);
 		this.predicatesList.addAll(cloningSource.predicatesList);
+		this.streamNames.addAll(cloningSource.streamNames);
 		this.messageFormatter = cloningSource.messageFormatter;
 		this.failFast = cloningSource.failFast;
+		this.parallelThreshold = cloningSource.parallelThreshold;
+		this.parallelExecutor = cloningSource.parallelExecutor;
 	}
 
 	/**
@@ -272,11 +297,13 @@ public class ValidatorBuilder<T> {
 	 * @return a new Validator instance configured with all added constraints
 	 */
 	public Validator<T> build() {
-		return new Validator<>(messageKeySeparator,
+		final Validator<T> validator = new Validator<>(messageKeySeparator,
 				new PredicatesList<>(this.conflictStrategy, this.predicatesList).toList(), this.collectionValidators,
 				this.conditionalValidators,
 				this.messageFormatter == null ? SimpleMessageFormatter.getInstance() : this.messageFormatter,
 				this.failFast);
+		return this.parallelExecutor == null ? validator
+				: validator.parallel(this.parallelThreshold, this.parallelExecutor);
 	}
 
 	public ValidatorBuilder<T> constraint(ToCharSequence<T, String> f, String name,
@@ -757,6 +784,79 @@ public class ValidatorBuilder<T> {
 		return this.constraint(f, name, c, ByteArrayConstraint::new);
 	}
 
+	/**
+	 * Adds constraints on a {@code byte[]} property that holds UTF-8 encoded text. The
+	 * bytes are checked without decoding them to a String.
+	 * @param f a function to extract the bytes from type T
+	 * @param name the property name used in error messages
+	 * @param c a function to configure constraints on the bytes
+	 * @return this builder instance for method chaining
+	 * @since 0.17.0
+	 */
+	public ValidatorBuilder<T> _utf8Bytes(ToByteArray<T> f, String name,
+			Function<Utf8Constraint<T, byte[]>, Utf8Constraint<T, byte[]>> c) {
+		return this.constraint(f, name, c, Utf8Constraint::bytes);
+	}
+
+	/**
+	 * Adds constraints on the remaining bytes of a {@link ByteBuffer} property that holds
+	 * UTF-8 encoded text. The bytes are checked without decoding them to a String and
+	 * without changing the position of the buffer.
+	 * @param f a function to extract the buffer from type T
+	 * @param name the property name used in error messages
+	 * @param c a function to configure constraints on the bytes
+	 * @return this builder instance for method chaining
+	 * @since 0.17.0
+	 */
+	public ValidatorBuilder<T> _utf8Buffer(ToByteBuffer<T> f, String name,
+			Function<Utf8Constraint<T, ByteBuffer>, Utf8Constraint<T, ByteBuffer>> c) {
+		return this.constraint(f, name, c, Utf8Constraint::buffer);
+	}
+
+	/**
+	 * Adds constraints on the text read from a {@link Reader} property. The text is read
+	 * in chunks and never held as a whole, and reading stops as soon as the result of the
+	 * constraints is known. The reader is consumed but not closed, so all constraints on
+	 * the property have to be configured in one call.
+	 * @param f a function to extract the reader from type T
+	 * @param name the property name used in error messages
+	 * @param c a function to configure constraints on the text
+	 * @return this builder instance for method chaining
+	 * @throws IllegalArgumentException if the property already has stream constraints
+	 * @since 0.17.0
+	 */
+	public ValidatorBuilder<T> _reader(ToReader<T> f, String name,
+			Function<TextStreamConstraint<T, Reader>, TextStreamConstraint<T, Reader>> c) {
+		this.addStreamName(name);
+		return this.constraint(f, name, c, TextStreamConstraint::reader);
+	}
+
+	/**
+	 * Adds constraints on the text read from an {@link InputStream} property. The text is
+	 * read in chunks and never held as a whole, and reading stops as soon as the result
+	 * of the constraints is known. The stream is consumed but not closed, so all
+	 * constraints on the property have to be configured in one call.
+	 * @param f a function to extract the stream from type T
+	 * @param name the property name used in error messages
+	 * @param charset the charset of the text
+	 * @param c a function to configure constraints on the text
+	 * @return this builder instance for method chaining
+	 * @throws IllegalArgumentException if the property already has stream constraints
+	 * @since 0.17.0
+	 */
+	public ValidatorBuilder<T> _inputStream(ToInputStream<T> f, String name, Charset charset,
+			Function<TextStreamConstraint<T, InputStream>, TextStreamConstraint<T, InputStream>> c) {
+		this.addStreamName(name);
+		return this.constraint(f, name, c, () -> TextStreamConstraint.inputStream(charset));
+	}
+
+	private void addStreamName(String name) {
+		if (!this.streamNames.add(name)) {
+			throw new IllegalArgumentException("\"" + name
+					+ "\" already has stream constraints. A stream can only be read once, so configure all of its constraints in a single call.");
+		}
+	}
+
 	public ValidatorBuilder<T> constraint(ToShortArray<T> f, String name,
 			Function<ShortArrayConstraint<T>, ShortArrayConstraint<T>> c) {
 		return this.constraint(f, name, c, ShortArrayConstraint::new);
@@ -1120,6 +1220,54 @@ public class ValidatorBuilder<T> {
 		return this;
 	}
 
+	/**
+	 * Validates the elements of collections registered with {@code forEach} in parallel
+	 * on the {@link ForkJoinPool#commonPool() common pool} once a collection has at least
+	 * {@code threshold} elements.
+	 * @param threshold the minimum number of elements of a collection to validate it in
+	 * parallel
+	 * @return this builder instance for method chaining
+	 * @since 0.17.0
+	 * @see Validator#parallel(int, Executor)
+	 */
+	public ValidatorBuilder<T> parallel(int threshold) {
+		return this.parallel(threshold, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Validates the elements of collections registered with {@code forEach} in parallel
+	 * on the given executor once a collection has at least {@code threshold} elements.
+	 * Violations are reported in the same order as with sequential validation. The
+	 * setting is not propagated to the validators given to {@code forEach}, which
+	 * validate the collections of the elements in parallel only if they were built with
+	 * {@code parallel} themselves.
+	 * <p>
+	 * Example: <pre>{@code
+	 * Validator<Order> validator = ValidatorBuilder.<Order>of()
+	 *     .forEach(Order::getLineItems, "lineItems", LineItem.validator())
+	 *     .parallel(10_000, executor)
+	 *     .build();
+	 * }</pre>
+	 * @param threshold the minimum number of elements of a collection to validate it in
+	 * parallel
+	 * @param executor the executor to validate the elements on
+	 * @return this builder instance for method chaining
+	 * @throws IllegalArgumentException if threshold is not positive
+	 * @since 0.17.0
+	 * @see Validator#parallel(int, Executor)
+	 */
+	public ValidatorBuilder<T> parallel(int threshold, Executor executor) {
+		if (threshold <= 0) {
+			throw new IllegalArgumentException("threshold must be positive");
+		}
+		if (executor == null) {
+			throw new IllegalArgumentException("executor must not be null");
+		}
+		this.parallelThreshold = threshold;
+		this.parallelExecutor = executor;
+		return this;
+	}
+
 	/**
 	 * Sets the {@link ConflictStrategy} that defines the behavior when a constraint name
 	 * conflicts when adding a constraint. By default, {@link ConflictStrategy#NOOP} is
@@ -1382,6 +1530,27 @@ public class ValidatorBuilder<T> {
 
 	}
 
+	/**
+	 * @since 0.17.0
+	 */
+	public interface ToByteBuffer<T> extends Function<T, ByteBuffer> {
+
+	}
+
+	/**
+	 * @since 0.17.0
+	 */
+	public interface ToInputStream<T> extends Function<T, InputStream> {
+
+	}
+
+	/**
+	 * @since 0.17.0
+	 */
+	public interface ToReader<T> extends Function<T, Reader> {
+
+	}
+
 	public interface ToCharArray<T> extends Function<T, char[]> {
 
 	}
@@ -22,27 +22,37 @@ import am.ik.yavi.constraint.charsequence.CodePoints.CodePointsRanges;
 import am.ik.yavi.constraint.charsequence.CodePoints.CodePointsSet;
 import am.ik.yavi.constraint.charsequence.CodePoints.Range;
 import am.ik.yavi.constraint.charsequence.CodePointsConstraint;
+import am.ik.yavi.constraint.charsequence.EmailAddressUtils;
 import am.ik.yavi.constraint.charsequence.EmojiConstraint;
+import am.ik.yavi.constraint.charsequence.LinearPattern;
+import am.ik.yavi.constraint.charsequence.NumberRepresentationUtils;
+import am.ik.yavi.constraint.charsequence.PatternRegistry;
+import am.ik.yavi.constraint.charsequence.UrlOptions;
 import am.ik.yavi.constraint.charsequence.variant.VariantOptions;
+import am.ik.yavi.constraint.inetaddress.CidrSet;
 import am.ik.yavi.constraint.inetaddress.InetAddressUtils;
 import am.ik.yavi.constraint.password.CharSequencePasswordPoliciesBuilder;
 import am.ik.yavi.core.ConstraintPredicate;
+import am.ik.yavi.core.DerivedValues;
+import am.ik.yavi.core.ViolatedValue;
 import am.ik.yavi.core.ViolationMessage;
-import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.net.MalformedURLException;
-import java.net.URL;
+import am.ik.yavi.jsr305.Nullable;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.text.Normalizer;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.time.format.ResolverStyle;
+import java.time.temporal.TemporalAccessor;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.ToIntFunction;
 import java.util.regex.Pattern;
@@ -57,35 +67,62 @@ import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_DOUBLE;
 import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_EMAIL;
 import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_ENDSWITH;
 import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_FLOAT;
+import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_INSTANT;
 import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_INTEGER;
 import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_IPV4;
 import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_IPV6;
 import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_LOCAL_DATE;
+import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_LOCAL_DATE_TIME;
 import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_LONG;
 import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_LUHN;
 import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_NOT_BLANK;
+import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_OFFSET_DATE_TIME;
 import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_PATTERN;
 import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_SHORT;
 import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_STARTSWITH;
 import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_URL;
 import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_UUID;
+import static am.ik.yavi.core.ViolationMessage.Default.INET_ADDRESS_IN_CIDR;
+import static am.ik.yavi.core.ViolationMessage.Default.INET_ADDRESS_NOT_IN_CIDR;
 
 public class CharSequenceConstraint<T, E extends CharSequence>
 		extends ContainerConstraintBase<T, E, CharSequenceConstraint<T, E>> {
 
-	private static final String EMAIL_PART = "[^\\x00-\\x1F()<>@,;:\\\\\".\\[\\]\\s]";
-
-	private static final String DOMAIN_PATTERN = EMAIL_PART + "+(\\." + EMAIL_PART + "+)*";
-
-	private static final Pattern VALID_EMAIL_ADDRESS_REGEX = Pattern.compile("^" + EMAIL_PART + "+(\\." + EMAIL_PART
-			+ "+)*@(" + DOMAIN_PATTERN + "|" + InetAddressUtils.IPV4_REGEX + ")$", Pattern.CASE_INSENSITIVE);
-
 	private static final Pattern VALID_UUID_REGEX = Pattern.compile("\\p{XDigit}{8}(-\\p{XDigit}{4}){4}\\p{XDigit}{8}");
 
 	protected final Normalizer.Form normalizerForm;
 
 	protected final VariantOptions variantOptions;
 
+	/**
+	 * Keys of the values derived from the property value with {@link #normalizerForm} and
+	 * {@link #variantOptions}, shared by the predicates of one property through
+	 * {@link DerivedValues}.
+	 */
+	private final Object normalizedKey = new Object();
+
+	private final Object sizeKey = new Object();
+
+	/**
+	 * Characters below this limit are left unchanged by {@link #normalizerForm} whatever
+	 * they are combined with.
+	 */
+	private final char stableLimit;
+
+	/**
+	 * Whether this is a subclass, which may override {@link #normalize(String)}. Every
+	 * value then has to go through it and the size cannot be taken from the length of the
+	 * value.
+	 */
+	private final boolean mayOverrideNormalize;
+
+	// the functions are created once so that evaluating a predicate does not allocate
+	private final Function<E, String> normalizer;
+
+	private final ToIntFunction<E> codePointCount;
+
+	private final ToIntFunction<E> size;
+
 	public CharSequenceConstraint() {
 		this(Normalizer.Form.NFC, VariantOptions.builder().build());
 	}
@@ -93,6 +130,23 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 	public CharSequenceConstraint(Normalizer.Form normalizerForm, VariantOptions variantOptions) {
 		this.normalizerForm = normalizerForm;
 		this.variantOptions = variantOptions;
+		this.stableLimit = stableLimit(normalizerForm);
+		this.mayOverrideNormalize = this.getClass() != CharSequenceConstraint.class;
+		this.normalizer = x -> this.normalize(x.toString());
+		this.codePointCount = x -> {
+			if (!this.mayOverrideNormalize) {
+				if (this.normalizerForm == null) {
+					return this.variantOptions.codePointCount(x);
+				}
+				if (isBelow(x, this.stableLimit)) {
+					// neither a variation selector nor a surrogate
+					return x.length();
+				}
+			}
+			final String s = this.normalized(x);
+			return s.codePointCount(0, s.length());
+		};
+		this.size = x -> DerivedValues.getInt(x, this.sizeKey, this.codePointCount);
 	}
 
 	public ByteSizeConstraint<T, E> asByteArray(Charset charset) {
@@ -131,7 +185,7 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 
 	public CharSequenceConstraint<T, E> contains(CharSequence s) {
 		this.predicates()
-			.add(ConstraintPredicate.of(x -> x.toString().contains(s), CHAR_SEQUENCE_CONTAINS, () -> new Object[] { s },
+			.add(ConstraintPredicate.of(x -> indexOf(x, s) >= 0, CHAR_SEQUENCE_CONTAINS, () -> new Object[] { s },
 					VALID));
 		return this;
 	}
@@ -143,7 +197,7 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 	 */
 	public CharSequenceConstraint<T, E> startsWith(CharSequence prefix) {
 		this.predicates()
-			.add(ConstraintPredicate.of(x -> x.toString().startsWith(prefix.toString()), CHAR_SEQUENCE_STARTSWITH,
+			.add(ConstraintPredicate.of(x -> regionMatches(x, 0, prefix), CHAR_SEQUENCE_STARTSWITH,
 					() -> new Object[] { prefix }, VALID));
 		return this;
 	}
@@ -155,17 +209,20 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 	 */
 	public CharSequenceConstraint<T, E> endsWith(CharSequence suffix) {
 		this.predicates()
-			.add(ConstraintPredicate.of(x -> x.toString().endsWith(suffix.toString()), CHAR_SEQUENCE_ENDSWITH,
-					() -> new Object[] { suffix }, VALID));
+			.add(ConstraintPredicate.of(x -> regionMatches(x, x.length() - suffix.length(), suffix),
+					CHAR_SEQUENCE_ENDSWITH, () -> new Object[] { suffix }, VALID));
 		return this;
 	}
 
 	public CharSequenceConstraint<T, E> email() {
+		final ToIntFunction<E> size = this.size();
 		this.predicates().add(ConstraintPredicate.of(x -> {
-			if (size().applyAsInt(x) == 0) {
+			if (x.length() == 0 || EmailAddressUtils.isEmailAddress(x)) {
 				return true;
 			}
-			return VALID_EMAIL_ADDRESS_REGEX.matcher(x).matches();
+			// a value that is empty once normalized and stripped of ignored variants is
+			// valid as well
+			return size.applyAsInt(x) == 0;
 		}, CHAR_SEQUENCE_EMAIL, () -> new Object[] {}, VALID));
 		return this;
 	}
@@ -180,19 +237,14 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 		return this;
 	}
 
-	private <U> CharSequenceConstraint<T, E> isValidRepresentationOf(Function<String, U> converter,
+	private CharSequenceConstraint<T, E> isValidRepresentationOf(Predicate<CharSequence> syntax,
 			ViolationMessage message) {
+		final ToIntFunction<E> size = this.size();
 		this.predicates().add(ConstraintPredicate.of(x -> {
-			if (size().applyAsInt(x) == 0) {
+			if (x.length() == 0 || syntax.test(x)) {
 				return true;
 			}
-			try {
-				converter.apply(x.toString());
-				return true;
-			}
-			catch (NumberFormatException ignored) {
-				return false;
-			}
+			return size.applyAsInt(x) == 0;
 		}, message, () -> new Object[] {}, VALID));
 		return this;
 	}
@@ -201,15 +253,44 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 	 * @since 0.12.0
 	 */
 	private CharSequenceConstraint<T, E> isLocalDatePattern(String pattern) {
+		return this.isDateTime(DateTimeFormatter.ofPattern(pattern).withResolverStyle(ResolverStyle.STRICT), pattern,
+				x -> false, IsoDateTimeLayouts.hasIsoFields(pattern), CHAR_SEQUENCE_LOCAL_DATE);
+	}
+
+	/**
+	 * Checks the value with a formatter built once per constraint. Values the fast path
+	 * accepts skip the formatter. If the formatter only produces ISO calendar fields that
+	 * {@link IsoDateTimeLayouts#resolve(TemporalAccessor)} can resolve, the value is
+	 * parsed with {@link DateTimeFormatter#parseUnresolved(CharSequence, ParsePosition)}
+	 * and checked without an exception being thrown. Any other value is resolved by the
+	 * formatter itself, which reports failures as a {@link DateTimeException}.
+	 * @since 0.17.0
+	 */
+	private CharSequenceConstraint<T, E> isDateTime(DateTimeFormatter formatter, String pattern,
+			Predicate<CharSequence> fastPath, boolean isoFields, ViolationMessage message) {
 		this.predicates().add(ConstraintPredicate.of(x -> {
+			if (fastPath.test(x)) {
+				return true;
+			}
+			if (isoFields) {
+				final ParsePosition position = new ParsePosition(0);
+				final TemporalAccessor parsed = formatter.parseUnresolved(x, position);
+				if (parsed == null || position.getErrorIndex() >= 0 || position.getIndex() != x.length()) {
+					return false;
+				}
+				final int resolved = IsoDateTimeLayouts.resolve(parsed);
+				if (resolved != IsoDateTimeLayouts.UNRESOLVED) {
+					return resolved == IsoDateTimeLayouts.VALID;
+				}
+			}
 			try {
-				DateTimeFormatter.ofPattern(pattern).withResolverStyle(ResolverStyle.STRICT).parse(x);
+				formatter.parse(x);
 				return true;
 			}
-			catch (DateTimeParseException ignored) {
+			catch (DateTimeException e) {
 				return false;
 			}
-		}, CHAR_SEQUENCE_LOCAL_DATE, () -> new Object[] { pattern }, VALID));
+		}, message, () -> new Object[] { pattern }, VALID));
 		return this;
 	}
 
@@ -217,63 +298,65 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 	 * @since 0.6.0
 	 */
 	public CharSequenceConstraint<T, E> isByte() {
-		return this.isValidRepresentationOf(Byte::parseByte, CHAR_SEQUENCE_BYTE);
+		return this.isValidRepresentationOf(NumberRepresentationUtils::isByte, CHAR_SEQUENCE_BYTE);
 	}
 
 	/**
 	 * @since 0.6.0
 	 */
 	public CharSequenceConstraint<T, E> isShort() {
-		return this.isValidRepresentationOf(Short::parseShort, CHAR_SEQUENCE_SHORT);
+		return this.isValidRepresentationOf(NumberRepresentationUtils::isShort, CHAR_SEQUENCE_SHORT);
 	}
 
 	/**
 	 * @since 0.6.0
 	 */
 	public CharSequenceConstraint<T, E> isInteger() {
-		return this.isValidRepresentationOf(Integer::parseInt, CHAR_SEQUENCE_INTEGER);
+		return this.isValidRepresentationOf(NumberRepresentationUtils::isInteger, CHAR_SEQUENCE_INTEGER);
 	}
 
 	/**
 	 * @since 0.6.0
 	 */
 	public CharSequenceConstraint<T, E> isLong() {
-		return this.isValidRepresentationOf(Long::parseLong, CHAR_SEQUENCE_LONG);
+		return this.isValidRepresentationOf(NumberRepresentationUtils::isLong, CHAR_SEQUENCE_LONG);
 	}
 
 	/**
 	 * @since 0.6.0
 	 */
 	public CharSequenceConstraint<T, E> isFloat() {
-		return this.isValidRepresentationOf(Float::parseFloat, CHAR_SEQUENCE_FLOAT);
+		return this.isValidRepresentationOf(NumberRepresentationUtils::isFloat, CHAR_SEQUENCE_FLOAT);
 	}
 
 	/**
 	 * @since 0.6.0
 	 */
 	public CharSequenceConstraint<T, E> isDouble() {
-		return this.isValidRepresentationOf(Double::parseDouble, CHAR_SEQUENCE_DOUBLE);
+		return this.isValidRepresentationOf(NumberRepresentationUtils::isDouble, CHAR_SEQUENCE_DOUBLE);
 	}
 
 	/**
 	 * @since 0.6.0
 	 */
 	public CharSequenceConstraint<T, E> isBigInteger() {
-		return this.isValidRepresentationOf(BigInteger::new, CHAR_SEQUENCE_BIGINTEGER);
+		return this.isValidRepresentationOf(NumberRepresentationUtils::isBigInteger, CHAR_SEQUENCE_BIGINTEGER);
 	}
 
 	/**
 	 * @since 0.6.0
 	 */
 	public CharSequenceConstraint<T, E> isBigDecimal() {
-		return this.isValidRepresentationOf(BigDecimal::new, CHAR_SEQUENCE_BIGDECIMAL);
+		return this.isValidRepresentationOf(NumberRepresentationUtils::isBigDecimal, CHAR_SEQUENCE_BIGDECIMAL);
 	}
 
 	/**
 	 * @since 0.12.1
 	 */
 	public CharSequenceConstraint<T, E> isoLocalDate() {
-		return this.isLocalDatePattern("uuuu-MM-dd");
+		final String pattern = "uuuu-MM-dd";
+		return this.isDateTime(DateTimeFormatter.ofPattern(pattern).withResolverStyle(ResolverStyle.STRICT), pattern,
+				IsoDateTimeLayouts::isLocalDate, true, CHAR_SEQUENCE_LOCAL_DATE);
 	}
 
 	/**
@@ -283,6 +366,38 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 		return this.isLocalDatePattern(pattern);
 	}
 
+	/**
+	 * Checks that the value is a local date-time in the
+	 * {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} format, such as
+	 * {@code 2025-01-01T10:15:30}.
+	 * @since 0.17.0
+	 */
+	public CharSequenceConstraint<T, E> isoLocalDateTime() {
+		return this.isDateTime(DateTimeFormatter.ISO_LOCAL_DATE_TIME, "ISO_LOCAL_DATE_TIME",
+				IsoDateTimeLayouts::isLocalDateTime, true, CHAR_SEQUENCE_LOCAL_DATE_TIME);
+	}
+
+	/**
+	 * Checks that the value is a date-time with an offset in the
+	 * {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME} format, such as
+	 * {@code 2025-01-01T10:15:30+01:00}.
+	 * @since 0.17.0
+	 */
+	public CharSequenceConstraint<T, E> isoOffsetDateTime() {
+		return this.isDateTime(DateTimeFormatter.ISO_OFFSET_DATE_TIME, "ISO_OFFSET_DATE_TIME",
+				IsoDateTimeLayouts::isOffsetDateTime, false, CHAR_SEQUENCE_OFFSET_DATE_TIME);
+	}
+
+	/**
+	 * Checks that the value is an instant in the {@link DateTimeFormatter#ISO_INSTANT}
+	 * format, such as {@code 2025-01-01T10:15:30Z}.
+	 * @since 0.17.0
+	 */
+	public CharSequenceConstraint<T, E> isoInstant() {
+		return this.isDateTime(DateTimeFormatter.ISO_INSTANT, "ISO_INSTANT", IsoDateTimeLayouts::isInstant, false,
+				CHAR_SEQUENCE_INSTANT);
+	}
+
 	public EmojiConstraint<T, E> emoji() {
 		return new EmojiConstraint<>(this, this.normalizerForm, this.variantOptions);
 	}
@@ -295,14 +410,15 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 
 	public CharSequenceConstraint<T, E> notBlank() {
 		this.predicates()
-			.add(ConstraintPredicate.of(x -> x != null && trim(x.toString()).length() != 0, CHAR_SEQUENCE_NOT_BLANK,
-					() -> new Object[] {}, INVALID));
+			.add(ConstraintPredicate.of(x -> x != null && !isBlank(x), CHAR_SEQUENCE_NOT_BLANK, () -> new Object[] {},
+					INVALID));
 		return this;
 	}
 
 	public CharSequenceConstraint<T, E> pattern(String regex) {
+		final Pattern pattern = PatternRegistry.compile(regex);
 		this.predicates()
-			.add(ConstraintPredicate.of(x -> Pattern.matches(regex, x), CHAR_SEQUENCE_PATTERN,
+			.add(ConstraintPredicate.of(x -> pattern.matcher(x).matches(), CHAR_SEQUENCE_PATTERN,
 					() -> new Object[] { regex }, VALID));
 		return this;
 	}
@@ -318,12 +434,42 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 	}
 
 	/**
+	 * The supplier is called once per evaluation by a validator. The pattern that
+	 * rejected the value is carried with the violated value into the message arguments
+	 * instead of being supplied again.
 	 * @since 0.11.1
 	 */
 	public CharSequenceConstraint<T, E> pattern(Supplier<Pattern> regexSupplier) {
+		this.predicates().add(ConstraintPredicate.withViolatedValue(x -> {
+			final Pattern pattern = regexSupplier.get();
+			if (pattern.matcher(x).matches()) {
+				return Optional.empty();
+			}
+			return Optional.of(new ViolatedValue(x, new Object[] { pattern.pattern() }));
+		}, CHAR_SEQUENCE_PATTERN, () -> new Object[] { regexSupplier.get().pattern() }, VALID));
+		return this;
+	}
+
+	/**
+	 * Same as {@link #pattern(String)}, but matches with a {@link LinearPattern}, which
+	 * takes time linear in the length of the input and is therefore safe against
+	 * catastrophic backtracking.
+	 * @param regex regular expression
+	 * @throws IllegalArgumentException if the regex uses a construct that
+	 * {@link LinearPattern} does not support, such as a backreference or lookaround
+	 * @since 0.17.0
+	 */
+	public CharSequenceConstraint<T, E> patternLinear(String regex) {
+		return this.pattern(LinearPattern.compile(regex));
+	}
+
+	/**
+	 * @since 0.17.0
+	 */
+	public CharSequenceConstraint<T, E> pattern(LinearPattern regex) {
 		this.predicates()
-			.add(ConstraintPredicate.of(x -> regexSupplier.get().matcher(x).matches(), CHAR_SEQUENCE_PATTERN,
-					() -> new Object[] { regexSupplier.get().pattern() }, VALID));
+			.add(ConstraintPredicate.of(x -> regex.matches(x), CHAR_SEQUENCE_PATTERN,
+					() -> new Object[] { regex.pattern() }, VALID));
 		return this;
 	}
 
@@ -332,8 +478,8 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 	 */
 	public CharSequenceConstraint<T, E> ipv4() {
 		this.predicates()
-			.add(ConstraintPredicate.of(x -> InetAddressUtils.isIpv4(x.toString()), CHAR_SEQUENCE_IPV4,
-					() -> new Object[] {}, VALID));
+			.add(ConstraintPredicate.of(x -> InetAddressUtils.isIpv4(x), CHAR_SEQUENCE_IPV4, () -> new Object[] {},
+					VALID));
 		return this;
 	}
 
@@ -342,23 +488,81 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 	 */
 	public CharSequenceConstraint<T, E> ipv6() {
 		this.predicates()
-			.add(ConstraintPredicate.of(x -> InetAddressUtils.isIpv6(x.toString()), CHAR_SEQUENCE_IPV6,
+			.add(ConstraintPredicate.of(x -> InetAddressUtils.isIpv6(x), CHAR_SEQUENCE_IPV6, () -> new Object[] {},
+					VALID));
+		return this;
+	}
+
+	/**
+	 * Checks that the value is an IPv4 or IPv6 address in one of the given ranges.
+	 * @param cidrs ranges in CIDR notation such as {@code 10.0.0.0/8}, compiled once into
+	 * a {@link CidrSet}
+	 * @throws IllegalArgumentException if a range is malformed
+	 * @since 0.17.0
+	 */
+	public CharSequenceConstraint<T, E> inCidr(Collection<String> cidrs) {
+		return this.inCidr(CidrSet.of(cidrs));
+	}
+
+	/**
+	 * @since 0.17.0
+	 */
+	public CharSequenceConstraint<T, E> inCidr(CidrSet cidrs) {
+		this.predicates()
+			.add(ConstraintPredicate.of(x -> cidrs.contains(x), INET_ADDRESS_IN_CIDR, () -> new Object[] {}, VALID));
+		return this;
+	}
+
+	/**
+	 * Checks that the value is not in any of the given ranges. A value that is not an
+	 * IPv4 or IPv6 address is in none of them, so combine with {@link #ipv4()} or
+	 * {@link #ipv6()} to reject those as well. An IPv6 address with a prefix size, which
+	 * {@link #ipv6()} accepts, denotes a range rather than an address and is rejected.
+	 * @param cidrs ranges in CIDR notation such as {@code 10.0.0.0/8}, compiled once into
+	 * a {@link CidrSet}
+	 * @throws IllegalArgumentException if a range is malformed
+	 * @since 0.17.0
+	 */
+	public CharSequenceConstraint<T, E> notInCidr(Collection<String> cidrs) {
+		return this.notInCidr(CidrSet.of(cidrs));
+	}
+
+	/**
+	 * @since 0.17.0
+	 */
+	public CharSequenceConstraint<T, E> notInCidr(CidrSet cidrs) {
+		this.predicates()
+			.add(ConstraintPredicate.of(x -> !cidrs.contains(x) && !isIpv6Network(x), INET_ADDRESS_NOT_IN_CIDR,
 					() -> new Object[] {}, VALID));
 		return this;
 	}
 
+	private static boolean isIpv6Network(CharSequence s) {
+		for (int i = 0; i < s.length(); i++) {
+			if (s.charAt(i) == '/') {
+				return InetAddressUtils.isIpv6(s);
+			}
+		}
+		return false;
+	}
+
 	public CharSequenceConstraint<T, E> url() {
+		return this.url(Function.identity());
+	}
+
+	/**
+	 * Checks that the value is a URL with the given options, for example
+	 * {@code url(opts -> opts.httpOrHttps().requireHost())}.
+	 * @since 0.17.0
+	 */
+	public CharSequenceConstraint<T, E> url(Function<UrlOptions.Builder, UrlOptions.Builder> opts) {
+		final UrlOptions urlOptions = opts.apply(UrlOptions.builder()).build();
+		final ToIntFunction<E> size = this.size();
 		this.predicates().add(ConstraintPredicate.of(x -> {
-			if (size().applyAsInt(x) == 0) {
-				return true;
-			}
-			try {
-				new URL(x.toString());
+			if (x.length() == 0 || urlOptions.isValid(x)) {
 				return true;
 			}
-			catch (MalformedURLException e) {
-				return false;
-			}
+			return size.applyAsInt(x) == 0;
 		}, CHAR_SEQUENCE_URL, () -> new Object[] {}, VALID));
 		return this;
 	}
@@ -367,11 +571,12 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 	 * @since 0.10.0
 	 */
 	public CharSequenceConstraint<T, E> uuid() {
+		final ToIntFunction<E> size = this.size();
 		this.predicates().add(ConstraintPredicate.of(x -> {
-			if (size().applyAsInt(x) == 0) {
+			if (x.length() == 0 || VALID_UUID_REGEX.matcher(x).matches()) {
 				return true;
 			}
-			return VALID_UUID_REGEX.matcher(x).matches();
+			return size.applyAsInt(x) == 0;
 		}, CHAR_SEQUENCE_UUID, () -> new Object[] {}, VALID));
 		return this;
 	}
@@ -421,29 +626,105 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 
 	protected String normalize(String s) {
 		String str = this.variantOptions.ignored(s);
-		return this.normalizerForm == null ? str : Normalizer.normalize(str, this.normalizerForm);
+		if (this.normalizerForm == null || isBelow(str, this.stableLimit)
+				|| Normalizer.isNormalized(str, this.normalizerForm)) {
+			return str;
+		}
+		return Normalizer.normalize(str, this.normalizerForm);
+	}
+
+	/**
+	 * Returns the character below which every character is its own normalization in the
+	 * given form and does not combine with its neighbors. For NFC these are all
+	 * characters before the combining diacritical marks, for NFD the characters before
+	 * the precomposed Latin-1 letters, and for NFKC and NFKD the characters before the
+	 * no-break space. Other values are checked by
+	 * {@link Normalizer#isNormalized(CharSequence, Normalizer.Form)}, which uses the
+	 * quick check properties of the Unicode data.
+	 */
+	static char stableLimit(@Nullable Normalizer.Form form) {
+		if (form == null) {
+			return Character.MAX_VALUE;
+		}
+		switch (form) {
+			case NFC:
+				return '\u0300';
+			case NFD:
+				return '\u00C0';
+			default:
+				return '\u00A0';
+		}
+	}
+
+	private static boolean isBelow(CharSequence s, char limit) {
+		for (int i = 0; i < s.length(); i++) {
+			if (s.charAt(i) >= limit) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the given value normalized by {@link #normalize(String)}, computed once per
+	 * property value while the predicates of the property are evaluated.
+	 * @since 0.17.0
+	 */
+	protected String normalized(E value) {
+		return DerivedValues.get(value, this.normalizedKey, this.normalizer);
 	}
 
 	@Override
 	protected ToIntFunction<E> size() {
-		return cs -> {
-			String s = this.normalize(cs.toString());
-			return s.codePointCount(0, s.length());
-		};
+		return this.size;
+	}
+
+	/**
+	 * Returns whether the value consists of whitespace only, which is the same as the
+	 * value being empty after removing leading and trailing whitespace.
+	 */
+	private static boolean isBlank(CharSequence s) {
+		for (int i = 0; i < s.length(); i++) {
+			if (!Character.isWhitespace(s.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * {@link String#indexOf(String)} for any {@link CharSequence} without copying it.
+	 */
+	private static int indexOf(CharSequence s, CharSequence target) {
+		if (s instanceof String && target instanceof String) {
+			return ((String) s).indexOf((String) target);
+		}
+		for (int i = 0; i <= s.length() - target.length(); i++) {
+			if (regionMatches(s, i, target)) {
+				return i;
+			}
+		}
+		return -1;
 	}
 
-	private static String trim(String s) {
-		if (s.length() == 0) {
-			return s;
+	/**
+	 * Returns whether {@code other} appears in the value at the given offset, like
+	 * {@link String#startsWith(String, int)} for any {@link CharSequence}.
+	 */
+	private static boolean regionMatches(CharSequence s, int offset, CharSequence other) {
+		final int length = other.length();
+		if (offset < 0 || offset > s.length() - length) {
+			return false;
 		}
-		StringBuilder sb = new StringBuilder(s);
-		while (sb.length() > 0 && Character.isWhitespace(sb.charAt(0))) {
-			sb.deleteCharAt(0);
+		if (s instanceof String && other instanceof String) {
+			return ((String) s).startsWith((String) other, offset);
 		}
-		while (sb.length() > 0 && Character.isWhitespace(sb.charAt(sb.length() - 1))) {
-			sb.deleteCharAt(sb.length() - 1);
+		for (int i = 0; i < length; i++) {
+			if (s.charAt(offset + i) != other.charAt(i)) {
+				return false;
+			}
 		}
-		return sb.toString();
+		return true;
 	}
 
 }
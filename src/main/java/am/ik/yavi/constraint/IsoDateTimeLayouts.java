@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint;
+
+import java.time.chrono.Chronology;
+import java.time.chrono.IsoChronology;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+
+import static java.time.temporal.ChronoField.DAY_OF_MONTH;
+import static java.time.temporal.ChronoField.HOUR_OF_DAY;
+import static java.time.temporal.ChronoField.MINUTE_OF_HOUR;
+import static java.time.temporal.ChronoField.MONTH_OF_YEAR;
+import static java.time.temporal.ChronoField.NANO_OF_SECOND;
+import static java.time.temporal.ChronoField.SECOND_OF_MINUTE;
+import static java.time.temporal.ChronoField.YEAR;
+
+/**
+ * Fast paths for the ISO date-time constraints of {@link CharSequenceConstraint}. Each
+ * method returns {@code true} only if the value has the canonical layout (ASCII digits,
+ * four-digit year, {@code T} separator) and every field is in its normal range. A
+ * {@code false} result means the value has to be checked by the formatter.
+ *
+ * @since 0.17.0
+ */
+final class IsoDateTimeLayouts {
+
+	static final int INVALID = 0;
+
+	static final int VALID = 1;
+
+	static final int UNRESOLVED = -1;
+
+	private static final ChronoField[] CHRONO_FIELDS = ChronoField.values();
+
+	private IsoDateTimeLayouts() {
+	}
+
+	/**
+	 * {@code uuuu-MM-dd}
+	 */
+	static boolean isLocalDate(CharSequence s) {
+		return s.length() == 10 && isLocalDate(s, 0);
+	}
+
+	/**
+	 * {@code uuuu-MM-ddTHH:mm[:ss[.SSSSSSSSS]]}
+	 */
+	static boolean isLocalDateTime(CharSequence s) {
+		return s.length() >= 16 && isLocalDate(s, 0) && isTimeSeparator(s.charAt(10))
+				&& localTimeEnd(s, 11, false) == s.length();
+	}
+
+	/**
+	 * {@code uuuu-MM-ddTHH:mm[:ss[.SSSSSSSSS]]} followed by {@code Z} or {@code +HH:mm}
+	 */
+	static boolean isOffsetDateTime(CharSequence s) {
+		if (s.length() < 17 || !isLocalDate(s, 0) || !isTimeSeparator(s.charAt(10))) {
+			return false;
+		}
+		final int end = localTimeEnd(s, 11, false);
+		return end > 0 && isOffset(s, end);
+	}
+
+	/**
+	 * {@code uuuu-MM-ddTHH:mm:ss[.SSSSSSSSS]Z}
+	 */
+	static boolean isInstant(CharSequence s) {
+		final int length = s.length();
+		return length >= 20 && isLocalDate(s, 0) && isTimeSeparator(s.charAt(10)) && s.charAt(length - 1) == 'Z'
+				&& localTimeEnd(s, 11, true) == length - 1;
+	}
+
+	/**
+	 * Does the pattern only use letters that produce the fields
+	 * {@link #resolve(TemporalAccessor)} knows about ({@code u}, {@code M}, {@code L},
+	 * {@code d}, {@code H}, {@code m}, {@code s}, {@code S} and {@code n})
+	 */
+	static boolean hasIsoFields(String pattern) {
+		boolean quoted = false;
+		for (int i = 0; i < pattern.length(); i++) {
+			final char c = pattern.charAt(i);
+			if (c == '\'') {
+				quoted = !quoted;
+			}
+			else if (!quoted && ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) && "uMLdHmsSn".indexOf(c) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Resolves a value parsed by
+	 * {@link java.time.format.DateTimeFormatter#parseUnresolved(CharSequence, java.text.ParsePosition)}
+	 * the way a {@link java.time.format.ResolverStyle#STRICT strict} formatter would, but
+	 * without throwing an exception for an invalid value such as {@code 2024-02-30}.
+	 * @return {@link #VALID} or {@link #INVALID} if the value has a year, month and day
+	 * of month, optionally followed by an hour and minute, a second and a nano of second,
+	 * and no other fields, {@link #UNRESOLVED} otherwise
+	 */
+	static int resolve(TemporalAccessor parsed) {
+		final Chronology chronology = parsed.query(TemporalQueries.chronology());
+		if ((chronology != null && chronology != IsoChronology.INSTANCE)
+				|| parsed.query(TemporalQueries.zoneId()) != null) {
+			return UNRESOLVED;
+		}
+		final boolean hasTime = parsed.isSupported(HOUR_OF_DAY);
+		final boolean hasSecond = parsed.isSupported(SECOND_OF_MINUTE);
+		if (!parsed.isSupported(YEAR) || !parsed.isSupported(MONTH_OF_YEAR) || !parsed.isSupported(DAY_OF_MONTH)
+				|| hasTime != parsed.isSupported(MINUTE_OF_HOUR) || (hasSecond && !hasTime)
+				|| (parsed.isSupported(NANO_OF_SECOND) && !hasSecond)) {
+			return UNRESOLVED;
+		}
+		boolean inRange = true;
+		for (ChronoField field : CHRONO_FIELDS) {
+			if (!parsed.isSupported(field)) {
+				continue;
+			}
+			if (field != YEAR && field != MONTH_OF_YEAR && field != DAY_OF_MONTH && field != HOUR_OF_DAY
+					&& field != MINUTE_OF_HOUR && field != SECOND_OF_MINUTE && field != NANO_OF_SECOND) {
+				return UNRESOLVED;
+			}
+			inRange &= field.range().isValidValue(parsed.getLong(field));
+		}
+		if (!inRange) {
+			return INVALID;
+		}
+		final int year = (int) parsed.getLong(YEAR);
+		final int month = (int) parsed.getLong(MONTH_OF_YEAR);
+		return parsed.getLong(DAY_OF_MONTH) <= lengthOfMonth(year, month) ? VALID : INVALID;
+	}
+
+	private static boolean isLocalDate(CharSequence s, int i) {
+		final int year = digits(s, i, 4);
+		final int month = digits(s, i + 5, 2);
+		final int day = digits(s, i + 8, 2);
+		return year >= 0 && s.charAt(i + 4) == '-' && s.charAt(i + 7) == '-' && month >= 1 && month <= 12 && day >= 1
+				&& day <= lengthOfMonth(year, month);
+	}
+
+	/**
+	 * Scans {@code HH:mm[:ss[.SSSSSSSSS]]}.
+	 * @return the index after the time, or {@code -1} if it is not in the canonical
+	 * layout
+	 */
+	private static int localTimeEnd(CharSequence s, int i, boolean secondsRequired) {
+		final int length = s.length();
+		if (i + 5 > length || s.charAt(i + 2) != ':') {
+			return -1;
+		}
+		final int hour = digits(s, i, 2);
+		final int minute = digits(s, i + 3, 2);
+		if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+			return -1;
+		}
+		i += 5;
+		if (i == length || s.charAt(i) != ':') {
+			return secondsRequired ? -1 : i;
+		}
+		if (i + 3 > length) {
+			return -1;
+		}
+		final int second = digits(s, i + 1, 2);
+		if (second < 0 || second > 59) {
+			return -1;
+		}
+		i += 3;
+		if (i == length || s.charAt(i) != '.') {
+			return i;
+		}
+		final int fractionStart = ++i;
+		while (i < length && i - fractionStart < 9 && isDigit(s.charAt(i))) {
+			i++;
+		}
+		return i == fractionStart ? -1 : i;
+	}
+
+	private static boolean isOffset(CharSequence s, int i) {
+		final int length = s.length();
+		if (i == length - 1) {
+			return s.charAt(i) == 'Z';
+		}
+		if (i != length - 6 || (s.charAt(i) != '+' && s.charAt(i) != '-') || s.charAt(i + 3) != ':') {
+			return false;
+		}
+		final int hours = digits(s, i + 1, 2);
+		final int minutes = digits(s, i + 4, 2);
+		return hours >= 0 && minutes >= 0 && minutes <= 59 && (hours < 18 || (hours == 18 && minutes == 0));
+	}
+
+	private static boolean isTimeSeparator(char c) {
+		return c == 'T' || c == 't';
+	}
+
+	private static int lengthOfMonth(int year, int month) {
+		switch (month) {
+			case 2:
+				return ((year & 3) == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+			case 4:
+			case 6:
+			case 9:
+			case 11:
+				return 30;
+			default:
+				return 31;
+		}
+	}
+
+	/**
+	 * Parses {@code count} ASCII digits at the given index.
+	 * @return the value, or {@code -1} if any of the characters is not an ASCII digit
+	 */
+	private static int digits(CharSequence s, int i, int count) {
+		if (i + count > s.length()) {
+			return -1;
+		}
+		int value = 0;
+		for (int j = i; j < i + count; j++) {
+			final char c = s.charAt(j);
+			if (!isDigit(c)) {
+				return -1;
+			}
+			value = value * 10 + (c - '0');
+		}
+		return value;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+}
@@ -0,0 +1,673 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.ToIntFunction;
+
+import static am.ik.yavi.core.NullAs.INVALID;
+import static am.ik.yavi.core.NullAs.VALID;
+import static am.ik.yavi.core.ViolationMessage.Default.BYTE_SIZE_FIXED_SIZE;
+import static am.ik.yavi.core.ViolationMessage.Default.BYTE_SIZE_GREATER_THAN;
+import static am.ik.yavi.core.ViolationMessage.Default.BYTE_SIZE_GREATER_THAN_OR_EQUAL;
+import static am.ik.yavi.core.ViolationMessage.Default.BYTE_SIZE_LESS_THAN;
+import static am.ik.yavi.core.ViolationMessage.Default.BYTE_SIZE_LESS_THAN_OR_EQUAL;
+import static am.ik.yavi.core.ViolationMessage.Default.CODE_POINTS_ALL_INCLUDED;
+import static am.ik.yavi.core.ViolationMessage.Default.CODE_POINTS_NOT_INCLUDED;
+import static am.ik.yavi.core.ViolationMessage.Default.CONTAINER_FIXED_SIZE;
+import static am.ik.yavi.core.ViolationMessage.Default.CONTAINER_GREATER_THAN;
+import static am.ik.yavi.core.ViolationMessage.Default.CONTAINER_GREATER_THAN_OR_EQUAL;
+import static am.ik.yavi.core.ViolationMessage.Default.CONTAINER_LESS_THAN;
+import static am.ik.yavi.core.ViolationMessage.Default.CONTAINER_LESS_THAN_OR_EQUAL;
+import static am.ik.yavi.core.ViolationMessage.Default.CONTAINER_NOT_EMPTY;
+import static am.ik.yavi.core.ViolationMessage.Default.TEXT_STREAM_LINES_LESS_THAN_OR_EQUAL;
+import static am.ik.yavi.core.ViolationMessage.Default.TEXT_STREAM_NOT_CONTAINS;
+
+import am.ik.yavi.constraint.base.ConstraintBase;
+import am.ik.yavi.constraint.charsequence.CodePoints.Range;
+import am.ik.yavi.core.ConstraintPredicate;
+import am.ik.yavi.core.DerivedValues;
+import am.ik.yavi.core.NullAs;
+import am.ik.yavi.core.ViolatedValue;
+import am.ik.yavi.core.ViolationMessage;
+
+/**
+ * Constraints on text read from a {@link Reader} or an {@link InputStream}, for values
+ * too large to be held as a {@link String}. The text is read in small chunks and every
+ * constraint of the property is checked in the same single pass, so the memory used does
+ * not depend on the size of the text.
+ *
+ * <p>
+ * Reading stops as soon as no further input can change the result of any constraint. For
+ * example, with {@code lessThanOrEqual(1000)} alone a 50 MB stream is rejected after
+ * reading one chunk past the first 1000 code points. The sizes reported in the violation
+ * messages are then the sizes read so far rather than the sizes of the whole stream.
+ *
+ * <p>
+ * The stream is consumed by the validation and is not closed. A stream can only be read
+ * once, so the constraints of one {@code TextStreamConstraint} share one read through
+ * {@link DerivedValues} while they are evaluated by a {@link am.ik.yavi.core.Validator}.
+ * All constraints on a stream property must therefore be configured in a single call of
+ * {@code ValidatorBuilder#_reader} or {@code ValidatorBuilder#_inputStream}. Testing the
+ * predicates outside of a validator, or a second constraint reading the same stream while
+ * the property is evaluated, throws an {@link IllegalStateException}. A validator does
+ * not remember the streams it has read, though: validating the same stream again, for
+ * example with {@code isValid} followed by {@code validate}, or constraining it under two
+ * property names checks whatever is left of it. An {@link IOException} is rethrown as an
+ * {@link UncheckedIOException}.
+ *
+ * <p>
+ * The size of the value is the number of code points. {@link #asByteArray()} switches the
+ * size constraints to the number of bytes of an {@link InputStream}. Lines are counted
+ * like {@link java.io.BufferedReader#readLine()} does.
+ *
+ * @param <T> target type
+ * @param <V> {@link Reader} or {@link InputStream}
+ * @since 0.17.0
+ */
+public class TextStreamConstraint<T, V> extends ConstraintBase<T, V, TextStreamConstraint<T, V>> {
+
+	private static final int BUFFER_SIZE = 4096;
+
+	/**
+	 * The key of the {@link DerivedValues} holding the {@link Plan} that reads a value,
+	 * so that a second plan cannot read the same stream while the property is evaluated.
+	 */
+	private static final Object READER = new Object();
+
+	private final Plan<V> plan;
+
+	private final boolean byteSize;
+
+	private TextStreamConstraint(Plan<V> plan, boolean byteSize) {
+		this.plan = plan;
+		this.byteSize = byteSize;
+	}
+
+	/**
+	 * @return a constraint on the text read from a {@link Reader}
+	 */
+	public static <T> TextStreamConstraint<T, Reader> reader() {
+		return new TextStreamConstraint<>(new Plan<>(new ReaderSource()), false);
+	}
+
+	/**
+	 * @param charset the charset to decode the bytes with. Malformed input is decoded as
+	 * U+FFFD.
+	 * @return a constraint on the text read from an {@link InputStream}
+	 */
+	public static <T> TextStreamConstraint<T, InputStream> inputStream(Charset charset) {
+		return new TextStreamConstraint<>(new Plan<>(new InputStreamSource(charset)), false);
+	}
+
+	@Override
+	public TextStreamConstraint<T, V> cast() {
+		return this;
+	}
+
+	/**
+	 * Returns a constraint whose size constraints are on the number of bytes read from
+	 * the {@link InputStream} instead of the number of code points. The constraints added
+	 * so far are kept and still share the same read.
+	 * @return the new constraint
+	 * @throws IllegalStateException if the value is a {@link Reader}, which has no bytes
+	 */
+	public TextStreamConstraint<T, V> asByteArray() {
+		if (!this.plan.source.hasBytes()) {
+			throw new IllegalStateException("The byte size of a Reader is unknown. Use inputStream(Charset) instead.");
+		}
+		final TextStreamConstraint<T, V> constraint = new TextStreamConstraint<>(this.plan, true);
+		constraint.predicates().addAll(this.predicates());
+		return constraint;
+	}
+
+	public TextStreamConstraint<T, V> fixedSize(int size) {
+		return this.size(x -> x == size, size, this.byteSize ? BYTE_SIZE_FIXED_SIZE : CONTAINER_FIXED_SIZE, size,
+				VALID);
+	}
+
+	public TextStreamConstraint<T, V> greaterThan(int min) {
+		return this.size(x -> x > min, min, this.byteSize ? BYTE_SIZE_GREATER_THAN : CONTAINER_GREATER_THAN, min,
+				VALID);
+	}
+
+	public TextStreamConstraint<T, V> greaterThanOrEqual(int min) {
+		return this.size(x -> x >= min, min - 1,
+				this.byteSize ? BYTE_SIZE_GREATER_THAN_OR_EQUAL : CONTAINER_GREATER_THAN_OR_EQUAL, min, VALID);
+	}
+
+	public TextStreamConstraint<T, V> lessThan(int max) {
+		return this.size(x -> x < max, max - 1, this.byteSize ? BYTE_SIZE_LESS_THAN : CONTAINER_LESS_THAN, max, VALID);
+	}
+
+	public TextStreamConstraint<T, V> lessThanOrEqual(int max) {
+		return this.size(x -> x <= max, max,
+				this.byteSize ? BYTE_SIZE_LESS_THAN_OR_EQUAL : CONTAINER_LESS_THAN_OR_EQUAL, max, VALID);
+	}
+
+	/**
+	 * The stream must not be empty. Only the first chunk is read for this constraint.
+	 */
+	public TextStreamConstraint<T, V> notEmpty() {
+		final Plan<V> plan = this.plan;
+		final boolean byteSize = this.byteSize;
+		plan.limit(byteSize, 0);
+		this.predicates()
+			.add(ConstraintPredicate.of(x -> x != null && plan.scan(x).size(byteSize) > 0, CONTAINER_NOT_EMPTY,
+					() -> new Object[] {}, INVALID));
+		return this;
+	}
+
+	/**
+	 * @param predicate the predicate on the size
+	 * @param decidedAbove the size above which the predicate no longer changes
+	 */
+	private TextStreamConstraint<T, V> size(IntPredicate predicate, int decidedAbove, ViolationMessage message,
+			int limit, NullAs nullAs) {
+		final Plan<V> plan = this.plan;
+		final boolean byteSize = this.byteSize;
+		plan.limit(byteSize, decidedAbove);
+		final ToIntFunction<V> size = x -> plan.scan(x).size(byteSize);
+		this.predicates()
+			.add(ConstraintPredicate.withViolatedValue(x -> predicate.test(size.applyAsInt(x)), size::applyAsInt,
+					message, () -> new Object[] { limit }, nullAs));
+		return this;
+	}
+
+	/**
+	 * The text must have at most the given number of lines. A line is terminated by
+	 * {@code \n}, {@code \r} or {@code \r\n}, and the text after the last terminator is a
+	 * line if it is not empty.
+	 */
+	public TextStreamConstraint<T, V> linesLessThanOrEqual(int max) {
+		final Plan<V> plan = this.plan;
+		plan.lineLimit = Math.max(plan.lineLimit, max);
+		this.predicates()
+			.add(ConstraintPredicate.withViolatedValue(x -> plan.scan(x).lines <= max, x -> plan.scan(x).lines,
+					TEXT_STREAM_LINES_LESS_THAN_OR_EQUAL, () -> new Object[] { max }, VALID));
+		return this;
+	}
+
+	/**
+	 * The text must not contain the given substring. Substrings spanning chunk boundaries
+	 * are found as well.
+	 */
+	public TextStreamConstraint<T, V> notContains(CharSequence s) {
+		final Plan<V> plan = this.plan;
+		final int index = plan.addForbidden(s.toString().toCharArray());
+		this.predicates()
+			.add(ConstraintPredicate.of(x -> !plan.scan(x).found[index], TEXT_STREAM_NOT_CONTAINS,
+					() -> new Object[] { s }, VALID));
+		return this;
+	}
+
+	public CodePointsBuilder codePoints(Set<Integer> allowedCodePoints) {
+		return new CodePointsBuilder(allowedCodePoints::contains);
+	}
+
+	public CodePointsBuilder codePoints(int begin, int end) {
+		return this.codePoints(Range.of(begin, end));
+	}
+
+	public CodePointsBuilder codePoints(Range range, Range... ranges) {
+		final List<Range> list = new ArrayList<>(ranges.length + 1);
+		list.add(range);
+		list.addAll(Arrays.asList(ranges));
+		return new CodePointsBuilder(codePoint -> {
+			for (Range r : list) {
+				if (r.begin() <= codePoint && codePoint <= r.end()) {
+					return true;
+				}
+			}
+			return false;
+		});
+	}
+
+	/**
+	 * Mirrors {@link am.ik.yavi.constraint.charsequence.CodePointsConstraint.Builder}.
+	 * Once a code point that is not allowed is found, the violated value lists the
+	 * offending code points read so far.
+	 */
+	public class CodePointsBuilder {
+
+		private final IntPredicate codePoints;
+
+		CodePointsBuilder(IntPredicate codePoints) {
+			this.codePoints = codePoints;
+		}
+
+		/**
+		 * Only the given code points are allowed.
+		 */
+		public TextStreamConstraint<T, V> asWhiteList() {
+			return this.add(false, CODE_POINTS_ALL_INCLUDED);
+		}
+
+		/**
+		 * The given code points are not allowed.
+		 */
+		public TextStreamConstraint<T, V> asBlackList() {
+			return this.add(true, CODE_POINTS_NOT_INCLUDED);
+		}
+
+		private TextStreamConstraint<T, V> add(boolean denied, ViolationMessage message) {
+			final Plan<V> plan = TextStreamConstraint.this.plan;
+			final int index = plan.addCodePoints(this.codePoints, denied);
+			TextStreamConstraint.this.predicates().add(ConstraintPredicate.withViolatedValue(x -> {
+				final Set<Integer> violated = plan.scan(x).violated[index];
+				if (violated == null) {
+					return Optional.empty();
+				}
+				final List<String> violatedList = new ArrayList<>(violated.size());
+				for (Integer codePoint : violated) {
+					violatedList.add(new String(new int[] { codePoint }, 0, 1));
+				}
+				return Optional.of(new ViolatedValue(violatedList));
+			}, message, () -> new Object[] {}, VALID));
+			return TextStreamConstraint.this;
+		}
+
+	}
+
+	/**
+	 * What has to be found out while reading a value. The plan is shared by the
+	 * constraints created by {@link #asByteArray()} and is the key of the
+	 * {@link DerivedValues} holding the {@link Scan} of a value.
+	 */
+	static final class Plan<V> {
+
+		final Source<V> source;
+
+		private final Function<V, Scan> read = this::read;
+
+		private final Function<V, Plan<V>> owner = v -> this;
+
+		/**
+		 * The number of code points above which no size constraint changes its result, or
+		 * {@code -1} if there is no such constraint.
+		 */
+		int codePointLimit = -1;
+
+		int byteLimit = -1;
+
+		int lineLimit = -1;
+
+		final List<IntPredicate> codePoints = new ArrayList<>();
+
+		final List<Boolean> denied = new ArrayList<>();
+
+		final List<char[]> forbidden = new ArrayList<>();
+
+		final List<int[]> failures = new ArrayList<>();
+
+		Plan(Source<V> source) {
+			this.source = source;
+		}
+
+		void limit(boolean byteSize, int decidedAbove) {
+			if (byteSize) {
+				this.byteLimit = Math.max(this.byteLimit, decidedAbove);
+			}
+			else {
+				this.codePointLimit = Math.max(this.codePointLimit, decidedAbove);
+			}
+		}
+
+		int addCodePoints(IntPredicate codePoints, boolean denied) {
+			this.codePoints.add(codePoints);
+			this.denied.add(denied);
+			return this.codePoints.size() - 1;
+		}
+
+		int addForbidden(char[] s) {
+			// failure function of Knuth-Morris-Pratt
+			final int[] failure = new int[s.length];
+			int k = 0;
+			for (int i = 1; i < s.length; i++) {
+				while (k > 0 && s[i] != s[k]) {
+					k = failure[k - 1];
+				}
+				if (s[i] == s[k]) {
+					k++;
+				}
+				failure[i] = k;
+			}
+			this.forbidden.add(s);
+			this.failures.add(failure);
+			return this.forbidden.size() - 1;
+		}
+
+		/**
+		 * Returns whether the characters have to be read, as opposed to only counting the
+		 * bytes.
+		 */
+		boolean decodes() {
+			return this.codePointLimit >= 0 || this.lineLimit >= 0 || !this.codePoints.isEmpty()
+					|| !this.forbidden.isEmpty();
+		}
+
+		Scan scan(V value) {
+			if (!DerivedValues.isShared(value)) {
+				throw new IllegalStateException(
+						"A stream can only be read while a Validator evaluates the constraints of its property.");
+			}
+			return DerivedValues.get(value, this, this.read);
+		}
+
+		private Scan read(V value) {
+			if (DerivedValues.get(value, READER, this.owner) != this) {
+				throw new IllegalStateException(
+						"The stream has already been read. All constraints on a stream must be configured in a single TextStreamConstraint.");
+			}
+			final Scan scan = new Scan(this);
+			try {
+				this.source.read(value, scan);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return scan;
+		}
+
+	}
+
+	/**
+	 * The result of reading a value, filled in chunk by chunk.
+	 */
+	static final class Scan {
+
+		private final Plan<?> plan;
+
+		private final IntPredicate[] codePointPredicates;
+
+		private final boolean[] denied;
+
+		private final char[][] forbidden;
+
+		private final int[][] failures;
+
+		int codePoints;
+
+		int bytes;
+
+		int lines;
+
+		/**
+		 * The code points that are not allowed, {@code null} if there are none.
+		 */
+		final Set<Integer>[] violated;
+
+		final boolean[] found;
+
+		private final int[] matched;
+
+		private int undecided;
+
+		private char highSurrogate;
+
+		private boolean lineOpen;
+
+		private boolean carriageReturn;
+
+		@SuppressWarnings("unchecked")
+		Scan(Plan<?> plan) {
+			this.plan = plan;
+			this.codePointPredicates = plan.codePoints.toArray(new IntPredicate[0]);
+			this.denied = new boolean[this.codePointPredicates.length];
+			for (int i = 0; i < this.denied.length; i++) {
+				this.denied[i] = plan.denied.get(i);
+			}
+			this.violated = (Set<Integer>[]) Array.newInstance(Set.class, this.codePointPredicates.length);
+			this.forbidden = plan.forbidden.toArray(new char[0][]);
+			this.failures = plan.failures.toArray(new int[0][]);
+			this.found = new boolean[this.forbidden.length];
+			this.matched = new int[this.forbidden.length];
+			this.undecided = this.codePointPredicates.length;
+			for (int i = 0; i < this.forbidden.length; i++) {
+				if (this.forbidden[i].length == 0) {
+					this.found[i] = true;
+				}
+				else {
+					this.undecided++;
+				}
+			}
+		}
+
+		int size(boolean byteSize) {
+			return byteSize ? this.bytes : this.codePoints;
+		}
+
+		/**
+		 * Returns whether reading further cannot change the result of any constraint.
+		 */
+		boolean decided() {
+			final Plan<?> plan = this.plan;
+			return this.undecided == 0 && this.codePoints > plan.codePointLimit && this.bytes > plan.byteLimit
+					&& this.lines > plan.lineLimit;
+		}
+
+		void accept(char[] chars, int length) {
+			for (int i = 0; i < length; i++) {
+				final char c = chars[i];
+				if (this.highSurrogate != 0) {
+					final char high = this.highSurrogate;
+					this.highSurrogate = 0;
+					if (Character.isLowSurrogate(c)) {
+						this.codePoint(Character.toCodePoint(high, c));
+						this.line(c);
+						this.match(c);
+						continue;
+					}
+					this.codePoint(high);
+				}
+				if (Character.isHighSurrogate(c)) {
+					this.highSurrogate = c;
+				}
+				else {
+					this.codePoint(c);
+				}
+				this.line(c);
+				this.match(c);
+			}
+		}
+
+		void finish() {
+			if (this.highSurrogate != 0) {
+				this.codePoint(this.highSurrogate);
+				this.highSurrogate = 0;
+			}
+		}
+
+		private void codePoint(int codePoint) {
+			this.codePoints++;
+			for (int i = 0; i < this.codePointPredicates.length; i++) {
+				if (this.codePointPredicates[i].test(codePoint) == this.denied[i]) {
+					if (this.violated[i] == null) {
+						this.violated[i] = new LinkedHashSet<>();
+						this.undecided--;
+					}
+					this.violated[i].add(codePoint);
+				}
+			}
+		}
+
+		private void line(char c) {
+			if (c == '\n') {
+				if (!this.lineOpen && !this.carriageReturn) {
+					this.lines++;
+				}
+				this.lineOpen = false;
+				this.carriageReturn = false;
+			}
+			else if (c == '\r') {
+				if (!this.lineOpen) {
+					this.lines++;
+				}
+				this.lineOpen = false;
+				this.carriageReturn = true;
+			}
+			else {
+				if (!this.lineOpen) {
+					this.lines++;
+					this.lineOpen = true;
+				}
+				this.carriageReturn = false;
+			}
+		}
+
+		private void match(char c) {
+			for (int i = 0; i < this.forbidden.length; i++) {
+				if (this.found[i]) {
+					continue;
+				}
+				final char[] s = this.forbidden[i];
+				int k = this.matched[i];
+				while (k > 0 && s[k] != c) {
+					k = this.failures[i][k - 1];
+				}
+				if (s[k] == c) {
+					k++;
+				}
+				if (k == s.length) {
+					this.found[i] = true;
+					this.undecided--;
+				}
+				this.matched[i] = k;
+			}
+		}
+
+	}
+
+	/**
+	 * Reads a value into a {@link Scan}.
+	 *
+	 * @param <V> {@link Reader} or {@link InputStream}
+	 */
+	interface Source<V> {
+
+		void read(V value, Scan scan) throws IOException;
+
+		boolean hasBytes();
+
+	}
+
+	static void read(Reader reader, Scan scan) throws IOException {
+		final char[] buffer = new char[BUFFER_SIZE];
+		int n;
+		while (!scan.decided() && (n = reader.read(buffer)) >= 0) {
+			scan.accept(buffer, n);
+		}
+		scan.finish();
+	}
+
+	static final class ReaderSource implements Source<Reader> {
+
+		@Override
+		public void read(Reader value, Scan scan) throws IOException {
+			TextStreamConstraint.read(value, scan);
+		}
+
+		@Override
+		public boolean hasBytes() {
+			return false;
+		}
+
+	}
+
+	static final class InputStreamSource implements Source<InputStream> {
+
+		private final Charset charset;
+
+		InputStreamSource(Charset charset) {
+			this.charset = charset;
+		}
+
+		@Override
+		public void read(InputStream value, Scan scan) throws IOException {
+			if (!scan.plan.decodes()) {
+				final byte[] buffer = new byte[BUFFER_SIZE];
+				int n;
+				while (!scan.decided() && (n = value.read(buffer)) >= 0) {
+					scan.bytes += n;
+				}
+				return;
+			}
+			// the reader is not closed as it would close the stream
+			TextStreamConstraint.read(new InputStreamReader(new CountingInputStream(value, scan), this.charset), scan);
+		}
+
+		@Override
+		public boolean hasBytes() {
+			return true;
+		}
+
+	}
+
+	/**
+	 * Counts the bytes the decoder reads from the stream.
+	 */
+	static final class CountingInputStream extends FilterInputStream {
+
+		private final Scan scan;
+
+		CountingInputStream(InputStream in, Scan scan) {
+			super(in);
+			this.scan = scan;
+		}
+
+		@Override
+		public int read() throws IOException {
+			final int b = super.read();
+			if (b >= 0) {
+				this.scan.bytes++;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			final int n = super.read(b, off, len);
+			if (n > 0) {
+				this.scan.bytes += n;
+			}
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			final long skipped = super.skip(n);
+			this.scan.bytes += (int) skipped;
+			return skipped;
+		}
+
+	}
+
+}
@@ -0,0 +1,435 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.ToIntFunction;
+
+import static am.ik.yavi.core.NullAs.VALID;
+import static am.ik.yavi.core.ViolationMessage.Default.BYTE_SIZE_FIXED_SIZE;
+import static am.ik.yavi.core.ViolationMessage.Default.BYTE_SIZE_GREATER_THAN;
+import static am.ik.yavi.core.ViolationMessage.Default.BYTE_SIZE_GREATER_THAN_OR_EQUAL;
+import static am.ik.yavi.core.ViolationMessage.Default.BYTE_SIZE_LESS_THAN;
+import static am.ik.yavi.core.ViolationMessage.Default.BYTE_SIZE_LESS_THAN_OR_EQUAL;
+import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_CONTAINS;
+import static am.ik.yavi.core.ViolationMessage.Default.CHAR_SEQUENCE_STARTSWITH;
+import static am.ik.yavi.core.ViolationMessage.Default.CODE_POINTS_ALL_INCLUDED;
+import static am.ik.yavi.core.ViolationMessage.Default.CODE_POINTS_NOT_INCLUDED;
+import static am.ik.yavi.core.ViolationMessage.Default.CONTAINER_FIXED_SIZE;
+import static am.ik.yavi.core.ViolationMessage.Default.CONTAINER_GREATER_THAN;
+import static am.ik.yavi.core.ViolationMessage.Default.CONTAINER_GREATER_THAN_OR_EQUAL;
+import static am.ik.yavi.core.ViolationMessage.Default.CONTAINER_LESS_THAN;
+import static am.ik.yavi.core.ViolationMessage.Default.CONTAINER_LESS_THAN_OR_EQUAL;
+import static am.ik.yavi.core.ViolationMessage.Default.UTF8_ASCII;
+import static am.ik.yavi.core.ViolationMessage.Default.UTF8_WELL_FORMED;
+
+import am.ik.yavi.constraint.base.ContainerConstraintBase;
+import am.ik.yavi.constraint.charsequence.CodePoints.Range;
+import am.ik.yavi.core.ConstraintPredicate;
+import am.ik.yavi.core.DerivedValues;
+import am.ik.yavi.core.ViolatedValue;
+import am.ik.yavi.core.ViolationMessage;
+
+/**
+ * Constraints on UTF-8 encoded text given as a {@code byte[]} or as the remaining bytes
+ * of a {@link ByteBuffer}. The bytes are checked in place, so no {@link String} is
+ * created, and the position of a {@link ByteBuffer} is not changed.
+ *
+ * <p>
+ * The size of the value is the number of code points. Malformed bytes are counted as one
+ * code point each, so {@link #wellFormed()} should come first when the input is not
+ * trusted. {@link #asByteArray()} switches the size constraints to the number of bytes.
+ *
+ * @param <T> target type
+ * @param <V> {@code byte[]} or {@link ByteBuffer}
+ * @since 0.17.0
+ */
+public class Utf8Constraint<T, V> extends ContainerConstraintBase<T, V, Utf8Constraint<T, V>> {
+
+	private static final int MALFORMED = -1;
+
+	private final Bytes<V> bytes;
+
+	private final boolean byteSize;
+
+	private final Object codePointCountKey = new Object();
+
+	private final ToIntFunction<V> codePointCount;
+
+	private final ToIntFunction<V> size;
+
+	private Utf8Constraint(Bytes<V> bytes, boolean byteSize) {
+		this.bytes = bytes;
+		this.byteSize = byteSize;
+		this.codePointCount = x -> codePointCount(bytes, x);
+		this.size = byteSize ? bytes::length
+				: x -> DerivedValues.getInt(x, this.codePointCountKey, this.codePointCount);
+	}
+
+	/**
+	 * @return a constraint on UTF-8 encoded {@code byte[]}
+	 */
+	public static <T> Utf8Constraint<T, byte[]> bytes() {
+		return new Utf8Constraint<>(Bytes.ARRAY, false);
+	}
+
+	/**
+	 * @return a constraint on the remaining UTF-8 encoded bytes of a {@link ByteBuffer}
+	 */
+	public static <T> Utf8Constraint<T, ByteBuffer> buffer() {
+		return new Utf8Constraint<>(Bytes.BUFFER, false);
+	}
+
+	@Override
+	public Utf8Constraint<T, V> cast() {
+		return this;
+	}
+
+	/**
+	 * Returns a constraint whose size constraints are on the number of bytes instead of
+	 * the number of code points. The constraints added so far are kept.
+	 * @return the new constraint
+	 */
+	public Utf8Constraint<T, V> asByteArray() {
+		final Utf8Constraint<T, V> constraint = new Utf8Constraint<>(this.bytes, true);
+		constraint.predicates().addAll(this.predicates());
+		return constraint;
+	}
+
+	@Override
+	public Utf8Constraint<T, V> fixedSize(int size) {
+		return this.size(x -> x == size, this.byteSize ? BYTE_SIZE_FIXED_SIZE : CONTAINER_FIXED_SIZE, size);
+	}
+
+	@Override
+	public Utf8Constraint<T, V> greaterThan(int min) {
+		return this.size(x -> x > min, this.byteSize ? BYTE_SIZE_GREATER_THAN : CONTAINER_GREATER_THAN, min);
+	}
+
+	@Override
+	public Utf8Constraint<T, V> greaterThanOrEqual(int min) {
+		return this.size(x -> x >= min,
+				this.byteSize ? BYTE_SIZE_GREATER_THAN_OR_EQUAL : CONTAINER_GREATER_THAN_OR_EQUAL, min);
+	}
+
+	@Override
+	public Utf8Constraint<T, V> lessThan(int max) {
+		return this.size(x -> x < max, this.byteSize ? BYTE_SIZE_LESS_THAN : CONTAINER_LESS_THAN, max);
+	}
+
+	@Override
+	public Utf8Constraint<T, V> lessThanOrEqual(int max) {
+		return this.size(x -> x <= max, this.byteSize ? BYTE_SIZE_LESS_THAN_OR_EQUAL : CONTAINER_LESS_THAN_OR_EQUAL,
+				max);
+	}
+
+	private Utf8Constraint<T, V> size(IntPredicate predicate, ViolationMessage message, int limit) {
+		final ToIntFunction<V> size = this.size;
+		this.predicates()
+			.add(ConstraintPredicate.withViolatedValue(x -> predicate.test(size.applyAsInt(x)), size::applyAsInt,
+					message, () -> new Object[] { limit }, VALID));
+		return this;
+	}
+
+	/**
+	 * The bytes must be well-formed UTF-8: no overlong encodings, no surrogates, no code
+	 * point beyond U+10FFFF and no truncated sequence.
+	 */
+	public Utf8Constraint<T, V> wellFormed() {
+		final Bytes<V> bytes = this.bytes;
+		this.predicates().add(ConstraintPredicate.of(x -> {
+			final int length = bytes.length(x);
+			int i = 0;
+			while (i < length) {
+				final int codePoint = codePointAt(bytes, x, i, length);
+				if (codePoint == MALFORMED) {
+					return false;
+				}
+				i += sequenceLength(codePoint);
+			}
+			return true;
+		}, UTF8_WELL_FORMED, () -> new Object[] {}, VALID));
+		return this;
+	}
+
+	/**
+	 * All bytes must be ASCII characters.
+	 */
+	public Utf8Constraint<T, V> ascii() {
+		final Bytes<V> bytes = this.bytes;
+		this.predicates().add(ConstraintPredicate.of(x -> {
+			final int length = bytes.length(x);
+			for (int i = 0; i < length; i++) {
+				if (bytes.byteAt(x, i) < 0) {
+					return false;
+				}
+			}
+			return true;
+		}, UTF8_ASCII, () -> new Object[] {}, VALID));
+		return this;
+	}
+
+	/**
+	 * The bytes must start with the UTF-8 encoding of the given prefix.
+	 */
+	public Utf8Constraint<T, V> startsWith(CharSequence prefix) {
+		final Bytes<V> bytes = this.bytes;
+		final byte[] encoded = prefix.toString().getBytes(StandardCharsets.UTF_8);
+		this.predicates()
+			.add(ConstraintPredicate.of(x -> regionMatches(bytes, x, 0, encoded), CHAR_SEQUENCE_STARTSWITH,
+					() -> new Object[] { prefix }, VALID));
+		return this;
+	}
+
+	/**
+	 * The bytes must contain the UTF-8 encoding of the given text. For well-formed input
+	 * this is the same as the decoded text containing it.
+	 */
+	public Utf8Constraint<T, V> contains(CharSequence s) {
+		final Bytes<V> bytes = this.bytes;
+		final byte[] encoded = s.toString().getBytes(StandardCharsets.UTF_8);
+		this.predicates().add(ConstraintPredicate.of(x -> {
+			final int last = bytes.length(x) - encoded.length;
+			for (int i = 0; i <= last; i++) {
+				if (regionMatches(bytes, x, i, encoded)) {
+					return true;
+				}
+			}
+			return false;
+		}, CHAR_SEQUENCE_CONTAINS, () -> new Object[] { s }, VALID));
+		return this;
+	}
+
+	public CodePointsBuilder codePoints(Set<Integer> allowedCodePoints) {
+		return new CodePointsBuilder(allowedCodePoints::contains);
+	}
+
+	public CodePointsBuilder codePoints(int begin, int end) {
+		return this.codePoints(Range.of(begin, end));
+	}
+
+	public CodePointsBuilder codePoints(Range range, Range... ranges) {
+		final List<Range> list = new ArrayList<>(ranges.length + 1);
+		list.add(range);
+		list.addAll(Arrays.asList(ranges));
+		return new CodePointsBuilder(codePoint -> {
+			for (Range r : list) {
+				if (r.begin() <= codePoint && codePoint <= r.end()) {
+					return true;
+				}
+			}
+			return false;
+		});
+	}
+
+	@Override
+	protected ToIntFunction<V> size() {
+		return this.size;
+	}
+
+	/**
+	 * Mirrors {@link am.ik.yavi.constraint.charsequence.CodePointsConstraint.Builder}.
+	 * Malformed bytes are decoded as U+FFFD.
+	 */
+	public class CodePointsBuilder {
+
+		private final IntPredicate codePoints;
+
+		CodePointsBuilder(IntPredicate codePoints) {
+			this.codePoints = codePoints;
+		}
+
+		/**
+		 * Only the given code points are allowed.
+		 */
+		public Utf8Constraint<T, V> asWhiteList() {
+			return this.add(false, CODE_POINTS_ALL_INCLUDED);
+		}
+
+		/**
+		 * The given code points are not allowed.
+		 */
+		public Utf8Constraint<T, V> asBlackList() {
+			return this.add(true, CODE_POINTS_NOT_INCLUDED);
+		}
+
+		private Utf8Constraint<T, V> add(boolean denied, ViolationMessage message) {
+			final Bytes<V> bytes = Utf8Constraint.this.bytes;
+			final IntPredicate codePoints = this.codePoints;
+			Utf8Constraint.this.predicates().add(ConstraintPredicate.withViolatedValue(x -> {
+				final int length = bytes.length(x);
+				Set<Integer> violated = Collections.emptySet();
+				int i = 0;
+				while (i < length) {
+					final int codePoint = codePointAt(bytes, x, i, length);
+					final int decoded = codePoint == MALFORMED ? 0xFFFD : codePoint;
+					if (codePoints.test(decoded) == denied) {
+						if (violated.isEmpty()) {
+							violated = new LinkedHashSet<>();
+						}
+						violated.add(decoded);
+					}
+					i += codePoint == MALFORMED ? 1 : sequenceLength(codePoint);
+				}
+				if (violated.isEmpty()) {
+					return Optional.empty();
+				}
+				final List<String> violatedList = new ArrayList<>(violated.size());
+				for (Integer codePoint : violated) {
+					violatedList.add(new String(new int[] { codePoint }, 0, 1));
+				}
+				return Optional.of(new ViolatedValue(violatedList));
+			}, message, () -> new Object[] {}, VALID));
+			return Utf8Constraint.this;
+		}
+
+	}
+
+	/**
+	 * Returns the code point encoded at the given index, or {@link #MALFORMED} if the
+	 * bytes there are not a well-formed UTF-8 sequence.
+	 */
+	static <V> int codePointAt(Bytes<V> bytes, V value, int index, int length) {
+		final int lead = bytes.byteAt(value, index) & 0xFF;
+		if (lead < 0x80) {
+			return lead;
+		}
+		final int continuations;
+		final int min;
+		int codePoint;
+		if (lead >= 0xC2 && lead <= 0xDF) {
+			continuations = 1;
+			min = 0x80;
+			codePoint = lead & 0x1F;
+		}
+		else if (lead >= 0xE0 && lead <= 0xEF) {
+			continuations = 2;
+			min = 0x800;
+			codePoint = lead & 0x0F;
+		}
+		else if (lead >= 0xF0 && lead <= 0xF4) {
+			continuations = 3;
+			min = 0x10000;
+			codePoint = lead & 0x07;
+		}
+		else {
+			return MALFORMED;
+		}
+		if (index + continuations >= length) {
+			return MALFORMED;
+		}
+		for (int i = 1; i <= continuations; i++) {
+			final int b = bytes.byteAt(value, index + i) & 0xFF;
+			if ((b & 0xC0) != 0x80) {
+				return MALFORMED;
+			}
+			codePoint = (codePoint << 6) | (b & 0x3F);
+		}
+		if (codePoint < min || codePoint > Character.MAX_CODE_POINT
+				|| (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+			return MALFORMED;
+		}
+		return codePoint;
+	}
+
+	static int sequenceLength(int codePoint) {
+		return codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+	}
+
+	/**
+	 * Counts the code points, decoding malformed bytes as one code point each like the
+	 * other constraints do, so that stray continuation bytes are not free.
+	 */
+	static <V> int codePointCount(Bytes<V> bytes, V value) {
+		final int length = bytes.length(value);
+		int count = 0;
+		int i = 0;
+		while (i < length) {
+			if (bytes.byteAt(value, i) >= 0) {
+				i++;
+			}
+			else {
+				final int codePoint = codePointAt(bytes, value, i, length);
+				i += codePoint == MALFORMED ? 1 : sequenceLength(codePoint);
+			}
+			count++;
+		}
+		return count;
+	}
+
+	static <V> boolean regionMatches(Bytes<V> bytes, V value, int offset, byte[] other) {
+		if (offset > bytes.length(value) - other.length) {
+			return false;
+		}
+		for (int i = 0; i < other.length; i++) {
+			if (bytes.byteAt(value, offset + i) != other[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Read access to the bytes of a value.
+	 *
+	 * @param <V> {@code byte[]} or {@link ByteBuffer}
+	 */
+	interface Bytes<V> {
+
+		Bytes<byte[]> ARRAY = new Bytes<byte[]>() {
+			@Override
+			public int length(byte[] value) {
+				return value.length;
+			}
+
+			@Override
+			public byte byteAt(byte[] value, int index) {
+				return value[index];
+			}
+		};
+
+		/**
+		 * The remaining bytes, read with absolute gets so that the position is not
+		 * changed.
+		 */
+		Bytes<ByteBuffer> BUFFER = new Bytes<ByteBuffer>() {
+			@Override
+			public int length(ByteBuffer value) {
+				return value.remaining();
+			}
+
+			@Override
+			public byte byteAt(ByteBuffer value, int index) {
+				return value.get(value.position() + index);
+			}
+		};
+
+		int length(V value);
+
+		byte byteAt(V value, int index);
+
+	}
+
+}
@@ -36,48 +36,49 @@ import am.ik.yavi.core.ViolatedValue;
 public abstract class ContainerConstraintBase<T, V, C extends Constraint<T, V, C>> extends ConstraintBase<T, V, C> {
 
 	public C fixedSize(int size) {
+		final ToIntFunction<V> toSize = this.size();
 		this.predicates()
-			.add(ConstraintPredicate.withViolatedValue(
-					this.checkSizePredicate(x -> size().applyAsInt(x) == size, this.size()), CONTAINER_FIXED_SIZE,
-					() -> new Object[] { size }, VALID));
+			.add(ConstraintPredicate.withViolatedValue(x -> toSize.applyAsInt(x) == size, toSize::applyAsInt,
+					CONTAINER_FIXED_SIZE, () -> new Object[] { size }, VALID));
 		return cast();
 	}
 
 	public C greaterThan(int min) {
+		final ToIntFunction<V> toSize = this.size();
 		this.predicates()
-			.add(ConstraintPredicate.withViolatedValue(
-					this.checkSizePredicate(x -> size().applyAsInt(x) > min, this.size()), CONTAINER_GREATER_THAN,
-					() -> new Object[] { min }, VALID));
+			.add(ConstraintPredicate.withViolatedValue(x -> toSize.applyAsInt(x) > min, toSize::applyAsInt,
+					CONTAINER_GREATER_THAN, () -> new Object[] { min }, VALID));
 		return cast();
 	}
 
 	public C greaterThanOrEqual(int min) {
+		final ToIntFunction<V> toSize = this.size();
 		this.predicates()
-			.add(ConstraintPredicate.withViolatedValue(
-					this.checkSizePredicate(x -> size().applyAsInt(x) >= min, this.size()),
+			.add(ConstraintPredicate.withViolatedValue(x -> toSize.applyAsInt(x) >= min, toSize::applyAsInt,
 					CONTAINER_GREATER_THAN_OR_EQUAL, () -> new Object[] { min }, VALID));
 		return cast();
 	}
 
 	public C lessThan(int max) {
+		final ToIntFunction<V> toSize = this.size();
 		this.predicates()
-			.add(ConstraintPredicate.withViolatedValue(
-					this.checkSizePredicate(x -> size().applyAsInt(x) < max, this.size()), CONTAINER_LESS_THAN,
-					() -> new Object[] { max }, VALID));
+			.add(ConstraintPredicate.withViolatedValue(x -> toSize.applyAsInt(x) < max, toSize::applyAsInt,
+					CONTAINER_LESS_THAN, () -> new Object[] { max }, VALID));
 		return cast();
 	}
 
 	public C lessThanOrEqual(int max) {
+		final ToIntFunction<V> toSize = this.size();
 		this.predicates()
-			.add(ConstraintPredicate.withViolatedValue(
-					this.checkSizePredicate(x -> size().applyAsInt(x) <= max, this.size()),
+			.add(ConstraintPredicate.withViolatedValue(x -> toSize.applyAsInt(x) <= max, toSize::applyAsInt,
 					CONTAINER_LESS_THAN_OR_EQUAL, () -> new Object[] { max }, VALID));
 		return cast();
 	}
 
 	public C notEmpty() {
+		final ToIntFunction<V> toSize = this.size();
 		this.predicates()
-			.add(ConstraintPredicate.of(x -> x != null && size().applyAsInt(x) != 0, CONTAINER_NOT_EMPTY,
+			.add(ConstraintPredicate.of(x -> x != null && toSize.applyAsInt(x) != 0, CONTAINER_NOT_EMPTY,
 					() -> new Object[] {}, INVALID));
 		return cast();
 	}
@@ -16,6 +16,8 @@
 package am.ik.yavi.constraint.charsequence;
 
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.function.ToIntFunction;
 
 import static am.ik.yavi.core.NullAs.VALID;
 import static am.ik.yavi.core.ViolationMessage.Default.BYTE_SIZE_FIXED_SIZE;
@@ -26,14 +28,21 @@ import static am.ik.yavi.core.ViolationMessage.Default.BYTE_SIZE_LESS_THAN_OR_EQ
 
 import am.ik.yavi.constraint.CharSequenceConstraint;
 import am.ik.yavi.core.ConstraintPredicate;
+import am.ik.yavi.core.DerivedValues;
 
 public class ByteSizeConstraint<T, E extends CharSequence> extends CharSequenceConstraint<T, E> {
 
 	private final Charset charset;
 
+	private final Object byteSizeKey = new Object();
+
+	private final ToIntFunction<E> byteSize;
+
 	public ByteSizeConstraint(CharSequenceConstraint<T, E> delegate, Charset charset) {
 		super();
 		this.charset = charset;
+		this.byteSize = StandardCharsets.UTF_8.equals(charset) ? ByteSizeConstraint::utf8Length
+				: x -> x.toString().getBytes(charset).length;
 		this.predicates().addAll(delegate.predicates());
 	}
 
@@ -83,7 +92,37 @@ public class ByteSizeConstraint<T, E extends CharSequence> extends CharSequenceC
 	}
 
 	private int size(E x) {
-		return x.toString().getBytes(charset).length;
+		return DerivedValues.getInt(x, this.byteSizeKey, this.byteSize);
+	}
+
+	/**
+	 * Returns the length of the value encoded in UTF-8 without encoding it. Like
+	 * {@link String#getBytes(Charset)}, an unpaired surrogate counts as the one byte of
+	 * its replacement.
+	 */
+	static int utf8Length(CharSequence s) {
+		final int length = s.length();
+		int bytes = 0;
+		for (int i = 0; i < length; i++) {
+			final char c = s.charAt(i);
+			if (c < 0x80) {
+				bytes++;
+			}
+			else if (c < 0x800) {
+				bytes += 2;
+			}
+			else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+				bytes += 4;
+				i++;
+			}
+			else if (Character.isSurrogate(c)) {
+				bytes++;
+			}
+			else {
+				bytes += 3;
+			}
+		}
+		return bytes;
 	}
 
 }
@@ -36,13 +36,12 @@ public interface CodePoints<E extends CharSequence> {
 			if (s == null || s.length() == 0) {
 				return Collections.emptySet();
 			}
-			String str = s.toString();
 			Set<Integer> excludedCodePoints = new LinkedHashSet<>();
-			int len = str.length();
+			int len = s.length();
 			Integer codePoint;
 			List<Range> ranges = this.asRanges();
 			for (int i = 0; i < len; i += Character.charCount(codePoint)) {
-				codePoint = str.codePointAt(i);
+				codePoint = Character.codePointAt(s, i);
 				boolean included = false;
 				for (Range range : ranges) {
 					if (range.begin() <= codePoint && codePoint <= range.end()) {
@@ -69,13 +68,12 @@ public interface CodePoints<E extends CharSequence> {
 			if (s == null || s.length() == 0) {
 				return Collections.emptySet();
 			}
-			String str = s.toString();
 			Set<Integer> excludedCodePoints = new LinkedHashSet<>();
-			int len = str.length();
+			int len = s.length();
 			Integer codePoint;
 			Set<Integer> set = this.asSet();
 			for (int i = 0; i < len; i += Character.charCount(codePoint)) {
-				codePoint = str.codePointAt(i);
+				codePoint = Character.codePointAt(s, i);
 				if (!set.contains(codePoint)) {
 					excludedCodePoints.add(codePoint);
 				}
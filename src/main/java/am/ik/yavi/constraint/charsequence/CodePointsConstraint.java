@@ -43,11 +43,10 @@ public class CodePointsConstraint<T, E extends CharSequence> extends CharSequenc
 		this.predicates().add(ConstraintPredicate.withViolatedValue(x -> {
 			Set<Integer> excludedFromBlackList = this.codePoints.allExcludedCodePoints(x);
 			Integer codePoint;
-			String str = x.toString();
-			int len = str.length();
+			int len = x.length();
 			Set<Integer> included = new LinkedHashSet<>();
 			for (int i = 0; i < len; i += Character.charCount(codePoint)) {
-				codePoint = str.codePointAt(i);
+				codePoint = Character.codePointAt(x, i);
 				if (!excludedFromBlackList.contains(codePoint)) {
 					included.add(codePoint);
 				}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+/**
+ * Email address syntax check used by
+ * {@link am.ik.yavi.constraint.CharSequenceConstraint#email()}.
+ *
+ * <p>
+ * An address is a local part and a domain separated by {@code @}, where both consist of
+ * one or more dot-separated atoms. An atom is a non-empty run of characters other than
+ * control characters, whitespace and {@code ()<>@,;:\".[]}. This is the language of the
+ * regular expression the constraint used to match, scanned in a single pass without
+ * allocation.
+ *
+ * @since 0.17.0
+ */
+public class EmailAddressUtils {
+
+	public static boolean isEmailAddress(CharSequence s) {
+		boolean seenAt = false;
+		// whether the next character must start an atom
+		boolean atomExpected = true;
+		for (int i = 0, length = s.length(); i < length; i++) {
+			final char c = s.charAt(i);
+			if (c == '@') {
+				if (seenAt || atomExpected) {
+					return false;
+				}
+				seenAt = true;
+				atomExpected = true;
+			}
+			else if (c == '.') {
+				if (atomExpected) {
+					return false;
+				}
+				atomExpected = true;
+			}
+			else if (isSpecial(c)) {
+				return false;
+			}
+			else {
+				atomExpected = false;
+			}
+		}
+		return seenAt && !atomExpected;
+	}
+
+	private static boolean isSpecial(char c) {
+		if (c <= ' ') {
+			// control characters and whitespace (\s is [ \t\n\x0B\f\r])
+			return true;
+		}
+		switch (c) {
+			case '(':
+			case ')':
+			case '<':
+			case '>':
+			case ',':
+			case ';':
+			case ':':
+			case '\\':
+			case '"':
+			case '[':
+			case ']':
+				return true;
+			default:
+				return false;
+		}
+	}
+
+}
@@ -15,45 +15,28 @@
  */
 package am.ik.yavi.constraint.charsequence;
 
-import am.ik.yavi.constraint.charsequence.variant.StandardizedVariationSequence;
 import am.ik.yavi.jsr305.Nullable;
 
 public class Emoji {
 
-	private static final String COMBINING_ENCLOSING_KEYCAP = new String(new int[] { 0x20E3 }, 0, 1);
+	private static final int COMBINING_ENCLOSING_KEYCAP = 0x20E3;
 
-	private static final String DUMMY_REPLACEMENT = "X";
+	private static final int DUMMY_REPLACEMENT = 'X';
 
-	private static final String ELF = new String(new int[] { 0x1F9DD }, 0, 1);
+	private static final int ZERO_WIDTH_JOINER = 0x200D;
 
-	private static final String E140_SKIN_RANGE = new String(new int[] { 0x1FAF0 }, 0, 1) + "-"
-			+ new String(new int[] { 0x1FAF6 }, 0, 1) + new String(new int[] { 0x1FAC3 }, 0, 1) + "-"
-			+ new String(new int[] { 0x1FAC5 }, 0, 1);
+	private static final int BLACK_FLAG = 0x1F3F4;
 
-	private static final String ENGLAND = new String(
-			new int[] { 0x1F3F4, 0xE0067, 0xE0062, 0xE0065, 0xE006E, 0xE0067, 0xE007F }, 0, 7);
-
-	private static final String PERSON = new String(new int[] { 0x1F9D1 }, 0, 1);
-
-	private static final String REGIONAL_INDICATOR_SYMBOL_LETTER_RANGE = new String(new int[] { 0x1F1E6 }, 0, 1) + "-"
-			+ new String(new int[] { 0x1F1FF }, 0, 1);
-
-	private static final String SCOTLAND = new String(
-			new int[] { 0x1F3F4, 0xE0067, 0xE0062, 0xE0073, 0xE0063, 0xE0074, 0xE007F }, 0, 7);
-
-	private static final String SKIN_TONE_SELECTOR_RANGE = new String(new int[] { 0x1F3FB }, 0, 1) + "-"
-			+ new String(new int[] { 0x1F3FF }, 0, 1);
-
-	private static final String SKUL_AND_CROSSBONES = new String(new int[] { 0x2620 }, 0, 1);
-
-	private static final String WALES = new String(
-			new int[] { 0x1F3F4, 0xE0067, 0xE0062, 0xE0077, 0xE006C, 0xE0073, 0xE007F }, 0, 7);
-
-	private static final String WHITE_UP_POINTING_INDEX = new String(new int[] { 0x261D }, 0, 1);
-
-	private static final String ADHESIVE_BANDAGE = new String(new int[] { 0x1FA79 }, 0, 1);
+	/**
+	 * England, Scotland and Wales. All of them start with {@link #BLACK_FLAG} and share
+	 * the first three code points.
+	 */
+	private static final int[][] SUBDIVISION_FLAGS = {
+			{ BLACK_FLAG, 0xE0067, 0xE0062, 0xE0065, 0xE006E, 0xE0067, 0xE007F },
+			{ BLACK_FLAG, 0xE0067, 0xE0062, 0xE0073, 0xE0063, 0xE0074, 0xE007F },
+			{ BLACK_FLAG, 0xE0067, 0xE0062, 0xE0077, 0xE006C, 0xE0073, 0xE007F } };
 
-	private static final String ZERO_WIDTH_JOINER = "\u200D";
+	private static final int NONE = -1;
 
 	/**
 	 * Try to return the length of the given string.<br>
@@ -66,18 +49,267 @@ public class Emoji {
 		if (str == null || str.isEmpty()) {
 			return 0;
 		}
-		String s = str.replaceAll("[" + StandardizedVariationSequence.RANGE + COMBINING_ENCLOSING_KEYCAP + "]", "") //
-			.replaceAll("([" + WHITE_UP_POINTING_INDEX + "-" + ELF + E140_SKIN_RANGE + "][" + SKIN_TONE_SELECTOR_RANGE
-					+ "])", DUMMY_REPLACEMENT)
-			.replaceAll("([" + ZERO_WIDTH_JOINER + "][" + SKUL_AND_CROSSBONES + "-" + PERSON + ADHESIVE_BANDAGE + "])",
-					"") //
-			.replaceAll("([" + REGIONAL_INDICATOR_SYMBOL_LETTER_RANGE + "]{2})", DUMMY_REPLACEMENT) //
-			.replace(ENGLAND, DUMMY_REPLACEMENT) //
-			.replace(SCOTLAND, DUMMY_REPLACEMENT) //
-			.replace(WALES, DUMMY_REPLACEMENT) //
-			// Support emojis that contains two skin tone selectors introduced in 12
-			.replaceAll("(" + DUMMY_REPLACEMENT + ZERO_WIDTH_JOINER + DUMMY_REPLACEMENT + ")", DUMMY_REPLACEMENT);
-		return s.codePointCount(0, s.length());
+		final Counter counter = new Counter();
+		for (int i = 0; i < str.length(); i++) {
+			counter.removeSelectors(str.charAt(i));
+		}
+		return counter.finish();
+	}
+
+	/**
+	 * Counts clusters in a single pass. Each stage consumes the output of the previous
+	 * one with at most a few code points of look-ahead, so the rules are applied in the
+	 * following order without building intermediate strings.
+	 * <ol>
+	 * <li>Variation selectors and the combining enclosing keycap are removed.</li>
+	 * <li>An emoji modifier base followed by a skin tone selector counts as one.</li>
+	 * <li>A zero width joiner followed by a person, profession or object is removed.</li>
+	 * <li>A pair of regional indicator symbols counts as one.</li>
+	 * <li>The England, Scotland and Wales tag sequences count as one.</li>
+	 * <li>Two clusters joined by a zero width joiner count as one.</li>
+	 * </ol>
+	 * Removing characters can bring an unpaired high surrogate next to an unpaired low
+	 * surrogate, so code points are reassembled after the stages that remove characters.
+	 */
+	static final class Counter {
+
+		private int highSurrogate = NONE;
+
+		private int modifierBase = NONE;
+
+		private boolean zeroWidthJoiner;
+
+		private int joinedHighSurrogate = NONE;
+
+		private int regionalIndicator = NONE;
+
+		private int flag;
+
+		private int flagLength;
+
+		private int sequence;
+
+		private int count;
+
+		void removeSelectors(char c) {
+			if (isVariationSelector(c) || c == COMBINING_ENCLOSING_KEYCAP) {
+				return;
+			}
+			if (this.highSurrogate != NONE) {
+				final char high = (char) this.highSurrogate;
+				this.highSurrogate = NONE;
+				if (Character.isLowSurrogate(c)) {
+					this.joinSkinTone(Character.toCodePoint(high, c));
+					return;
+				}
+				this.joinSkinTone(high);
+			}
+			if (Character.isHighSurrogate(c)) {
+				this.highSurrogate = c;
+			}
+			else {
+				this.joinSkinTone(c);
+			}
+		}
+
+		void joinSkinTone(int codePoint) {
+			if (this.modifierBase != NONE) {
+				final int base = this.modifierBase;
+				this.modifierBase = NONE;
+				if (isSkinToneSelector(codePoint)) {
+					this.removeJoinedPerson(DUMMY_REPLACEMENT);
+					return;
+				}
+				this.removeJoinedPerson(base);
+			}
+			if (isModifierBase(codePoint)) {
+				this.modifierBase = codePoint;
+			}
+			else {
+				this.removeJoinedPerson(codePoint);
+			}
+		}
+
+		void removeJoinedPerson(int codePoint) {
+			if (this.zeroWidthJoiner) {
+				this.zeroWidthJoiner = false;
+				if (isPerson(codePoint)) {
+					return;
+				}
+				this.reassemble(ZERO_WIDTH_JOINER);
+			}
+			if (codePoint == ZERO_WIDTH_JOINER) {
+				this.zeroWidthJoiner = true;
+			}
+			else {
+				this.reassemble(codePoint);
+			}
+		}
+
+		void reassemble(int codePoint) {
+			if (this.joinedHighSurrogate != NONE) {
+				final int high = this.joinedHighSurrogate;
+				this.joinedHighSurrogate = NONE;
+				if (codePoint <= Character.MAX_VALUE && Character.isLowSurrogate((char) codePoint)) {
+					this.joinRegionalIndicators(Character.toCodePoint((char) high, (char) codePoint));
+					return;
+				}
+				this.joinRegionalIndicators(high);
+			}
+			if (codePoint <= Character.MAX_VALUE && Character.isHighSurrogate((char) codePoint)) {
+				this.joinedHighSurrogate = codePoint;
+			}
+			else {
+				this.joinRegionalIndicators(codePoint);
+			}
+		}
+
+		void joinRegionalIndicators(int codePoint) {
+			if (this.regionalIndicator != NONE) {
+				final int indicator = this.regionalIndicator;
+				this.regionalIndicator = NONE;
+				if (isRegionalIndicator(codePoint)) {
+					this.joinSubdivisionFlag(DUMMY_REPLACEMENT);
+					return;
+				}
+				this.joinSubdivisionFlag(indicator);
+			}
+			if (isRegionalIndicator(codePoint)) {
+				this.regionalIndicator = codePoint;
+			}
+			else {
+				this.joinSubdivisionFlag(codePoint);
+			}
+		}
+
+		void joinSubdivisionFlag(int codePoint) {
+			if (this.flagLength > 0) {
+				if (this.flagLength == 3) {
+					for (int i = 0; i < SUBDIVISION_FLAGS.length; i++) {
+						if (SUBDIVISION_FLAGS[i][3] == codePoint) {
+							this.flag = i;
+							break;
+						}
+					}
+				}
+				if (SUBDIVISION_FLAGS[this.flag][this.flagLength] == codePoint) {
+					if (++this.flagLength == SUBDIVISION_FLAGS[this.flag].length) {
+						this.flagLength = 0;
+						this.flag = 0;
+						this.joinSequence(DUMMY_REPLACEMENT);
+					}
+					return;
+				}
+				this.flushSubdivisionFlag();
+			}
+			// BLACK_FLAG only appears at the start, so a mismatch never hides a new match
+			if (codePoint == BLACK_FLAG) {
+				this.flagLength = 1;
+			}
+			else {
+				this.joinSequence(codePoint);
+			}
+		}
+
+		void flushSubdivisionFlag() {
+			final int[] prefix = SUBDIVISION_FLAGS[this.flag];
+			final int length = this.flagLength;
+			this.flagLength = 0;
+			this.flag = 0;
+			for (int i = 0; i < length; i++) {
+				this.joinSequence(prefix[i]);
+			}
+		}
+
+		/**
+		 * Replaces <code>X ZWJ X</code> with <code>X</code> from left to right, where
+		 * <code>X</code> may be a literal <code>X</code> in the input as well.
+		 */
+		void joinSequence(int codePoint) {
+			switch (this.sequence) {
+				case 1:
+					if (codePoint == ZERO_WIDTH_JOINER) {
+						this.sequence = 2;
+						return;
+					}
+					this.count++;
+					break;
+				case 2:
+					this.sequence = 0;
+					if (codePoint == DUMMY_REPLACEMENT) {
+						this.count++;
+						return;
+					}
+					this.count += 2;
+					break;
+				default:
+					break;
+			}
+			if (codePoint == DUMMY_REPLACEMENT) {
+				this.sequence = 1;
+			}
+			else {
+				this.sequence = 0;
+				this.count++;
+			}
+		}
+
+		int finish() {
+			if (this.highSurrogate != NONE) {
+				final int high = this.highSurrogate;
+				this.highSurrogate = NONE;
+				this.joinSkinTone(high);
+			}
+			if (this.modifierBase != NONE) {
+				final int base = this.modifierBase;
+				this.modifierBase = NONE;
+				this.removeJoinedPerson(base);
+			}
+			if (this.zeroWidthJoiner) {
+				this.zeroWidthJoiner = false;
+				this.reassemble(ZERO_WIDTH_JOINER);
+			}
+			if (this.joinedHighSurrogate != NONE) {
+				final int high = this.joinedHighSurrogate;
+				this.joinedHighSurrogate = NONE;
+				this.joinRegionalIndicators(high);
+			}
+			if (this.regionalIndicator != NONE) {
+				final int indicator = this.regionalIndicator;
+				this.regionalIndicator = NONE;
+				this.joinSubdivisionFlag(indicator);
+			}
+			if (this.flagLength > 0) {
+				this.flushSubdivisionFlag();
+			}
+			return this.count + this.sequence;
+		}
+
+	}
+
+	static boolean isVariationSelector(int codePoint) {
+		return codePoint >= 0xFE00 && codePoint <= 0xFE0F;
+	}
+
+	/**
+	 * Characters that may be followed by a skin tone selector. The range is intentionally
+	 * broad and includes the selectors themselves.
+	 */
+	static boolean isModifierBase(int codePoint) {
+		return (codePoint >= 0x261D && codePoint <= 0x1F9DD) || (codePoint >= 0x1FAF0 && codePoint <= 0x1FAF6)
+				|| (codePoint >= 0x1FAC3 && codePoint <= 0x1FAC5);
+	}
+
+	static boolean isSkinToneSelector(int codePoint) {
+		return codePoint >= 0x1F3FB && codePoint <= 0x1F3FF;
+	}
+
+	static boolean isPerson(int codePoint) {
+		return (codePoint >= 0x2620 && codePoint <= 0x1F9D1) || codePoint == 0x1FA79;
+	}
+
+	static boolean isRegionalIndicator(int codePoint) {
+		return codePoint >= 0x1F1E6 && codePoint <= 0x1F1FF;
 	}
 
 }
@@ -16,6 +16,7 @@
 package am.ik.yavi.constraint.charsequence;
 
 import java.text.Normalizer;
+import java.util.function.ToIntFunction;
 
 import static am.ik.yavi.core.NullAs.VALID;
 import static am.ik.yavi.core.ViolationMessage.Default.CONTAINER_FIXED_SIZE;
@@ -27,9 +28,14 @@ import static am.ik.yavi.core.ViolationMessage.Default.CONTAINER_LESS_THAN_OR_EQ
 import am.ik.yavi.constraint.CharSequenceConstraint;
 import am.ik.yavi.constraint.charsequence.variant.VariantOptions;
 import am.ik.yavi.core.ConstraintPredicate;
+import am.ik.yavi.core.DerivedValues;
 
 public class EmojiConstraint<T, E extends CharSequence> extends CharSequenceConstraint<T, E> {
 
+	private final Object emojiSizeKey = new Object();
+
+	private final ToIntFunction<E> emojiSize = x -> Emoji.bestEffortCount(this.normalized(x));
+
 	public EmojiConstraint(CharSequenceConstraint<T, E> delegate, Normalizer.Form normalizerForm,
 			VariantOptions variantOptions) {
 		super(normalizerForm, variantOptions);
@@ -77,7 +83,7 @@ public class EmojiConstraint<T, E extends CharSequence> extends CharSequenceCons
 	}
 
 	private int size(E x) {
-		return Emoji.bestEffortCount(this.normalize(x.toString()));
+		return DerivedValues.getInt(x, this.emojiSizeKey, this.emojiSize);
 	}
 
 }
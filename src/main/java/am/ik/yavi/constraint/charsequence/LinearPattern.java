@@ -0,0 +1,1309 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntPredicate;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A regular expression that is matched in linear time.
+ *
+ * <p>
+ * {@link java.util.regex.Pattern} is a backtracking engine, so a carelessly written
+ * expression such as {@code (a+)+b} takes exponential time on hostile input. A
+ * {@code LinearPattern} compiles the expression to a nondeterministic finite automaton
+ * and simulates all of its states at once (Thompson's construction), so matching an input
+ * of length {@code n} against an expression of size {@code m} takes {@code O(n * m)} time
+ * regardless of the input.
+ *
+ * <p>
+ * The syntax is the regular subset of {@link java.util.regex.Pattern}, and an input
+ * matches if and only if {@code Pattern.matches(regex, input)} is {@code true}:
+ * <ul>
+ * <li>literals, {@code \Q...\E} quotes and the escapes {@code \t \n \r \f \a \e \0n \xhh
+ * \x{h...h}} and <code>&#92;uhhhh</code></li>
+ * <li>{@code .}, character classes with ranges and negation, {@code \d \D \s \S \w \W}
+ * and {@code \p{...}} / {@code \P{...}} for POSIX classes, general categories, scripts
+ * ({@code IsLatin}), blocks ({@code InGreek}) and common binary properties</li>
+ * <li>grouping with {@code (...)}, {@code (?:...)} and {@code (?<name>...)}, and
+ * alternation</li>
+ * <li>the quantifiers {@code * + ? {n} {n,} {n,m}} and their reluctant forms</li>
+ * <li>the boundaries {@code ^ $ \A \z \Z}</li>
+ * </ul>
+ * Constructs that cannot be matched by a finite automaton or whose semantics depend on
+ * backtracking, namely backreferences, lookahead, lookbehind, atomic groups, possessive
+ * quantifiers, word boundaries and inline flags, as well as nested classes and class
+ * intersections, are rejected by {@link #compile(String)} with an
+ * {@link IllegalArgumentException}.
+ *
+ * @since 0.17.0
+ */
+public final class LinearPattern {
+
+	/**
+	 * Upper bound of the size of a compiled program, which keeps counted repetitions such
+	 * as {@code (a{1000}){1000}} from exhausting memory.
+	 */
+	static final int MAX_PROGRAM_SIZE = 100_000;
+
+	private static final int CHAR = 0;
+
+	private static final int SPLIT = 1;
+
+	private static final int JUMP = 2;
+
+	private static final int MATCH = 3;
+
+	private static final int BEGIN = 4;
+
+	/** {@code $} and {@code \Z}: end of input, or before a final line terminator. */
+	private static final int END = 5;
+
+	/** {@code \z}: end of input. */
+	private static final int END_OF_INPUT = 6;
+
+	private final String regex;
+
+	private final int[] ops;
+
+	private final int[] next;
+
+	private final int[] alternative;
+
+	private final IntPredicate[] predicates;
+
+	private final ThreadLocal<Scratch> scratch;
+
+	private LinearPattern(String regex, Program program) {
+		this.regex = regex;
+		final int size = program.size;
+		this.ops = Arrays.copyOf(program.ops, size);
+		this.next = Arrays.copyOf(program.next, size);
+		this.alternative = Arrays.copyOf(program.alternative, size);
+		this.predicates = Arrays.copyOf(program.predicates, size);
+		this.scratch = ThreadLocal.withInitial(() -> new Scratch(size));
+	}
+
+	/**
+	 * Compiles the given regular expression.
+	 * @param regex regular expression
+	 * @return compiled pattern
+	 * @throws PatternSyntaxException if the expression's syntax is invalid
+	 * @throws IllegalArgumentException if the expression uses a construct that cannot be
+	 * matched in linear time
+	 */
+	public static LinearPattern compile(String regex) {
+		final Node node = new Parser(regex).parse();
+		final Program program = new Program(regex);
+		node.emit(program);
+		program.emit(MATCH, null);
+		return new LinearPattern(regex, program);
+	}
+
+	/**
+	 * Returns whether the entire input matches this pattern.
+	 * @param input input to match
+	 * @return whether the input matches
+	 */
+	public boolean matches(CharSequence input) {
+		final int length = input.length();
+		final Scratch scratch = this.scratch.get();
+		// sparse sets of the current and the next states
+		int[] current = scratch.current;
+		int[] following = scratch.following;
+		final int[] marks = scratch.marks;
+		final int[] stack = scratch.stack;
+		// a state is marked with the generation it was added in, so the marks of earlier
+		// calls never have to be cleared unless the generation would overflow
+		if (scratch.generation > Integer.MAX_VALUE - length - 2) {
+			Arrays.fill(marks, 0);
+			scratch.generation = 0;
+		}
+		int generation = scratch.generation + 1;
+		int currentSize = this.addState(current, 0, 0, marks, generation, stack, 0, input, length);
+		int position = 0;
+		while (position < length && currentSize > 0) {
+			final int codePoint = Character.codePointAt(input, position);
+			final int nextPosition = position + Character.charCount(codePoint);
+			generation++;
+			int followingSize = 0;
+			for (int i = 0; i < currentSize; i++) {
+				final int pc = current[i];
+				if (this.ops[pc] == CHAR && this.predicates[pc].test(codePoint)) {
+					followingSize = this.addState(following, followingSize, this.next[pc], marks, generation, stack,
+							nextPosition, input, length);
+				}
+			}
+			final int[] swap = current;
+			current = following;
+			following = swap;
+			currentSize = followingSize;
+			position = nextPosition;
+		}
+		scratch.generation = generation;
+		if (position < length) {
+			return false;
+		}
+		for (int i = 0; i < currentSize; i++) {
+			if (this.ops[current[i]] == MATCH) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the state and all states reachable from it without consuming input to the
+	 * list. Only states that consume input or accept are kept.
+	 */
+	private int addState(int[] list, int listSize, int start, int[] marks, int generation, int[] stack, int position,
+			CharSequence input, int length) {
+		int top = 0;
+		stack[top++] = start;
+		while (top > 0) {
+			final int pc = stack[--top];
+			if (marks[pc] == generation) {
+				continue;
+			}
+			marks[pc] = generation;
+			switch (this.ops[pc]) {
+				case SPLIT:
+					stack[top++] = this.alternative[pc];
+					stack[top++] = this.next[pc];
+					break;
+				case JUMP:
+					stack[top++] = this.next[pc];
+					break;
+				case BEGIN:
+					if (position == 0) {
+						stack[top++] = this.next[pc];
+					}
+					break;
+				case END:
+					if (isEnd(input, position, length)) {
+						stack[top++] = this.next[pc];
+					}
+					break;
+				case END_OF_INPUT:
+					if (position == length) {
+						stack[top++] = this.next[pc];
+					}
+					break;
+				default:
+					list[listSize++] = pc;
+			}
+		}
+		return listSize;
+	}
+
+	private static boolean isEnd(CharSequence input, int position, int length) {
+		if (position == length) {
+			return true;
+		}
+		if (position == length - 1) {
+			return isLineTerminator(input.charAt(position));
+		}
+		return position == length - 2 && input.charAt(position) == '\r' && input.charAt(position + 1) == '\n';
+	}
+
+	static boolean isLineTerminator(int c) {
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+	}
+
+	/**
+	 * Returns the source regular expression.
+	 * @return the source regular expression
+	 */
+	public String pattern() {
+		return this.regex;
+	}
+
+	@Override
+	public String toString() {
+		return this.regex;
+	}
+
+	/**
+	 * Working arrays of {@link #matches(CharSequence)}, reused by every call on the same
+	 * thread.
+	 */
+	static final class Scratch {
+
+		final int[] current;
+
+		final int[] following;
+
+		final int[] marks;
+
+		final int[] stack;
+
+		int generation;
+
+		Scratch(int size) {
+			this.current = new int[size];
+			this.following = new int[size];
+			this.marks = new int[size];
+			this.stack = new int[size];
+		}
+
+	}
+
+	/**
+	 * A program of the automaton. Each instruction has an opcode, the index of the next
+	 * instruction, the index of the alternative instruction for {@link #SPLIT} and the
+	 * predicate of the code point for {@link #CHAR}.
+	 */
+	static final class Program {
+
+		private final String regex;
+
+		int size;
+
+		int[] ops = new int[16];
+
+		int[] next = new int[16];
+
+		int[] alternative = new int[16];
+
+		IntPredicate[] predicates = new IntPredicate[16];
+
+		Program(String regex) {
+			this.regex = regex;
+		}
+
+		int emit(int op, IntPredicate predicate) {
+			if (this.size == this.ops.length) {
+				if (this.size >= MAX_PROGRAM_SIZE) {
+					throw new IllegalArgumentException(
+							"The regex is too large to be compiled to a linear pattern: " + this.regex);
+				}
+				final int capacity = this.size * 2;
+				this.ops = Arrays.copyOf(this.ops, capacity);
+				this.next = Arrays.copyOf(this.next, capacity);
+				this.alternative = Arrays.copyOf(this.alternative, capacity);
+				this.predicates = Arrays.copyOf(this.predicates, capacity);
+			}
+			final int pc = this.size++;
+			this.ops[pc] = op;
+			this.next[pc] = pc + 1;
+			this.predicates[pc] = predicate;
+			return pc;
+		}
+
+	}
+
+	abstract static class Node {
+
+		abstract void emit(Program program);
+
+		/**
+		 * Emits {@code (node)?}.
+		 */
+		static void emitOptional(Program program, Node node) {
+			final int split = program.emit(SPLIT, null);
+			node.emit(program);
+			program.alternative[split] = program.size;
+		}
+
+		/**
+		 * Emits {@code (node)*}.
+		 */
+		static void emitStar(Program program, Node node) {
+			final int split = program.emit(SPLIT, null);
+			node.emit(program);
+			final int jump = program.emit(JUMP, null);
+			program.next[jump] = split;
+			program.alternative[split] = program.size;
+		}
+
+	}
+
+	static final class CodePointNode extends Node {
+
+		private final IntPredicate predicate;
+
+		CodePointNode(IntPredicate predicate) {
+			this.predicate = predicate;
+		}
+
+		@Override
+		void emit(Program program) {
+			program.emit(CHAR, this.predicate);
+		}
+
+	}
+
+	static final class AssertionNode extends Node {
+
+		private final int op;
+
+		AssertionNode(int op) {
+			this.op = op;
+		}
+
+		@Override
+		void emit(Program program) {
+			program.emit(this.op, null);
+		}
+
+	}
+
+	static final class ConcatNode extends Node {
+
+		private final List<Node> nodes;
+
+		ConcatNode(List<Node> nodes) {
+			this.nodes = nodes;
+		}
+
+		@Override
+		void emit(Program program) {
+			for (Node node : this.nodes) {
+				node.emit(program);
+			}
+		}
+
+	}
+
+	static final class AlternationNode extends Node {
+
+		private final List<Node> alternatives;
+
+		AlternationNode(List<Node> alternatives) {
+			this.alternatives = alternatives;
+		}
+
+		@Override
+		void emit(Program program) {
+			final int last = this.alternatives.size() - 1;
+			final int[] jumps = new int[last];
+			for (int i = 0; i < last; i++) {
+				final int split = program.emit(SPLIT, null);
+				this.alternatives.get(i).emit(program);
+				jumps[i] = program.emit(JUMP, null);
+				program.alternative[split] = program.size;
+			}
+			this.alternatives.get(last).emit(program);
+			for (int jump : jumps) {
+				program.next[jump] = program.size;
+			}
+		}
+
+	}
+
+	static final class RepeatNode extends Node {
+
+		static final int UNBOUNDED = -1;
+
+		private final Node node;
+
+		private final int min;
+
+		private final int max;
+
+		RepeatNode(Node node, int min, int max) {
+			this.node = node;
+			this.min = min;
+			this.max = max;
+		}
+
+		@Override
+		void emit(Program program) {
+			for (int i = 0; i < this.min; i++) {
+				this.node.emit(program);
+			}
+			if (this.max == UNBOUNDED) {
+				emitStar(program, this.node);
+			}
+			else {
+				for (int i = this.min; i < this.max; i++) {
+					emitOptional(program, this.node);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * A character class: a union of code point ranges and predicates, optionally negated.
+	 */
+	static final class CharClass implements IntPredicate {
+
+		private final int[] ranges;
+
+		private final IntPredicate[] predicates;
+
+		private final boolean negated;
+
+		CharClass(int[] ranges, IntPredicate[] predicates, boolean negated) {
+			this.ranges = ranges;
+			this.predicates = predicates;
+			this.negated = negated;
+		}
+
+		@Override
+		public boolean test(int codePoint) {
+			return this.contains(codePoint) != this.negated;
+		}
+
+		private boolean contains(int codePoint) {
+			for (int i = 0; i < this.ranges.length; i += 2) {
+				if (this.ranges[i] <= codePoint && codePoint <= this.ranges[i + 1]) {
+					return true;
+				}
+			}
+			for (IntPredicate predicate : this.predicates) {
+				if (predicate.test(codePoint)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+	static final class CharClassBuilder {
+
+		private int[] ranges = new int[8];
+
+		private int rangesSize;
+
+		private final List<IntPredicate> predicates = new ArrayList<>();
+
+		CharClassBuilder add(int from, int to) {
+			if (this.rangesSize == this.ranges.length) {
+				this.ranges = Arrays.copyOf(this.ranges, this.rangesSize * 2);
+			}
+			this.ranges[this.rangesSize++] = from;
+			this.ranges[this.rangesSize++] = to;
+			return this;
+		}
+
+		CharClassBuilder add(IntPredicate predicate) {
+			if (predicate instanceof CharClass && !((CharClass) predicate).negated) {
+				final CharClass charClass = (CharClass) predicate;
+				for (int i = 0; i < charClass.ranges.length; i += 2) {
+					this.add(charClass.ranges[i], charClass.ranges[i + 1]);
+				}
+				for (IntPredicate p : charClass.predicates) {
+					this.predicates.add(p);
+				}
+			}
+			else {
+				this.predicates.add(predicate);
+			}
+			return this;
+		}
+
+		CharClass build(boolean negated) {
+			return new CharClass(Arrays.copyOf(this.ranges, this.rangesSize),
+					this.predicates.toArray(new IntPredicate[0]), negated);
+		}
+
+	}
+
+	static final class Parser {
+
+		private static final CharClass DIGIT = new CharClassBuilder().add('0', '9').build(false);
+
+		private static final CharClass WORD = new CharClassBuilder().add('a', 'z')
+			.add('A', 'Z')
+			.add('_', '_')
+			.add('0', '9')
+			.build(false);
+
+		private static final CharClass SPACE = new CharClassBuilder().add(' ', ' ')
+			.add('\t', '\r') /* \t \n \x0B \f \r */
+			.build(false);
+
+		private static final IntPredicate DOT = c -> !isLineTerminator(c);
+
+		private final String regex;
+
+		private int index;
+
+		Parser(String regex) {
+			this.regex = regex;
+		}
+
+		Node parse() {
+			final Node node = this.parseAlternation();
+			if (this.index < this.regex.length()) {
+				// only an unmatched ')' stops the alternation before the end
+				throw this.syntaxError("Unmatched closing ')'");
+			}
+			return node;
+		}
+
+		private Node parseAlternation() {
+			final List<Node> alternatives = new ArrayList<>();
+			alternatives.add(this.parseConcatenation());
+			while (this.peek() == '|') {
+				this.index++;
+				alternatives.add(this.parseConcatenation());
+			}
+			return alternatives.size() == 1 ? alternatives.get(0) : new AlternationNode(alternatives);
+		}
+
+		private Node parseConcatenation() {
+			final List<Node> nodes = new ArrayList<>();
+			while (this.index < this.regex.length()) {
+				final char c = this.regex.charAt(this.index);
+				if (c == '|' || c == ')') {
+					break;
+				}
+				if (this.regex.startsWith("\\Q", this.index)) {
+					// like java.util.regex, a quantifier applies to the last quoted
+					// character
+					final List<Node> quoted = this.parseQuote();
+					if (quoted.isEmpty()) {
+						continue;
+					}
+					nodes.addAll(quoted.subList(0, quoted.size() - 1));
+					nodes.add(this.parseQuantifier(quoted.get(quoted.size() - 1)));
+				}
+				else {
+					nodes.add(this.parseQuantifier(this.parseAtom()));
+				}
+			}
+			return nodes.size() == 1 ? nodes.get(0) : new ConcatNode(nodes);
+		}
+
+		private Node parseQuantifier(Node atom) {
+			final int min;
+			final int max;
+			switch (this.peek()) {
+				case '*':
+					this.index++;
+					min = 0;
+					max = RepeatNode.UNBOUNDED;
+					break;
+				case '+':
+					this.index++;
+					min = 1;
+					max = RepeatNode.UNBOUNDED;
+					break;
+				case '?':
+					this.index++;
+					min = 0;
+					max = 1;
+					break;
+				case '{': {
+					this.index++;
+					min = this.parseNumber();
+					if (this.peek() == ',') {
+						this.index++;
+						max = this.peek() == '}' ? RepeatNode.UNBOUNDED : this.parseNumber();
+					}
+					else {
+						max = min;
+					}
+					if (this.peek() != '}') {
+						throw this.syntaxError("Unclosed counted closure");
+					}
+					this.index++;
+					if (max != RepeatNode.UNBOUNDED && max < min) {
+						throw this.syntaxError("Illegal repetition range");
+					}
+					break;
+				}
+				default:
+					return atom;
+			}
+			if (this.peek() == '?') {
+				// a reluctant quantifier matches the same inputs as a greedy one
+				this.index++;
+			}
+			else if (this.peek() == '+') {
+				throw this.unsupported("possessive quantifiers");
+			}
+			return new RepeatNode(atom, min, max);
+		}
+
+		private int parseNumber() {
+			final int start = this.index;
+			long value = 0;
+			while (this.index < this.regex.length() && isAsciiDigit(this.regex.charAt(this.index))) {
+				value = value * 10 + (this.regex.charAt(this.index++) - '0');
+				if (value > Integer.MAX_VALUE) {
+					throw this.syntaxError("Illegal repetition range");
+				}
+			}
+			if (this.index == start) {
+				throw this.syntaxError("Illegal repetition");
+			}
+			return (int) value;
+		}
+
+		/**
+		 * Parses an atom.
+		 */
+		private Node parseAtom() {
+			final int c = this.regex.codePointAt(this.index);
+			switch (c) {
+				case '(':
+					return this.parseGroup();
+				case '[':
+					this.index++;
+					return new CodePointNode(this.parseClass());
+				case '.':
+					this.index++;
+					return new CodePointNode(DOT);
+				case '^':
+					this.index++;
+					return new AssertionNode(BEGIN);
+				case '$':
+					this.index++;
+					return new AssertionNode(END);
+				case '\\':
+					return this.parseEscape();
+				case '*':
+				case '+':
+				case '?':
+					throw this.syntaxError("Dangling meta character '" + (char) c + "'");
+				case '{':
+					throw this.syntaxError("Illegal repetition");
+				default:
+					this.index += Character.charCount(c);
+					return literal(c);
+			}
+		}
+
+		private List<Node> parseQuote() {
+			this.index += 2;
+			int end = this.regex.indexOf("\\E", this.index);
+			if (end < 0) {
+				end = this.regex.length();
+			}
+			final List<Node> nodes = new ArrayList<>();
+			for (int i = this.index; i < end;) {
+				final int codePoint = this.regex.codePointAt(i);
+				nodes.add(literal(codePoint));
+				i += Character.charCount(codePoint);
+			}
+			this.index = Math.min(end + 2, this.regex.length());
+			return nodes;
+		}
+
+		private Node parseGroup() {
+			this.index++;
+			if (this.peek() == '?') {
+				this.index++;
+				final int c = this.peek();
+				if (c == ':') {
+					this.index++;
+				}
+				else if (c == '<' && this.index + 1 < this.regex.length()
+						&& isAsciiLetter(this.regex.charAt(this.index + 1))) {
+					// named groups are only used for capturing, which is irrelevant here
+					this.index++;
+					while (this.index < this.regex.length() && this.regex.charAt(this.index) != '>') {
+						this.index++;
+					}
+					if (this.peek() != '>') {
+						throw this.syntaxError("named capturing group is missing trailing '>'");
+					}
+					this.index++;
+				}
+				else if (c == '=' || c == '!') {
+					throw this.unsupported("lookahead");
+				}
+				else if (c == '<') {
+					throw this.unsupported("lookbehind");
+				}
+				else if (c == '>') {
+					throw this.unsupported("atomic groups");
+				}
+				else {
+					throw this.unsupported("inline flags");
+				}
+			}
+			final Node node = this.parseAlternation();
+			if (this.peek() != ')') {
+				throw this.syntaxError("Unclosed group");
+			}
+			this.index++;
+			return node;
+		}
+
+		private Node parseEscape() {
+			this.index++;
+			if (this.index >= this.regex.length()) {
+				throw this.syntaxError("Unexpected internal error");
+			}
+			final char c = this.regex.charAt(this.index);
+			switch (c) {
+				case 'A':
+					this.index++;
+					return new AssertionNode(BEGIN);
+				case 'z':
+					this.index++;
+					return new AssertionNode(END_OF_INPUT);
+				case 'Z':
+					this.index++;
+					return new AssertionNode(END);
+				case 'b':
+				case 'B':
+					throw this.unsupported("word boundaries");
+				case 'G':
+					throw this.unsupported("\\G");
+				case 'k':
+					throw this.unsupported("backreferences");
+				default:
+					if (c >= '1' && c <= '9') {
+						throw this.unsupported("backreferences");
+					}
+					return new CodePointNode(this.parseClassEscape());
+			}
+		}
+
+		/**
+		 * Parses an escape that denotes a set of code points. The index points to the
+		 * character after the backslash.
+		 */
+		private IntPredicate parseClassEscape() {
+			final char c = this.regex.charAt(this.index);
+			switch (c) {
+				case 'd':
+					this.index++;
+					return DIGIT;
+				case 'D':
+					this.index++;
+					return negate(DIGIT);
+				case 'w':
+					this.index++;
+					return WORD;
+				case 'W':
+					this.index++;
+					return negate(WORD);
+				case 's':
+					this.index++;
+					return SPACE;
+				case 'S':
+					this.index++;
+					return negate(SPACE);
+				case 'p':
+				case 'P':
+					this.index++;
+					return this.parseProperty(c == 'P');
+				default:
+					final int codePoint = this.parseEscapedCodePoint();
+					return literalPredicate(codePoint);
+			}
+		}
+
+		/**
+		 * Parses an escape that denotes a single code point. The index points to the
+		 * character after the backslash.
+		 */
+		private int parseEscapedCodePoint() {
+			final int c = this.regex.codePointAt(this.index);
+			this.index += Character.charCount(c);
+			switch (c) {
+				case 't':
+					return '\t';
+				case 'n':
+					return '\n';
+				case 'r':
+					return '\r';
+				case 'f':
+					return '\f';
+				case 'a':
+					return '\u0007';
+				case 'e':
+					return '\u001B';
+				case '0':
+					return this.parseOctal();
+				case 'x':
+					return this.parseHex();
+				case 'u':
+					return this.parseUnicode();
+				case 'c':
+					if (this.index >= this.regex.length()) {
+						throw this.syntaxError("Illegal control escape sequence");
+					}
+					return this.regex.charAt(this.index++) ^ 64;
+				default:
+					if (isAsciiLetter(c) || isAsciiDigit(c)) {
+						throw this.syntaxError("Illegal/unsupported escape sequence");
+					}
+					return c;
+			}
+		}
+
+		private int parseOctal() {
+			int value = 0;
+			int digits = 0;
+			while (digits < 3 && this.index < this.regex.length()) {
+				final char c = this.regex.charAt(this.index);
+				if (c < '0' || c > '7' || (digits == 2 && value > 037)) {
+					break;
+				}
+				value = value * 8 + (c - '0');
+				this.index++;
+				digits++;
+			}
+			if (digits == 0) {
+				throw this.syntaxError("Illegal octal escape sequence");
+			}
+			return value;
+		}
+
+		private int parseHex() {
+			if (this.peek() == '{') {
+				final int end = this.regex.indexOf('}', this.index);
+				if (end < 0 || end == this.index + 1) {
+					throw this.syntaxError("Unclosed hexadecimal escape sequence");
+				}
+				final int value = this.parseHexDigits(this.index + 1, end);
+				if (!Character.isValidCodePoint(value)) {
+					throw this.syntaxError("Hexadecimal codepoint is too big");
+				}
+				this.index = end + 1;
+				return value;
+			}
+			final int value = this.parseHexDigits(this.index, this.index + 2);
+			this.index += 2;
+			return value;
+		}
+
+		private int parseUnicode() {
+			final int value = this.parseHexDigits(this.index, this.index + 4);
+			this.index += 4;
+			if (Character.isHighSurrogate((char) value) && this.regex.startsWith("\\u", this.index)) {
+				final int low = this.parseHexDigits(this.index + 2, this.index + 6);
+				if (Character.isLowSurrogate((char) low)) {
+					this.index += 6;
+					return Character.toCodePoint((char) value, (char) low);
+				}
+			}
+			return value;
+		}
+
+		private int parseHexDigits(int from, int to) {
+			if (to > this.regex.length()) {
+				throw this.syntaxError("Illegal hexadecimal escape sequence");
+			}
+			int value = 0;
+			for (int i = from; i < to; i++) {
+				final int digit = Character.digit(this.regex.charAt(i), 16);
+				if (digit < 0 || value > 0x10FFFF) {
+					throw this.syntaxError("Illegal hexadecimal escape sequence");
+				}
+				value = value * 16 + digit;
+			}
+			return value;
+		}
+
+		private IntPredicate parseProperty(boolean negated) {
+			final String name;
+			if (this.peek() == '{') {
+				final int end = this.regex.indexOf('}', this.index);
+				if (end < 0) {
+					throw this.syntaxError("Unclosed character family");
+				}
+				name = this.regex.substring(this.index + 1, end);
+				this.index = end + 1;
+			}
+			else if (this.index < this.regex.length()) {
+				name = String.valueOf(this.regex.charAt(this.index++));
+			}
+			else {
+				throw this.syntaxError("Illegal character family");
+			}
+			final IntPredicate predicate = this.property(name);
+			return negated ? negate(predicate) : predicate;
+		}
+
+		private IntPredicate property(String name) {
+			final IntPredicate posix = posixProperty(name);
+			if (posix != null) {
+				return posix;
+			}
+			if (name.startsWith("In")) {
+				final Character.UnicodeBlock block;
+				try {
+					block = Character.UnicodeBlock.forName(name.substring(2));
+				}
+				catch (IllegalArgumentException e) {
+					throw this.syntaxError("Unknown character block name {" + name.substring(2) + "}");
+				}
+				return c -> Character.UnicodeBlock.of(c) == block;
+			}
+			if (name.startsWith("Is")) {
+				final String property = name.substring(2);
+				final IntPredicate binary = binaryProperty(property);
+				if (binary != null) {
+					return binary;
+				}
+				final IntPredicate category = category(property);
+				if (category != null) {
+					return category;
+				}
+				final Character.UnicodeScript script;
+				try {
+					script = Character.UnicodeScript.forName(property);
+				}
+				catch (IllegalArgumentException e) {
+					throw this.syntaxError("Unknown character script name {" + property + "}");
+				}
+				return c -> Character.UnicodeScript.of(c) == script;
+			}
+			final IntPredicate category = category(name);
+			if (category != null) {
+				return category;
+			}
+			throw this.unsupported("the character property {" + name + "}");
+		}
+
+		private static IntPredicate posixProperty(String name) {
+			switch (name) {
+				case "Lower":
+					return new CharClassBuilder().add('a', 'z').build(false);
+				case "Upper":
+					return new CharClassBuilder().add('A', 'Z').build(false);
+				case "ASCII":
+					return new CharClassBuilder().add(0x00, 0x7F).build(false);
+				case "Alpha":
+					return new CharClassBuilder().add('a', 'z').add('A', 'Z').build(false);
+				case "Digit":
+					return DIGIT;
+				case "Alnum":
+					return new CharClassBuilder().add('a', 'z').add('A', 'Z').add('0', '9').build(false);
+				case "Punct":
+					return punct().build(false);
+				case "Graph":
+					return punct().add('a', 'z').add('A', 'Z').add('0', '9').build(false);
+				case "Print":
+					return punct().add('a', 'z').add('A', 'Z').add('0', '9').add(' ', ' ').build(false);
+				case "Blank":
+					return new CharClassBuilder().add(' ', ' ').add('\t', '\t').build(false);
+				case "Cntrl":
+					return new CharClassBuilder().add(0x00, 0x1F).add(0x7F, 0x7F).build(false);
+				case "XDigit":
+					return new CharClassBuilder().add('0', '9').add('a', 'f').add('A', 'F').build(false);
+				case "Space":
+					return SPACE;
+				default:
+					return null;
+			}
+		}
+
+		private static CharClassBuilder punct() {
+			// !"#$%&'()*+,-./ :;<=>?@ [\]^_` {|}~
+			return new CharClassBuilder().add('!', '/').add(':', '@').add('[', '`').add('{', '~');
+		}
+
+		private static IntPredicate binaryProperty(String name) {
+			switch (name.toUpperCase(Locale.ROOT).replace("_", "").replace(" ", "")) {
+				case "ALPHABETIC":
+					return Character::isAlphabetic;
+				case "IDEOGRAPHIC":
+					return Character::isIdeographic;
+				case "LETTER":
+					return Character::isLetter;
+				case "DIGIT":
+					return Character::isDigit;
+				case "UPPERCASE":
+					return Character::isUpperCase;
+				case "LOWERCASE":
+					return Character::isLowerCase;
+				case "TITLECASE":
+					return Character::isTitleCase;
+				case "WHITESPACE":
+					return c -> ((c >= 0x9 && c <= 0xD) || c == 0x85)
+							|| Character.getType(c) == Character.SPACE_SEPARATOR
+							|| Character.getType(c) == Character.LINE_SEPARATOR
+							|| Character.getType(c) == Character.PARAGRAPH_SEPARATOR;
+				default:
+					return null;
+			}
+		}
+
+		private static IntPredicate category(String name) {
+			final int[] types;
+			switch (name) {
+				case "L":
+					types = new int[] { Character.UPPERCASE_LETTER, Character.LOWERCASE_LETTER,
+							Character.TITLECASE_LETTER, Character.MODIFIER_LETTER, Character.OTHER_LETTER };
+					break;
+				case "Lu":
+					types = new int[] { Character.UPPERCASE_LETTER };
+					break;
+				case "Ll":
+					types = new int[] { Character.LOWERCASE_LETTER };
+					break;
+				case "Lt":
+					types = new int[] { Character.TITLECASE_LETTER };
+					break;
+				case "Lm":
+					types = new int[] { Character.MODIFIER_LETTER };
+					break;
+				case "Lo":
+					types = new int[] { Character.OTHER_LETTER };
+					break;
+				case "LC":
+					types = new int[] { Character.UPPERCASE_LETTER, Character.LOWERCASE_LETTER,
+							Character.TITLECASE_LETTER };
+					break;
+				case "M":
+					types = new int[] { Character.NON_SPACING_MARK, Character.COMBINING_SPACING_MARK,
+							Character.ENCLOSING_MARK };
+					break;
+				case "Mn":
+					types = new int[] { Character.NON_SPACING_MARK };
+					break;
+				case "Mc":
+					types = new int[] { Character.COMBINING_SPACING_MARK };
+					break;
+				case "Me":
+					types = new int[] { Character.ENCLOSING_MARK };
+					break;
+				case "N":
+					types = new int[] { Character.DECIMAL_DIGIT_NUMBER, Character.LETTER_NUMBER,
+							Character.OTHER_NUMBER };
+					break;
+				case "Nd":
+					types = new int[] { Character.DECIMAL_DIGIT_NUMBER };
+					break;
+				case "Nl":
+					types = new int[] { Character.LETTER_NUMBER };
+					break;
+				case "No":
+					types = new int[] { Character.OTHER_NUMBER };
+					break;
+				case "P":
+					types = new int[] { Character.CONNECTOR_PUNCTUATION, Character.DASH_PUNCTUATION,
+							Character.START_PUNCTUATION, Character.END_PUNCTUATION, Character.INITIAL_QUOTE_PUNCTUATION,
+							Character.FINAL_QUOTE_PUNCTUATION, Character.OTHER_PUNCTUATION };
+					break;
+				case "Pc":
+					types = new int[] { Character.CONNECTOR_PUNCTUATION };
+					break;
+				case "Pd":
+					types = new int[] { Character.DASH_PUNCTUATION };
+					break;
+				case "Ps":
+					types = new int[] { Character.START_PUNCTUATION };
+					break;
+				case "Pe":
+					types = new int[] { Character.END_PUNCTUATION };
+					break;
+				case "Pi":
+					types = new int[] { Character.INITIAL_QUOTE_PUNCTUATION };
+					break;
+				case "Pf":
+					types = new int[] { Character.FINAL_QUOTE_PUNCTUATION };
+					break;
+				case "Po":
+					types = new int[] { Character.OTHER_PUNCTUATION };
+					break;
+				case "S":
+					types = new int[] { Character.MATH_SYMBOL, Character.CURRENCY_SYMBOL, Character.MODIFIER_SYMBOL,
+							Character.OTHER_SYMBOL };
+					break;
+				case "Sm":
+					types = new int[] { Character.MATH_SYMBOL };
+					break;
+				case "Sc":
+					types = new int[] { Character.CURRENCY_SYMBOL };
+					break;
+				case "Sk":
+					types = new int[] { Character.MODIFIER_SYMBOL };
+					break;
+				case "So":
+					types = new int[] { Character.OTHER_SYMBOL };
+					break;
+				case "Z":
+					types = new int[] { Character.SPACE_SEPARATOR, Character.LINE_SEPARATOR,
+							Character.PARAGRAPH_SEPARATOR };
+					break;
+				case "Zs":
+					types = new int[] { Character.SPACE_SEPARATOR };
+					break;
+				case "Zl":
+					types = new int[] { Character.LINE_SEPARATOR };
+					break;
+				case "Zp":
+					types = new int[] { Character.PARAGRAPH_SEPARATOR };
+					break;
+				case "C":
+					types = new int[] { Character.CONTROL, Character.FORMAT, Character.PRIVATE_USE, Character.SURROGATE,
+							Character.UNASSIGNED };
+					break;
+				case "Cc":
+					types = new int[] { Character.CONTROL };
+					break;
+				case "Cf":
+					types = new int[] { Character.FORMAT };
+					break;
+				case "Co":
+					types = new int[] { Character.PRIVATE_USE };
+					break;
+				case "Cs":
+					types = new int[] { Character.SURROGATE };
+					break;
+				case "Cn":
+					types = new int[] { Character.UNASSIGNED };
+					break;
+				default:
+					return null;
+			}
+			int mask = 0;
+			for (int type : types) {
+				mask |= 1 << type;
+			}
+			final int categories = mask;
+			return c -> (categories & (1 << Character.getType(c))) != 0;
+		}
+
+		private IntPredicate parseClass() {
+			final int start = this.index - 1;
+			boolean negated = false;
+			if (this.peek() == '^') {
+				negated = true;
+				this.index++;
+			}
+			final CharClassBuilder builder = new CharClassBuilder();
+			boolean empty = true;
+			while (true) {
+				if (this.index >= this.regex.length()) {
+					this.index = start;
+					throw this.syntaxError("Unclosed character class");
+				}
+				final int c = this.regex.codePointAt(this.index);
+				if (c == ']' && !empty) {
+					this.index++;
+					break;
+				}
+				if (c == '[') {
+					throw this.unsupported("nested character classes");
+				}
+				if (c == '&' && this.regex.startsWith("&&", this.index)) {
+					throw this.unsupported("character class intersections");
+				}
+				empty = false;
+				final int from;
+				if (c == '\\') {
+					this.index++;
+					if (this.index >= this.regex.length()) {
+						throw this.syntaxError("Unclosed character class");
+					}
+					final char e = this.regex.charAt(this.index);
+					if ("dDwWsSpP".indexOf(e) >= 0) {
+						builder.add(this.parseClassEscape());
+						continue;
+					}
+					if (e == 'Q') {
+						this.index++;
+						int end = this.regex.indexOf("\\E", this.index);
+						if (end < 0) {
+							end = this.regex.length();
+						}
+						for (int i = this.index; i < end;) {
+							final int codePoint = this.regex.codePointAt(i);
+							builder.add(codePoint, codePoint);
+							i += Character.charCount(codePoint);
+						}
+						this.index = Math.min(end + 2, this.regex.length());
+						continue;
+					}
+					if ((e >= '1' && e <= '9') || e == 'k') {
+						throw this.unsupported("backreferences");
+					}
+					if (e == 'b' || e == 'B') {
+						throw this.unsupported("word boundaries");
+					}
+					from = this.parseEscapedCodePoint();
+				}
+				else {
+					this.index += Character.charCount(c);
+					from = c;
+				}
+				if (this.peek() == '-' && this.index + 1 < this.regex.length()
+						&& this.regex.charAt(this.index + 1) != ']') {
+					this.index++;
+					final int to;
+					final int d = this.regex.codePointAt(this.index);
+					if (d == '\\') {
+						this.index++;
+						if (this.index >= this.regex.length()) {
+							throw this.syntaxError("Unclosed character class");
+						}
+						if ("dDwWsSpPQ".indexOf(this.regex.charAt(this.index)) >= 0) {
+							throw this.syntaxError("Illegal character range");
+						}
+						to = this.parseEscapedCodePoint();
+					}
+					else if (d == '[') {
+						throw this.unsupported("nested character classes");
+					}
+					else {
+						this.index += Character.charCount(d);
+						to = d;
+					}
+					if (to < from) {
+						throw this.syntaxError("Illegal character range");
+					}
+					builder.add(from, to);
+				}
+				else {
+					builder.add(from, from);
+				}
+			}
+			return builder.build(negated);
+		}
+
+		private int peek() {
+			return this.index < this.regex.length() ? this.regex.charAt(this.index) : -1;
+		}
+
+		private static Node literal(int codePoint) {
+			return new CodePointNode(literalPredicate(codePoint));
+		}
+
+		private static IntPredicate literalPredicate(int codePoint) {
+			return c -> c == codePoint;
+		}
+
+		private static IntPredicate negate(IntPredicate predicate) {
+			return c -> !predicate.test(c);
+		}
+
+		private static boolean isAsciiDigit(int c) {
+			return c >= '0' && c <= '9';
+		}
+
+		private static boolean isAsciiLetter(int c) {
+			return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+		}
+
+		private PatternSyntaxException syntaxError(String description) {
+			return new PatternSyntaxException(description, this.regex, this.index);
+		}
+
+		private IllegalArgumentException unsupported(String construct) {
+			return new IllegalArgumentException(
+					"The regex uses " + construct + ", which cannot be matched in linear time: " + this.regex);
+		}
+
+	}
+
+}
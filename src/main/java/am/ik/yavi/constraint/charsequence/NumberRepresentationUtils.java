@@ -0,0 +1,297 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+/**
+ * Checks whether a character sequence is a valid representation of a number, accepting
+ * exactly what the corresponding JDK parser accepts (for example
+ * {@link Integer#parseInt(String)} or {@link java.math.BigDecimal#BigDecimal(String)})
+ * but without parsing the value, allocating or throwing {@link NumberFormatException}.
+ *
+ * @since 0.17.0
+ */
+public class NumberRepresentationUtils {
+
+	public static boolean isByte(CharSequence s) {
+		return isIntegral(s, Byte.MIN_VALUE, Byte.MAX_VALUE);
+	}
+
+	public static boolean isShort(CharSequence s) {
+		return isIntegral(s, Short.MIN_VALUE, Short.MAX_VALUE);
+	}
+
+	public static boolean isInteger(CharSequence s) {
+		return isIntegral(s, Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+	public static boolean isLong(CharSequence s) {
+		return isIntegral(s, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	/**
+	 * {@link Float#parseFloat(String)} accepts the same strings as
+	 * {@link Double#parseDouble(String)}, rounding out-of-range values to infinity or
+	 * zero.
+	 */
+	public static boolean isFloat(CharSequence s) {
+		return isDouble(s);
+	}
+
+	public static boolean isDouble(CharSequence s) {
+		// like String#trim()
+		int start = 0;
+		int end = s.length();
+		while (start < end && s.charAt(start) <= ' ') {
+			start++;
+		}
+		while (end > start && s.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		if (start == end) {
+			return false;
+		}
+		int i = start;
+		char c = s.charAt(i);
+		if (c == '-' || c == '+') {
+			if (++i == end) {
+				return false;
+			}
+			c = s.charAt(i);
+		}
+		if (c == 'N') {
+			return regionEquals(s, i, end, "NaN");
+		}
+		if (c == 'I') {
+			return regionEquals(s, i, end, "Infinity");
+		}
+		if (c == '0' && i + 1 < end && (s.charAt(i + 1) == 'x' || s.charAt(i + 1) == 'X')) {
+			return isHexadecimalFloatingPoint(s, i + 2, end);
+		}
+		boolean digits = false;
+		boolean point = false;
+		for (; i < end; i++) {
+			c = s.charAt(i);
+			if (isAsciiDigit(c)) {
+				digits = true;
+			}
+			else if (c == '.' && !point) {
+				point = true;
+			}
+			else {
+				break;
+			}
+		}
+		if (!digits) {
+			return false;
+		}
+		if (i < end && (c == 'e' || c == 'E')) {
+			i = skipSignedAsciiDigits(s, i + 1, end);
+			if (i < 0) {
+				return false;
+			}
+		}
+		return i == end || (i == end - 1 && isFloatingPointSuffix(s.charAt(i)));
+	}
+
+	/**
+	 * {@code 0[xX](\p{XDigit}+\.?|\p{XDigit}*\.\p{XDigit}+)[pP][-+]?\p{Digit}+[fFdD]?},
+	 * starting after {@code 0x}.
+	 */
+	private static boolean isHexadecimalFloatingPoint(CharSequence s, int start, int end) {
+		boolean digits = false;
+		boolean point = false;
+		int i = start;
+		for (; i < end; i++) {
+			final char c = s.charAt(i);
+			if (isAsciiHexDigit(c)) {
+				digits = true;
+			}
+			else if (c == '.' && !point) {
+				point = true;
+			}
+			else {
+				break;
+			}
+		}
+		if (!digits || i == end || (s.charAt(i) != 'p' && s.charAt(i) != 'P')) {
+			return false;
+		}
+		i = skipSignedAsciiDigits(s, i + 1, end);
+		return i == end || (i == end - 1 && isFloatingPointSuffix(s.charAt(i)));
+	}
+
+	/**
+	 * Skips {@code [-+]?[0-9]+}.
+	 * @return the index after the digits, or {@code -1} if there are none
+	 */
+	private static int skipSignedAsciiDigits(CharSequence s, int start, int end) {
+		int i = start;
+		if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+			i++;
+		}
+		final int digitsStart = i;
+		while (i < end && isAsciiDigit(s.charAt(i))) {
+			i++;
+		}
+		return i == digitsStart ? -1 : i;
+	}
+
+	public static boolean isBigInteger(CharSequence s) {
+		final int length = s.length();
+		int i = 0;
+		if (length > 0 && (s.charAt(0) == '-' || s.charAt(0) == '+')) {
+			i++;
+		}
+		if (i == length) {
+			return false;
+		}
+		for (; i < length; i++) {
+			if (Character.digit(s.charAt(i), 10) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public static boolean isBigDecimal(CharSequence s) {
+		final int length = s.length();
+		int i = 0;
+		if (length > 0 && (s.charAt(0) == '-' || s.charAt(0) == '+')) {
+			i++;
+		}
+		boolean digits = false;
+		boolean point = false;
+		long scale = 0;
+		for (; i < length; i++) {
+			final char c = s.charAt(i);
+			if (Character.digit(c, 10) >= 0) {
+				digits = true;
+				if (point) {
+					scale++;
+				}
+			}
+			else if (c == '.' && !point) {
+				point = true;
+			}
+			else {
+				break;
+			}
+		}
+		if (!digits) {
+			return false;
+		}
+		if (i == length) {
+			return true;
+		}
+		final char e = s.charAt(i);
+		if (e != 'e' && e != 'E') {
+			return false;
+		}
+		i++;
+		final boolean negative = i < length && s.charAt(i) == '-';
+		if (negative || (i < length && s.charAt(i) == '+')) {
+			i++;
+		}
+		if (i == length) {
+			return false;
+		}
+		// the exponent must fit in an int, and so must the resulting scale
+		while (length - i > 10 && Character.digit(s.charAt(i), 10) == 0) {
+			i++;
+		}
+		if (length - i > 10) {
+			return false;
+		}
+		long exponent = 0;
+		for (; i < length; i++) {
+			final int digit = Character.digit(s.charAt(i), 10);
+			if (digit < 0) {
+				return false;
+			}
+			exponent = exponent * 10 + digit;
+		}
+		if (negative) {
+			exponent = -exponent;
+		}
+		scale -= exponent;
+		return exponent == (int) exponent && scale == (int) scale;
+	}
+
+	/**
+	 * Same algorithm as {@link Long#parseLong(String)}, accumulating negatively to detect
+	 * overflow, with the given bounds.
+	 */
+	private static boolean isIntegral(CharSequence s, long min, long max) {
+		final int length = s.length();
+		if (length == 0) {
+			return false;
+		}
+		int i = 0;
+		long limit = -max;
+		final char first = s.charAt(0);
+		if (first < '0') {
+			if (first == '-') {
+				limit = min;
+			}
+			else if (first != '+') {
+				return false;
+			}
+			if (length == 1) {
+				return false;
+			}
+			i++;
+		}
+		final long multiplicationLimit = limit / 10;
+		long result = 0;
+		for (; i < length; i++) {
+			final int digit = Character.digit(s.charAt(i), 10);
+			if (digit < 0 || result < multiplicationLimit) {
+				return false;
+			}
+			result *= 10;
+			if (result < limit + digit) {
+				return false;
+			}
+			result -= digit;
+		}
+		return true;
+	}
+
+	private static boolean regionEquals(CharSequence s, int start, int end, String expected) {
+		if (end - start != expected.length()) {
+			return false;
+		}
+		for (int i = 0; i < expected.length(); i++) {
+			if (s.charAt(start + i) != expected.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isFloatingPointSuffix(char c) {
+		return c == 'f' || c == 'F' || c == 'd' || c == 'D';
+	}
+
+	private static boolean isAsciiDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isAsciiHexDigit(char c) {
+		return isAsciiDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * A thread-safe, bounded registry of compiled {@link Pattern}s keyed by the regular
+ * expression and the flags. {@link Pattern} is immutable, so validators that use the same
+ * regular expression share a single compiled instance.
+ *
+ * <p>
+ * {@code CharSequenceConstraint#pattern(String)} compiles its regular expression through
+ * this registry. Patterns that are built dynamically can be obtained from it as well, for
+ * example: <pre>{@code
+ * .constraint(Form::getCode, "code", c -> c.pattern(() -> PatternRegistry.compile(config.codeRegex())))
+ * }</pre>
+ *
+ * @since 0.17.0
+ */
+public final class PatternRegistry {
+
+	static final int MAX_SIZE = 1024;
+
+	private static final Map<Key, Pattern> REGISTRY = new ConcurrentHashMap<>();
+
+	private PatternRegistry() {
+	}
+
+	/**
+	 * Returns the compiled pattern of the given regular expression.
+	 * @param regex regular expression
+	 * @return compiled pattern
+	 * @throws java.util.regex.PatternSyntaxException if the expression's syntax is
+	 * invalid
+	 */
+	public static Pattern compile(String regex) {
+		return compile(regex, 0);
+	}
+
+	/**
+	 * Returns the compiled pattern of the given regular expression and flags.
+	 * @param regex regular expression
+	 * @param flags match flags as defined in {@link Pattern}
+	 * @return compiled pattern
+	 * @throws java.util.regex.PatternSyntaxException if the expression's syntax is
+	 * invalid
+	 */
+	public static Pattern compile(String regex, int flags) {
+		final Key key = new Key(regex, flags);
+		Pattern pattern = REGISTRY.get(key);
+		if (pattern == null) {
+			pattern = Pattern.compile(regex, flags);
+			if (REGISTRY.size() >= MAX_SIZE) {
+				// regular expressions are usually a small fixed set, so simply start over
+				// when the bound is reached rather than tracking recency
+				REGISTRY.clear();
+			}
+			final Pattern registered = REGISTRY.putIfAbsent(key, pattern);
+			if (registered != null) {
+				pattern = registered;
+			}
+		}
+		return pattern;
+	}
+
+	static int size() {
+		return REGISTRY.size();
+	}
+
+	static void clear() {
+		REGISTRY.clear();
+	}
+
+	private static final class Key {
+
+		private final String regex;
+
+		private final int flags;
+
+		private final int hash;
+
+		Key(String regex, int flags) {
+			this.regex = regex;
+			this.flags = flags;
+			this.hash = 31 * regex.hashCode() + flags;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			final Key key = (Key) o;
+			return this.flags == key.flags && this.regex.equals(key.regex);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+	}
+
+}
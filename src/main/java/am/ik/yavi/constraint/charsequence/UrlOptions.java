@@ -0,0 +1,387 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import am.ik.yavi.constraint.inetaddress.InetAddressUtils;
+import am.ik.yavi.jsr305.Nullable;
+
+/**
+ * Options of {@link am.ik.yavi.constraint.CharSequenceConstraint#url()} and the URL
+ * syntax check itself.
+ *
+ * <p>
+ * A URL is checked against the generic syntax of RFC 3986 (scheme, authority with
+ * userinfo, host and port, path, query and fragment) in a single pass. Like an IRI (RFC
+ * 3987), non-ASCII characters are allowed wherever unreserved characters are. By default,
+ * the scheme must be one of those {@link java.net.URL} has built-in handlers for. A
+ * {@code jar} URL must also have the {@code !/} separator after the URL of the archive,
+ * which is checked like any other URL except that it must not be a {@code jar} URL
+ * itself.
+ *
+ * @since 0.17.0
+ */
+public class UrlOptions {
+
+	static final String[] DEFAULT_SCHEMES = { "http", "https", "ftp", "file", "jar", "mailto" };
+
+	/**
+	 * Allowed schemes in lower case, or {@code null} if any scheme is allowed.
+	 */
+	@Nullable
+	private final String[] schemes;
+
+	private final boolean requireHost;
+
+	public UrlOptions(@Nullable Collection<String> schemes, boolean requireHost) {
+		if (schemes == null) {
+			this.schemes = null;
+		}
+		else {
+			final Set<String> lowerCase = new LinkedHashSet<>();
+			for (String scheme : schemes) {
+				lowerCase.add(scheme.toLowerCase(Locale.ROOT));
+			}
+			this.schemes = lowerCase.toArray(new String[0]);
+		}
+		this.requireHost = requireHost;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	public boolean isValid(CharSequence s) {
+		return this.isValid(s, 0, s.length());
+	}
+
+	private boolean isValid(CharSequence s, int start, int length) {
+		if (length == start || !isAlpha(s.charAt(start))) {
+			return false;
+		}
+		int i = start + 1;
+		while (i < length && isSchemeChar(s.charAt(i))) {
+			i++;
+		}
+		if (i == length || s.charAt(i) != ':' || !this.isAllowedScheme(s, start, i)) {
+			return false;
+		}
+		if (i - start == 3 && equalsIgnoreCase("jar", s, start)) {
+			// jar:<url>!/{entry}, where the URL of the archive is checked like any other
+			// but must not be a jar URL itself
+			final int bang = lastIndexOfBangSlash(s, i + 1, length);
+			if (bang < 0 || (bang - i > 4 && equalsIgnoreCase("jar:", s, i + 1)) || !this.isValid(s, i + 1, bang)) {
+				return false;
+			}
+		}
+		i++;
+		if (i + 1 < length && s.charAt(i) == '/' && s.charAt(i + 1) == '/') {
+			i = scanAuthority(s, i + 2, length, this.requireHost);
+			if (i < 0) {
+				return false;
+			}
+		}
+		else if (this.requireHost) {
+			return false;
+		}
+		// path, query and fragment
+		boolean inFragment = false;
+		while (i < length) {
+			final char c = s.charAt(i);
+			if (c == '%') {
+				if (!isPercentEncoded(s, i, length)) {
+					return false;
+				}
+				i += 3;
+				continue;
+			}
+			if (c == '#') {
+				if (inFragment) {
+					return false;
+				}
+				inFragment = true;
+			}
+			else if (c != '/' && c != '?' && !isPchar(c)) {
+				return false;
+			}
+			i++;
+		}
+		return true;
+	}
+
+	private boolean isAllowedScheme(CharSequence s, int start, int end) {
+		if (this.schemes == null) {
+			return true;
+		}
+		for (String scheme : this.schemes) {
+			if (scheme.length() == end - start && equalsIgnoreCase(scheme, s, start)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean equalsIgnoreCase(String lowerCase, CharSequence s, int start) {
+		for (int i = 0; i < lowerCase.length(); i++) {
+			final char c = s.charAt(start + i);
+			if (lowerCase.charAt(i) != ((c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Scans {@code authority = [ userinfo "@" ] host [ ":" port ]} starting at the given
+	 * index.
+	 * @return the index after the authority, or {@code -1} if it is invalid
+	 */
+	private static int scanAuthority(CharSequence s, int start, int length, boolean requireHost) {
+		int end = start;
+		int at = -1;
+		while (end < length) {
+			final char c = s.charAt(end);
+			if (c == '/' || c == '?' || c == '#') {
+				break;
+			}
+			if (c == '@' && at < 0) {
+				at = end;
+			}
+			end++;
+		}
+		int i = start;
+		if (at >= 0) {
+			for (; i < at; i++) {
+				final char c = s.charAt(i);
+				if (c == '%') {
+					if (!isPercentEncoded(s, i, at)) {
+						return -1;
+					}
+					i += 2;
+				}
+				else if (c != ':' && !isUnreserved(c) && !isSubDelim(c)) {
+					return -1;
+				}
+			}
+			i++;
+		}
+		final int hostStart = i;
+		if (i < end && s.charAt(i) == '[') {
+			final int close = indexOf(s, ']', i, end);
+			if (close < 0 || !isIpLiteral(s, i + 1, close)) {
+				return -1;
+			}
+			i = close + 1;
+		}
+		else {
+			while (i < end && s.charAt(i) != ':') {
+				final char c = s.charAt(i);
+				if (c == '%') {
+					if (!isPercentEncoded(s, i, end)) {
+						return -1;
+					}
+					i += 2;
+				}
+				else if (!isUnreserved(c) && !isSubDelim(c)) {
+					return -1;
+				}
+				i++;
+			}
+		}
+		if (requireHost && i == hostStart) {
+			return -1;
+		}
+		if (i < end) {
+			if (s.charAt(i) != ':') {
+				return -1;
+			}
+			for (i++; i < end; i++) {
+				if (!isDigit(s.charAt(i))) {
+					return -1;
+				}
+			}
+		}
+		return end;
+	}
+
+	/**
+	 * {@code IP-literal = "[" ( IPv6address / IPvFuture ) "]"}, without the brackets.
+	 */
+	private static boolean isIpLiteral(CharSequence s, int start, int end) {
+		if (start == end) {
+			return false;
+		}
+		final char first = s.charAt(start);
+		if (first == 'v' || first == 'V') {
+			// IPvFuture = "v" 1*HEXDIG "." 1*( unreserved / sub-delims / ":" )
+			int i = start + 1;
+			while (i < end && Character.digit(s.charAt(i), 16) >= 0 && s.charAt(i) < 0x80) {
+				i++;
+			}
+			if (i == start + 1 || i == end || s.charAt(i) != '.' || i + 1 == end) {
+				return false;
+			}
+			for (i++; i < end; i++) {
+				final char c = s.charAt(i);
+				if (c != ':' && !isUnreserved(c) && !isSubDelim(c)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		for (int i = start; i < end; i++) {
+			final char c = s.charAt(i);
+			if (c != ':' && c != '.' && !(c < 0x80 && Character.digit(c, 16) >= 0)) {
+				// excludes the zone ids and prefix lengths InetAddressUtils accepts
+				return false;
+			}
+		}
+		return InetAddressUtils.isIpv6(s, start, end);
+	}
+
+	private static int lastIndexOfBangSlash(CharSequence s, int start, int end) {
+		for (int i = end - 2; i >= start; i--) {
+			if (s.charAt(i) == '!' && s.charAt(i + 1) == '/') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static int indexOf(CharSequence s, char c, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (s.charAt(i) == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean isPercentEncoded(CharSequence s, int i, int end) {
+		return i + 2 < end && isHexDigit(s.charAt(i + 1)) && isHexDigit(s.charAt(i + 2));
+	}
+
+	private static boolean isPchar(char c) {
+		return isUnreserved(c) || isSubDelim(c) || c == ':' || c == '@';
+	}
+
+	/**
+	 * {@code unreserved = ALPHA / DIGIT / "-" / "." / "_" / "~"}, plus the non-ASCII
+	 * characters an IRI allows.
+	 */
+	private static boolean isUnreserved(char c) {
+		return isAlpha(c) || isDigit(c) || c == '-' || c == '.' || c == '_' || c == '~' || c >= 0xA0;
+	}
+
+	private static boolean isSubDelim(char c) {
+		switch (c) {
+			case '!':
+			case '$':
+			case '&':
+			case '\'':
+			case '(':
+			case ')':
+			case '*':
+			case '+':
+			case ',':
+			case ';':
+			case '=':
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private static boolean isSchemeChar(char c) {
+		return isAlpha(c) || isDigit(c) || c == '+' || c == '-' || c == '.';
+	}
+
+	private static boolean isAlpha(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isHexDigit(char c) {
+		return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+	}
+
+	public static class Builder {
+
+		@Nullable
+		private Set<String> schemes;
+
+		private boolean requireHost;
+
+		Builder() {
+			this.defaultSchemes();
+		}
+
+		public UrlOptions build() {
+			return new UrlOptions(this.schemes, this.requireHost);
+		}
+
+		/**
+		 * Allows only the given schemes, compared case-insensitively.
+		 */
+		public Builder schemes(String... schemes) {
+			this.schemes = new LinkedHashSet<>();
+			for (String scheme : schemes) {
+				this.schemes.add(scheme);
+			}
+			return this;
+		}
+
+		/**
+		 * Allows only {@code http} and {@code https}.
+		 */
+		public Builder httpOrHttps() {
+			return this.schemes("http", "https");
+		}
+
+		/**
+		 * Allows the schemes {@link java.net.URL} has built-in handlers for, which is the
+		 * default.
+		 */
+		public Builder defaultSchemes() {
+			return this.schemes(DEFAULT_SCHEMES);
+		}
+
+		/**
+		 * Allows any syntactically valid scheme.
+		 */
+		public Builder anyScheme() {
+			this.schemes = null;
+			return this;
+		}
+
+		/**
+		 * Requires an authority with a non-empty host, as in {@code https://example.com}.
+		 */
+		public Builder requireHost() {
+			this.requireHost = true;
+			return this;
+		}
+
+	}
+
+}
@@ -25,11 +25,38 @@ public class VariantOptions {
 
 	private final StandardizedVariationSequence svs;
 
+	private static final int SVS = 1;
+
+	private static final int IVS = 1 << 1;
+
+	private static final int FVS = 1 << 2;
+
+	private static final int SVS_FIRST = first(StandardizedVariationSequence.RANGE);
+
+	private static final int SVS_LAST = last(StandardizedVariationSequence.RANGE);
+
+	private static final int IVS_FIRST = first(IdeographicVariationSequence.RANGE);
+
+	private static final int IVS_LAST = last(IdeographicVariationSequence.RANGE);
+
+	private static final int FVS_FIRST = first(MongolianFreeVariationSelector.RANGE);
+
+	private static final int FVS_LAST = last(MongolianFreeVariationSelector.RANGE);
+
+	private static final int LOWEST = Math.min(SVS_FIRST, Math.min(IVS_FIRST, FVS_FIRST));
+
+	/**
+	 * Bitmap of the ignored selector ranges, computed once so that checking a code point
+	 * costs at most a few comparisons.
+	 */
+	private final int ignoredRanges;
+
 	public VariantOptions(StandardizedVariationSequence svs, IdeographicVariationSequence ivs,
 			MongolianFreeVariationSelector fvs) {
 		this.svs = svs;
 		this.ivs = ivs;
 		this.fvs = fvs;
+		this.ignoredRanges = (svs.ignore() ? SVS : 0) | (ivs.ignore() ? IVS : 0) | (fvs.ignore() ? FVS : 0);
 	}
 
 	public static Builder builder() {
@@ -37,7 +64,36 @@ public class VariantOptions {
 	}
 
 	private boolean isNotIgnoreAll() {
-		return !this.svs.ignore() && !this.fvs.ignore() && !this.ivs.ignore();
+		return this.ignoredRanges == 0;
+	}
+
+	/**
+	 * @param codePoint code point to check
+	 * @return whether the given code point is a variation selector ignored by this
+	 * options
+	 * @since 0.17.0
+	 */
+	public boolean isIgnored(int codePoint) {
+		if (codePoint < LOWEST || this.ignoredRanges == 0) {
+			return false;
+		}
+		return ((this.ignoredRanges & FVS) != 0 && codePoint >= FVS_FIRST && codePoint <= FVS_LAST)
+				|| ((this.ignoredRanges & SVS) != 0 && codePoint >= SVS_FIRST && codePoint <= SVS_LAST)
+				|| ((this.ignoredRanges & IVS) != 0 && codePoint >= IVS_FIRST && codePoint <= IVS_LAST);
+	}
+
+	/**
+	 * @param range range of code points in the form of {@code first-last}
+	 */
+	private static int first(String range) {
+		return range.codePointAt(0);
+	}
+
+	/**
+	 * @param range range of code points in the form of {@code first-last}
+	 */
+	private static int last(String range) {
+		return range.codePointAt(range.indexOf('-') + 1);
 	}
 
 	public String ignored(@Nullable String s) {
@@ -47,18 +103,56 @@ public class VariantOptions {
 		if (this.isNotIgnoreAll()) {
 			return s;
 		}
-		StringBuilder regex = new StringBuilder("[");
-		if (this.svs.ignore()) {
-			regex.append(StandardizedVariationSequence.RANGE);
+		int i = 0;
+		while (i < s.length() && !this.isIgnored(s.codePointAt(i))) {
+			i += Character.charCount(s.codePointAt(i));
+		}
+		if (i == s.length()) {
+			return s;
+		}
+		final StringBuilder sb = new StringBuilder(s.length()).append(s, 0, i);
+		while (i < s.length()) {
+			final int codePoint = s.codePointAt(i);
+			if (!this.isIgnored(codePoint)) {
+				sb.appendCodePoint(codePoint);
+			}
+			i += Character.charCount(codePoint);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the number of code points of {@link #ignored(String)} without creating the
+	 * stripped string.
+	 * @param s the string to count
+	 * @return the number of code points except the ignored variation selectors
+	 * @since 0.17.0
+	 */
+	public int codePointCount(@Nullable CharSequence s) {
+		if (s == null) {
+			return 0;
 		}
-		if (this.ivs.ignore()) {
-			regex.append(IdeographicVariationSequence.RANGE);
+		if (this.isNotIgnoreAll()) {
+			return Character.codePointCount(s, 0, s.length());
 		}
-		if (this.fvs.ignore()) {
-			regex.append(MongolianFreeVariationSelector.RANGE);
+		int count = 0;
+		boolean highSurrogate = false;
+		int i = 0;
+		while (i < s.length()) {
+			final int codePoint = Character.codePointAt(s, i);
+			i += Character.charCount(codePoint);
+			if (this.isIgnored(codePoint)) {
+				continue;
+			}
+			// an unpaired high surrogate followed by an unpaired low surrogate becomes a
+			// pair once the selector between them is removed
+			final boolean bmp = Character.isBmpCodePoint(codePoint);
+			if (!(highSurrogate && bmp && Character.isLowSurrogate((char) codePoint))) {
+				count++;
+			}
+			highSurrogate = bmp && Character.isHighSurrogate((char) codePoint);
 		}
-		regex.append("]");
-		return regex.length() == 2 ? s : s.replaceAll(regex.toString(), "");
+		return count;
 	}
 
 	public static class Builder {
@@ -0,0 +1,342 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.inetaddress;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.Collection;
+
+import am.ik.yavi.core.CustomConstraint;
+import am.ik.yavi.core.ViolationMessage;
+import am.ik.yavi.jsr305.Nullable;
+
+/**
+ * A set of IPv4 and IPv6 address ranges in CIDR notation such as {@code 10.0.0.0/8} or
+ * {@code 2001:db8::/32}.
+ *
+ * <p>
+ * The ranges are compiled into a binary trie per address family, so a membership test
+ * walks at most 32 (IPv4) or 128 (IPv6) bits regardless of how many ranges the set holds.
+ * A range without a prefix length is a single address, and the host bits of a range are
+ * ignored. IPv4 addresses do not match IPv6 ranges and vice versa, except that an
+ * IPv4-mapped IPv6 address such as {@code ::ffff:10.0.0.1} is in the IPv4 ranges that
+ * contain its low 32 bits, as well as in the IPv6 ranges that contain it. This way a
+ * mapped address cannot get past an IPv4 range, and the textual and the
+ * {@link InetAddress} form of an address give the same answer even though the JDK
+ * resolves a mapped address to an {@link java.net.Inet4Address}.
+ *
+ * @since 0.17.0
+ */
+public final class CidrSet {
+
+	/**
+	 * Scratch groups of the IPv6 address being looked up.
+	 */
+	private static final ThreadLocal<int[]> GROUPS = ThreadLocal.withInitial(() -> new int[8]);
+
+	private final Trie ipv4 = new Trie();
+
+	private final Trie ipv6 = new Trie();
+
+	private final int size;
+
+	private CidrSet(Collection<? extends CharSequence> cidrs) {
+		final int[] groups = new int[8];
+		for (CharSequence cidr : cidrs) {
+			this.add(cidr, groups);
+		}
+		this.size = cidrs.size();
+	}
+
+	/**
+	 * Compiles the given ranges.
+	 * @param cidrs ranges in CIDR notation or single addresses
+	 * @return compiled set
+	 * @throws IllegalArgumentException if a range is malformed
+	 */
+	public static CidrSet of(Collection<? extends CharSequence> cidrs) {
+		return new CidrSet(cidrs);
+	}
+
+	/**
+	 * Compiles the given ranges.
+	 * @param cidrs ranges in CIDR notation or single addresses
+	 * @return compiled set
+	 * @throws IllegalArgumentException if a range is malformed
+	 */
+	public static CidrSet of(CharSequence... cidrs) {
+		return new CidrSet(Arrays.asList(cidrs));
+	}
+
+	/**
+	 * Returns whether the address is in one of the ranges. A value that is not an IPv4 or
+	 * IPv6 address is in none of them. Addresses are parsed exactly as
+	 * {@link InetAddressUtils#isIpv4(CharSequence)} and
+	 * {@link InetAddressUtils#isIpv6(CharSequence)} accept them, so the two cannot
+	 * disagree on a value. An IPv6 value with a prefix size is a range rather than an
+	 * address and is in none of them.
+	 * @param address textual IPv4 or IPv6 address, optionally with a zone id
+	 * @return whether the address is in one of the ranges
+	 */
+	public boolean contains(CharSequence address) {
+		final int length = address.length();
+		final long ipv4 = InetAddressUtils.ipv4(address, 0, length);
+		if (ipv4 >= 0) {
+			return this.ipv4.contains((int) ipv4);
+		}
+		for (int i = 0; i < length; i++) {
+			if (address.charAt(i) == '/') {
+				return false;
+			}
+		}
+		final int[] groups = GROUPS.get();
+		if (!InetAddressUtils.parseIpv6(address, 0, length, groups)) {
+			return false;
+		}
+		if (groups[0] == 0 && groups[1] == 0 && groups[2] == 0 && groups[3] == 0 && groups[4] == 0
+				&& groups[5] == 0xffff && this.ipv4.contains((groups[6] << 16) | groups[7])) {
+			return true;
+		}
+		return this.ipv6.contains(groups);
+	}
+
+	/**
+	 * Returns whether the address is in one of the ranges.
+	 * @param address address
+	 * @return whether the address is in one of the ranges
+	 */
+	public boolean contains(InetAddress address) {
+		final byte[] bytes = address.getAddress();
+		if (bytes.length == 4) {
+			return this.ipv4.contains(ipv4(bytes, 0));
+		}
+		if (isIpv4Mapped(bytes) && this.ipv4.contains(ipv4(bytes, 12))) {
+			return true;
+		}
+		return this.ipv6.contains(bytes);
+	}
+
+	/**
+	 * Returns a constraint for {@link InetAddress} values that must be in one of the
+	 * ranges, for example {@code c -> c.predicate(cidrs.inCidr())}.
+	 * @return constraint
+	 */
+	public CustomConstraint<InetAddress> inCidr() {
+		return new CidrConstraint(this, ViolationMessage.Default.INET_ADDRESS_IN_CIDR, true);
+	}
+
+	/**
+	 * Returns a constraint for {@link InetAddress} values that must not be in any of the
+	 * ranges.
+	 * @return constraint
+	 */
+	public CustomConstraint<InetAddress> notInCidr() {
+		return new CidrConstraint(this, ViolationMessage.Default.INET_ADDRESS_NOT_IN_CIDR, false);
+	}
+
+	/**
+	 * Returns the number of ranges the set was compiled from.
+	 * @return the number of ranges
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public String toString() {
+		return "CidrSet{size=" + this.size + "}";
+	}
+
+	private static boolean isIpv4Mapped(byte[] bytes) {
+		for (int i = 0; i < 10; i++) {
+			if (bytes[i] != 0) {
+				return false;
+			}
+		}
+		return bytes[10] == (byte) 0xff && bytes[11] == (byte) 0xff;
+	}
+
+	private static int ipv4(byte[] bytes, int offset) {
+		return ((bytes[offset] & 0xff) << 24) | ((bytes[offset + 1] & 0xff) << 16) | ((bytes[offset + 2] & 0xff) << 8)
+				| (bytes[offset + 3] & 0xff);
+	}
+
+	private void add(CharSequence cidr, int[] groups) {
+		final int length = cidr.length();
+		int slash = -1;
+		for (int i = 0; i < length; i++) {
+			if (cidr.charAt(i) == '/') {
+				slash = i;
+				break;
+			}
+		}
+		final int end = slash < 0 ? length : slash;
+		final long ipv4 = InetAddressUtils.ipv4(cidr, 0, end);
+		if (ipv4 >= 0) {
+			this.ipv4.add((int) ipv4, prefixLength(cidr, slash, 32));
+			return;
+		}
+		if (end > 0 && InetAddressUtils.parseIpv6(cidr, 0, end, groups)) {
+			this.ipv6.add(groups, prefixLength(cidr, slash, 128));
+			return;
+		}
+		throw new IllegalArgumentException("Invalid CIDR: " + cidr);
+	}
+
+	private static int prefixLength(CharSequence cidr, int slash, int max) {
+		if (slash < 0) {
+			return max;
+		}
+		final int length = cidr.length();
+		if (slash + 1 == length || length - slash > 4) {
+			throw new IllegalArgumentException("Invalid CIDR: " + cidr);
+		}
+		int prefixLength = 0;
+		for (int i = slash + 1; i < length; i++) {
+			final char c = cidr.charAt(i);
+			if (c < '0' || c > '9') {
+				throw new IllegalArgumentException("Invalid CIDR: " + cidr);
+			}
+			prefixLength = prefixLength * 10 + (c - '0');
+		}
+		if (prefixLength > max) {
+			throw new IllegalArgumentException("Invalid CIDR: " + cidr);
+		}
+		return prefixLength;
+	}
+
+	/**
+	 * A binary trie whose nodes are indices into the child arrays. Node {@code 0} is the
+	 * root, so a child index of {@code 0} means no child.
+	 */
+	static final class Trie {
+
+		private int[] zero = new int[64];
+
+		private int[] one = new int[64];
+
+		private boolean[] terminal = new boolean[64];
+
+		private int size = 1;
+
+		void add(int address, int prefixLength) {
+			int node = 0;
+			for (int bit = 0; bit < prefixLength && !this.terminal[node]; bit++) {
+				node = this.childOrCreate(node, (address >>> (31 - bit)) & 1);
+			}
+			this.terminal[node] = true;
+		}
+
+		void add(int[] groups, int prefixLength) {
+			int node = 0;
+			for (int bit = 0; bit < prefixLength && !this.terminal[node]; bit++) {
+				node = this.childOrCreate(node, (groups[bit >> 4] >>> (15 - (bit & 15))) & 1);
+			}
+			this.terminal[node] = true;
+		}
+
+		boolean contains(int address) {
+			int node = 0;
+			for (int bit = 0; !this.terminal[node]; bit++) {
+				if (bit == 32) {
+					return false;
+				}
+				node = ((address >>> (31 - bit)) & 1) == 0 ? this.zero[node] : this.one[node];
+				if (node == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		boolean contains(int[] groups) {
+			int node = 0;
+			for (int bit = 0; !this.terminal[node]; bit++) {
+				if (bit == 128) {
+					return false;
+				}
+				node = ((groups[bit >> 4] >>> (15 - (bit & 15))) & 1) == 0 ? this.zero[node] : this.one[node];
+				if (node == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		boolean contains(byte[] address) {
+			int node = 0;
+			for (int bit = 0; !this.terminal[node]; bit++) {
+				if (bit == 128) {
+					return false;
+				}
+				node = ((address[bit >> 3] >>> (7 - (bit & 7))) & 1) == 0 ? this.zero[node] : this.one[node];
+				if (node == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private int childOrCreate(int node, int bit) {
+			final int[] children = bit == 0 ? this.zero : this.one;
+			if (children[node] != 0) {
+				return children[node];
+			}
+			if (this.size == this.terminal.length) {
+				final int capacity = this.size * 2;
+				this.zero = Arrays.copyOf(this.zero, capacity);
+				this.one = Arrays.copyOf(this.one, capacity);
+				this.terminal = Arrays.copyOf(this.terminal, capacity);
+			}
+			final int child = this.size++;
+			(bit == 0 ? this.zero : this.one)[node] = child;
+			return child;
+		}
+
+	}
+
+	static final class CidrConstraint implements CustomConstraint<InetAddress> {
+
+		private final CidrSet cidrs;
+
+		private final ViolationMessage message;
+
+		private final boolean in;
+
+		CidrConstraint(CidrSet cidrs, ViolationMessage message, boolean in) {
+			this.cidrs = cidrs;
+			this.message = message;
+			this.in = in;
+		}
+
+		@Override
+		public boolean test(@Nullable InetAddress address) {
+			return address != null && this.cidrs.contains(address) == this.in;
+		}
+
+		@Override
+		public String messageKey() {
+			return this.message.messageKey();
+		}
+
+		@Override
+		public String defaultMessageFormat() {
+			return this.message.defaultMessageFormat();
+		}
+
+	}
+
+}
@@ -15,10 +15,9 @@
  */
 package am.ik.yavi.constraint.inetaddress;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
-import java.util.regex.Pattern;
+
+import am.ik.yavi.jsr305.Nullable;
 
 /**
  * @since 0.7.0
@@ -27,12 +26,8 @@ public class InetAddressUtils {
 
 	public static final String IPV4_REGEX = "^(?:(?:25[0-5]|2[0-4][0-9]|1[0-9][0-9]|[1-9]?[0-9])\\.){3}(?:25[0-5]|2[0-4][0-9]|1[0-9][0-9]|[1-9]?[0-9])$";
 
-	private static final Pattern IPV4_PATTERN = Pattern.compile(IPV4_REGEX);
-
 	private static final int MAX_BYTE = 128;
 
-	private static final int MAX_UNSIGNED_SHORT = 0xffff;
-
 	private static final int BASE_16 = 16;
 
 	// Max number of hex groups (separated by :) in an IPV6 address
@@ -42,101 +37,264 @@ public class InetAddressUtils {
 	private static final int IPV6_MAX_HEX_DIGITS_PER_GROUP = 4;
 
 	public static boolean isIpv4(String s) {
-		return IPV4_PATTERN.matcher(s).matches();
+		return isIpv4((CharSequence) s);
+	}
+
+	/**
+	 * Same as {@link #isIpv4(String)}, which accepts exactly what {@link #IPV4_REGEX}
+	 * matches, without converting the value to a string.
+	 * @since 0.17.0
+	 */
+	public static boolean isIpv4(CharSequence s) {
+		return isIpv4(s, 0, s.length());
 	}
 
 	// https://github.com/apache/commons-validator/blob/master/src/main/java/org/apache/commons/validator/routines/InetAddressValidator.java
 	public static boolean isIpv6(String s) {
-		// remove prefix size. This will appear after the zone id (if any)
-		final String[] parts = s.split("/", -1);
-		if (parts.length > 2) {
-			return false; // can only have one prefix specifier
+		return isIpv6((CharSequence) s);
+	}
+
+	/**
+	 * Same as {@link #isIpv6(String)} without converting the value to a string.
+	 * @since 0.17.0
+	 */
+	public static boolean isIpv6(CharSequence s) {
+		return isIpv6(s, 0, s.length());
+	}
+
+	/**
+	 * Same as {@link #isIpv6(CharSequence)} for the characters between {@code start}
+	 * (inclusive) and {@code end} (exclusive), so that an address embedded in a larger
+	 * value can be checked without copying it.
+	 * @since 0.17.0
+	 */
+	public static boolean isIpv6(CharSequence s, int start, int end) {
+		return parseIpv6(s, start, end, null);
+	}
+
+	/**
+	 * Parses what {@link #isIpv6(CharSequence, int, int)} accepts into eight 16-bit
+	 * groups, ignoring the zone id and the prefix size, so that every consumer interprets
+	 * an address the same way.
+	 * @param groups array of length 8 to store the groups, or {@code null} to only check
+	 * the syntax
+	 * @return whether the value is an IPv6 address
+	 */
+	static boolean parseIpv6(CharSequence s, int start, int end, @Nullable int[] groups) {
+		int slash = -1;
+		int percent = -1;
+		for (int i = start; i < end; i++) {
+			final char c = s.charAt(i);
+			if (c == '/') {
+				if (slash >= 0) {
+					return false; // can only have one prefix specifier
+				}
+				slash = i;
+			}
+			else if (c == '%' && slash < 0) {
+				if (percent >= 0) {
+					return false;
+				}
+				percent = i;
+			}
 		}
-		if (parts.length == 2) {
-			if (!parts[1].matches("\\d{1,3}")) {
-				return false; // not a valid number
+		int addressEnd = end;
+		if (slash >= 0) {
+			// prefix size, which appears after the zone id (if any)
+			if (!isPrefixSize(s, slash + 1, end)) {
+				return false;
 			}
-			final int bits = Integer.parseInt(parts[1]); // cannot fail because of RE
-															// check
-			if (bits < 0 || bits > MAX_BYTE) {
-				return false; // out of range
+			addressEnd = slash;
+		}
+		if (percent >= 0) {
+			// The id syntax is implementation independent, but it presumably cannot
+			// allow: whitespace, '/' or '%'
+			if (!isZoneId(s, percent + 1, addressEnd)) {
+				return false;
 			}
+			addressEnd = percent;
 		}
-		// remove zone-id
-		final String[] partsZoneIdRemoved = parts[0].split("%", -1);
-		if (partsZoneIdRemoved.length > 2) {
+		return isIpv6Address(s, start, addressEnd, groups);
+	}
+
+	private static boolean isPrefixSize(CharSequence s, int start, int end) {
+		final int digits = end - start;
+		if (digits < 1 || digits > 3) {
 			return false;
 		}
-		// The id syntax is implementation independent, but it presumably cannot allow:
-		// whitespace, '/' or '%'
-		if ((partsZoneIdRemoved.length == 2) && !partsZoneIdRemoved[1].matches("[^\\s/%]+")) {
-			return false; // invalid id
+		int bits = 0;
+		for (int i = start; i < end; i++) {
+			final char c = s.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+			bits = bits * 10 + (c - '0');
 		}
+		return bits <= MAX_BYTE;
+	}
 
-		final String firstPart = partsZoneIdRemoved[0];
-		final boolean containsCompressedZeroes = firstPart.contains("::");
-		if (containsCompressedZeroes && (firstPart.indexOf("::") != firstPart.lastIndexOf("::"))) {
+	private static boolean isZoneId(CharSequence s, int start, int end) {
+		if (start == end) {
 			return false;
 		}
-		if ((firstPart.startsWith(":") && !firstPart.startsWith("::"))
-				|| (firstPart.endsWith(":") && !firstPart.endsWith("::"))) {
+		for (int i = start; i < end; i++) {
+			final char c = s.charAt(i);
+			if (c == ' ' || (c >= '\t' && c <= '\r')) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Scans hex groups separated by {@code :}, with at most one {@code ::} and an
+	 * optional IPv4 address in place of the last two groups.
+	 */
+	private static boolean isIpv6Address(CharSequence s, int start, int end, @Nullable int[] groups) {
+		if (end == start) {
 			return false;
 		}
-		String[] octets = firstPart.split(":");
-		if (containsCompressedZeroes) {
-			final List<String> octetList = new ArrayList<>(Arrays.asList(octets));
-			if (firstPart.endsWith("::")) {
-				// String.split() drops ending empty segments
-				octetList.add("");
+		int compressedAt = -1;
+		int i = start;
+		if (s.charAt(i) == ':') {
+			if (end - start < 2 || s.charAt(i + 1) != ':') {
+				return false;
 			}
-			else if (firstPart.startsWith("::") && !octetList.isEmpty()) {
-				octetList.remove(0);
+			compressedAt = 0;
+			i += 2;
+			if (i < end && s.charAt(i) == ':') {
+				return false;
 			}
-			octets = octetList.toArray(new String[0]);
-		}
-		if (octets.length > IPV6_MAX_HEX_GROUPS) {
-			return false;
 		}
 		int validOctets = 0;
-		int emptyOctets = 0; // consecutive empty chunks
-		for (int index = 0; index < octets.length; index++) {
-			String octet = octets[index];
-			if (octet.isEmpty()) {
-				emptyOctets++;
-				if (emptyOctets > 1) {
-					return false;
+		while (i < end) {
+			final int chunkStart = i;
+			boolean dotted = false;
+			char c;
+			while (i < end && (c = s.charAt(i)) != ':') {
+				if (c == '.') {
+					dotted = true;
 				}
+				i++;
 			}
-			else {
-				emptyOctets = 0;
-				// Is last chunk an IPv4 address?
-				if (index == octets.length - 1 && octet.contains(".")) {
-					if (!isIpv4(octet)) {
-						return false;
-					}
-					validOctets += 2;
-					continue;
-				}
-				if (octet.length() > IPV6_MAX_HEX_DIGITS_PER_GROUP) {
+			if (dotted) {
+				// only the last chunk can be an IPv4 address
+				final long ipv4 = i == end ? ipv4(s, chunkStart, i) : -1;
+				if (ipv4 < 0) {
 					return false;
 				}
-				int octetInt = 0;
-				try {
-					octetInt = Integer.parseInt(octet, BASE_16);
+				if (groups != null && validOctets <= IPV6_MAX_HEX_GROUPS - 2) {
+					groups[validOctets] = (int) (ipv4 >>> 16);
+					groups[validOctets + 1] = (int) (ipv4 & 0xffff);
 				}
-				catch (NumberFormatException e) {
+				validOctets += 2;
+				break;
+			}
+			final int group = hexGroup(s, chunkStart, i);
+			if (group < 0) {
+				return false;
+			}
+			if (groups != null && validOctets < IPV6_MAX_HEX_GROUPS) {
+				groups[validOctets] = group;
+			}
+			validOctets++;
+			if (i == end) {
+				break;
+			}
+			i++;
+			if (i == end) {
+				return false; // ends with a single ':'
+			}
+			if (s.charAt(i) == ':') {
+				if (compressedAt >= 0) {
 					return false;
 				}
-				if (octetInt < 0 || octetInt > MAX_UNSIGNED_SHORT) {
+				compressedAt = validOctets;
+				i++;
+				if (i < end && s.charAt(i) == ':') {
 					return false;
 				}
 			}
+		}
+		final int count = validOctets;
+		if (compressedAt >= 0) {
 			validOctets++;
 		}
-		if (validOctets > IPV6_MAX_HEX_GROUPS || (validOctets < IPV6_MAX_HEX_GROUPS && !containsCompressedZeroes)) {
+		if (validOctets > IPV6_MAX_HEX_GROUPS || (validOctets < IPV6_MAX_HEX_GROUPS && compressedAt < 0)) {
 			return false;
 		}
+		if (groups != null && compressedAt >= 0) {
+			// move the groups after "::" to the end
+			final int tail = count - compressedAt;
+			System.arraycopy(groups, compressedAt, groups, IPV6_MAX_HEX_GROUPS - tail, tail);
+			Arrays.fill(groups, compressedAt, IPV6_MAX_HEX_GROUPS - tail, 0);
+		}
 		return true;
 	}
 
+	/**
+	 * Returns the value of what {@code Integer.parseInt(group, 16)} parses to a value
+	 * between {@code 0} and {@code 0xffff}, including a leading sign, or {@code -1}.
+	 */
+	private static int hexGroup(CharSequence s, int start, int end) {
+		if (end - start > IPV6_MAX_HEX_DIGITS_PER_GROUP) {
+			return -1;
+		}
+		int i = start;
+		final char first = s.charAt(i);
+		final boolean negative = first == '-';
+		if (negative || first == '+') {
+			i++;
+			if (i == end) {
+				return -1;
+			}
+		}
+		int value = 0;
+		for (; i < end; i++) {
+			final int digit = Character.digit(s.charAt(i), BASE_16);
+			if (digit < 0) {
+				return -1;
+			}
+			value = value * BASE_16 + digit;
+		}
+		return !negative || value == 0 ? value : -1;
+	}
+
+	static boolean isIpv4(CharSequence s, int start, int end) {
+		return ipv4(s, start, end) >= 0;
+	}
+
+	/**
+	 * Parses what {@link #isIpv4(CharSequence)} accepts into an unsigned 32-bit value, or
+	 * returns {@code -1}.
+	 */
+	static long ipv4(CharSequence s, int start, int end) {
+		long address = 0;
+		int i = start;
+		for (int octet = 0; octet < 4; octet++) {
+			if (octet > 0) {
+				if (i == end || s.charAt(i) != '.') {
+					return -1;
+				}
+				i++;
+			}
+			final int octetStart = i;
+			int value = 0;
+			while (i < end && i - octetStart < 3) {
+				final char c = s.charAt(i);
+				if (c < '0' || c > '9') {
+					break;
+				}
+				value = value * 10 + (c - '0');
+				i++;
+			}
+			final int digits = i - octetStart;
+			if (digits == 0 || (digits > 1 && s.charAt(octetStart) == '0') || value > 255) {
+				return -1;
+			}
+			address = (address << 8) | value;
+		}
+		return i == end ? address : -1;
+	}
+
 }
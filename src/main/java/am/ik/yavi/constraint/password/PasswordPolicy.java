@@ -19,6 +19,8 @@ import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import am.ik.yavi.constraint.charsequence.PatternRegistry;
+
 /**
  * @param <T> target class
  * @since 0.7.0
@@ -90,7 +92,7 @@ public interface PasswordPolicy<T> extends Predicate<T> {
 			}
 			this.name = name;
 			this.regex = regex;
-			this.pattern = Pattern.compile(regex);
+			this.pattern = PatternRegistry.compile(regex);
 			this.count = count;
 		}
 
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * The result of validating many targets at once with
+ * {@link Validatable#validateAll(Iterable)}.
+ *
+ * <p>
+ * The result is columnar: the indices of the valid targets are kept in a {@link BitSet},
+ * and the violations are kept only for the invalid targets, ordered by their index. A
+ * batch in which most targets are valid therefore costs one bit per target instead of one
+ * {@link ConstraintViolations} per target.
+ *
+ * <p>
+ * Example usage: <pre>{@code
+ * BatchResult result = validator.validateAll(records);
+ * if (!result.isValid()) {
+ *     result.forEachInvalid((violations, index) -> reject(records.get(index), violations));
+ * }
+ * }</pre>
+ *
+ * @since 0.17.0
+ */
+public final class BatchResult {
+
+	private static final int[] EMPTY_INDICES = new int[0];
+
+	private static final ConstraintViolations[] EMPTY_VIOLATIONS = new ConstraintViolations[0];
+
+	private final int size;
+
+	private final BitSet validIndices;
+
+	private final int[] invalidIndices;
+
+	private final ConstraintViolations[] violations;
+
+	private BatchResult(int size, BitSet validIndices, int[] invalidIndices, ConstraintViolations[] violations) {
+		this.size = size;
+		this.validIndices = validIndices;
+		this.invalidIndices = invalidIndices;
+		this.violations = violations;
+	}
+
+	/**
+	 * Returns the number of validated targets.
+	 * @return the number of validated targets
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns whether all targets are valid.
+	 * @return whether all targets are valid
+	 */
+	public boolean isValid() {
+		return this.invalidIndices.length == 0;
+	}
+
+	/**
+	 * Returns whether the target at the given index is valid.
+	 * @param index index of the target
+	 * @return whether the target is valid
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public boolean isValid(int index) {
+		this.checkIndex(index);
+		return this.validIndices.get(index);
+	}
+
+	/**
+	 * Returns the number of valid targets.
+	 * @return the number of valid targets
+	 */
+	public int validCount() {
+		return this.size - this.invalidIndices.length;
+	}
+
+	/**
+	 * Returns the number of invalid targets.
+	 * @return the number of invalid targets
+	 */
+	public int invalidCount() {
+		return this.invalidIndices.length;
+	}
+
+	/**
+	 * Returns the indices of the valid targets. The returned {@link BitSet} is a copy.
+	 * @return the indices of the valid targets
+	 */
+	public BitSet validIndices() {
+		return (BitSet) this.validIndices.clone();
+	}
+
+	/**
+	 * Returns the indices of the invalid targets in ascending order. The returned array
+	 * is a copy.
+	 * @return the indices of the invalid targets
+	 */
+	public int[] invalidIndices() {
+		return this.invalidIndices.clone();
+	}
+
+	/**
+	 * Returns the violations of the target at the given index, or an empty
+	 * {@link ConstraintViolations} if the target is valid.
+	 * @param index index of the target
+	 * @return the violations of the target
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public ConstraintViolations violations(int index) {
+		this.checkIndex(index);
+		final int i = Arrays.binarySearch(this.invalidIndices, index);
+		return i < 0 ? ConstraintViolations.empty() : this.violations[i];
+	}
+
+	/**
+	 * Performs the given action for the violations of each invalid target in the order of
+	 * the targets.
+	 * @param action action receiving the violations and the index of the target
+	 */
+	public void forEachInvalid(ObjIntConsumer<ConstraintViolations> action) {
+		for (int i = 0; i < this.invalidIndices.length; i++) {
+			action.accept(this.violations[i], this.invalidIndices[i]);
+		}
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "BatchResult{" + "size=" + size + ", invalidIndices=" + Arrays.toString(invalidIndices) + '}';
+	}
+
+	/**
+	 * Collects the results of the targets in the order of their indices.
+	 */
+	static final class Builder {
+
+		private final BitSet validIndices;
+
+		private int size;
+
+		private int[] invalidIndices = EMPTY_INDICES;
+
+		private ConstraintViolations[] violations = EMPTY_VIOLATIONS;
+
+		private int invalidCount;
+
+		Builder(int expectedSize) {
+			this.validIndices = new BitSet(expectedSize);
+		}
+
+		void add(ConstraintViolations violations) {
+			final int index = this.size++;
+			if (violations.isEmpty()) {
+				this.validIndices.set(index);
+				return;
+			}
+			if (this.invalidCount == this.invalidIndices.length) {
+				final int capacity = Math.max(8, this.invalidCount * 2);
+				this.invalidIndices = Arrays.copyOf(this.invalidIndices, capacity);
+				this.violations = Arrays.copyOf(this.violations, capacity);
+			}
+			this.invalidIndices[this.invalidCount] = index;
+			this.violations[this.invalidCount] = violations;
+			this.invalidCount++;
+		}
+
+		BatchResult build() {
+			return new BatchResult(this.size, this.validIndices, Arrays.copyOf(this.invalidIndices, this.invalidCount),
+					Arrays.copyOf(this.violations, this.invalidCount));
+		}
+
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+
+import am.ik.yavi.jsr305.Nullable;
+
+/**
+ * An immutable, array-based form of {@link ConstraintPredicates} that {@link Validator}
+ * evaluates instead of walking the original {@link Deque}. Whether the property is nested
+ * and which predicates have to be evaluated for a {@code null} value are resolved once
+ * when the validator is created.
+ *
+ * @param <T> target type
+ * @since 0.17.0
+ */
+final class CompiledPredicates<T> {
+
+	private static final ConstraintPredicate<?>[] EMPTY = new ConstraintPredicate<?>[0];
+
+	final ViolationPath path;
+
+	final Function<T, ?> toValue;
+
+	/**
+	 * The original predicates if they belong to a nested property, otherwise
+	 * {@code null}.
+	 */
+	@Nullable
+	final NestedConstraintPredicates<T, ?, ?> nested;
+
+	final boolean failFast;
+
+	/**
+	 * All predicates in the declared order.
+	 */
+	final ConstraintPredicate<Object>[] predicates;
+
+	/**
+	 * The predicates that have to be evaluated when the value is {@code null}, in the
+	 * declared order.
+	 */
+	final ConstraintPredicate<Object>[] nullPredicates;
+
+	@SuppressWarnings("unchecked")
+	private CompiledPredicates(ConstraintPredicates<T, ?> predicates) {
+		this.path = ViolationPath.of(predicates.name());
+		this.toValue = predicates.toValue();
+		this.nested = (predicates instanceof NestedConstraintPredicates)
+				? (NestedConstraintPredicates<T, ?, ?>) predicates : null;
+		this.failFast = this.nested != null && this.nested.isFailFast();
+		final Deque<? extends ConstraintPredicate<?>> deque = predicates.predicates();
+		final List<ConstraintPredicate<?>> nullPredicates = new ArrayList<>(deque.size());
+		for (ConstraintPredicate<?> predicate : deque) {
+			if (!predicate.nullValidity().skipNull()) {
+				nullPredicates.add(predicate);
+			}
+		}
+		this.predicates = (ConstraintPredicate<Object>[]) deque.toArray(EMPTY);
+		this.nullPredicates = (ConstraintPredicate<Object>[]) nullPredicates.toArray(EMPTY);
+	}
+
+	static <T> CompiledPredicates<T> compile(ConstraintPredicates<T, ?> predicates) {
+		return new CompiledPredicates<>(predicates);
+	}
+
+	/**
+	 * Returns the predicates to evaluate for the given value.
+	 * @param value the value of the property
+	 * @return predicates to evaluate
+	 */
+	ConstraintPredicate<Object>[] predicatesFor(@Nullable Object value) {
+		return value == null ? this.nullPredicates : this.predicates;
+	}
+
+	/**
+	 * Returns whether a {@link DerivedValues} frame is worth opening for the given value,
+	 * that is, whether more than one predicate may derive values from it. A stream is
+	 * always given a frame, because it can only be read once and the violated value of a
+	 * failed predicate has to be derived from the same read as the verdict.
+	 * @param value the value of the property
+	 * @return whether the predicates should share derived values
+	 */
+	boolean sharesDerivedValues(@Nullable Object value) {
+		return value != null && (this.predicates.length > 1 || value instanceof Closeable);
+	}
+
+}
@@ -34,14 +34,29 @@ public class ConstraintPredicate<V> {
 
 	private final Predicate<V> predicate;
 
-	private ConstraintPredicate(Predicate<V> predicate, ViolationMessage violationMessage, Supplier<Object[]> args,
-			NullAs nullAs) {
-		this(predicate, violationMessage.messageKey(), violationMessage.defaultMessageFormat(), args, nullAs);
+	private final Function<V, ViolatedValue> violatedValueFactory;
+
+	/**
+	 * The function given to
+	 * {@link #withViolatedValue(Function, ViolationMessage, Supplier, NullAs)}, which
+	 * decides both the verdict and the violated value in one call.
+	 */
+	@Nullable
+	private final Function<V, Optional<ViolatedValue>> violatedValueFunction;
+
+	private ConstraintPredicate(Predicate<V> predicate, Function<V, ViolatedValue> violatedValueFactory,
+			@Nullable Function<V, Optional<ViolatedValue>> violatedValueFunction, ViolationMessage violationMessage,
+			Supplier<Object[]> args, NullAs nullAs) {
+		this(predicate, violatedValueFactory, violatedValueFunction, violationMessage.messageKey(),
+				violationMessage.defaultMessageFormat(), args, nullAs);
 	}
 
-	private ConstraintPredicate(Predicate<V> predicate, String messageKey, String defaultMessageFormat,
-			Supplier<Object[]> args, NullAs nullAs) {
+	private ConstraintPredicate(Predicate<V> predicate, Function<V, ViolatedValue> violatedValueFactory,
+			@Nullable Function<V, Optional<ViolatedValue>> violatedValueFunction, String messageKey,
+			String defaultMessageFormat, Supplier<Object[]> args, NullAs nullAs) {
 		this.predicate = predicate;
+		this.violatedValueFactory = violatedValueFactory;
+		this.violatedValueFunction = violatedValueFunction;
 		this.messageKey = messageKey;
 		this.defaultMessageFormat = defaultMessageFormat;
 		this.args = args;
@@ -50,17 +65,34 @@ public class ConstraintPredicate<V> {
 
 	public static <V> ConstraintPredicate<V> of(Predicate<V> predicate, ViolationMessage violationMessage,
 			Supplier<Object[]> args, NullAs nullAs) {
-		return new ConstraintPredicate<>(predicate, violationMessage, args, nullAs);
+		return new ConstraintPredicate<>(predicate, ViolatedValue::new, null, violationMessage, args, nullAs);
 	}
 
 	public static <V> ConstraintPredicate<V> withViolatedValue(Function<V, Optional<ViolatedValue>> violatedValue,
 			ViolationMessage violationMessage, Supplier<Object[]> args, NullAs nullAs) {
-		return new ConstraintPredicate<V>(v -> !violatedValue.apply(v).isPresent(), violationMessage, args, nullAs) {
-			@Override
-			public Optional<ViolatedValue> violatedValue(@Nullable V target) {
-				return violatedValue.apply(target);
-			}
-		};
+		return new ConstraintPredicate<>(v -> !violatedValue.apply(v).isPresent(),
+				v -> violatedValue.apply(v).orElseGet(() -> new ViolatedValue(v)), violatedValue, violationMessage,
+				args, nullAs);
+	}
+
+	/**
+	 * Creates a constraint whose violated value differs from the target, for example the
+	 * size of a container. Unlike
+	 * {@link #withViolatedValue(Function, ViolationMessage, Supplier, NullAs)}, the
+	 * predicate returns a plain verdict and the violated value is only computed when the
+	 * predicate fails, so a satisfied constraint does not allocate.
+	 * @param predicate predicate to test the target
+	 * @param violatedValue function to compute the violated value of a failed target
+	 * @param violationMessage violation message
+	 * @param args arguments of the violation message
+	 * @param nullAs null validity
+	 * @return constraint predicate
+	 * @since 0.17.0
+	 */
+	public static <V> ConstraintPredicate<V> withViolatedValue(Predicate<V> predicate, Function<V, ?> violatedValue,
+			ViolationMessage violationMessage, Supplier<Object[]> args, NullAs nullAs) {
+		return new ConstraintPredicate<>(predicate, v -> new ViolatedValue(violatedValue.apply(v)), null,
+				violationMessage, args, nullAs);
 	}
 
 	public Supplier<Object[]> args() {
@@ -80,31 +112,69 @@ public class ConstraintPredicate<V> {
 	}
 
 	public ConstraintPredicate<V> overrideMessage(ViolationMessage message) {
-		return new ConstraintPredicate<>(this.predicate, message, this.args, this.nullAs);
+		return new ConstraintPredicate<>(this.predicate, this.violatedValueFactory, this.violatedValueFunction, message,
+				this.args, this.nullAs);
 	}
 
 	public ConstraintPredicate<V> overrideMessage(String message) {
-		return new ConstraintPredicate<V>(this.predicate, this.messageKey, message, this.args, this.nullAs) {
-			@Override
-			public Optional<ViolatedValue> violatedValue(@Nullable V target) {
-				return ConstraintPredicate.this.violatedValue(target);
-			}
-		};
+		return new ConstraintPredicate<>(this.predicate, this.violatedValueFactory, this.violatedValueFunction,
+				this.messageKey, message, this.args, this.nullAs);
 	}
 
 	public final Predicate<V> predicate() {
 		return this.predicate;
 	}
 
-	public Optional<ViolatedValue> violatedValue(@Nullable V target) {
-		Predicate<V> predicate = this.predicate();
-		if (predicate.test(target)) {
-			return Optional.empty();
-		}
-		else {
-			// violated
-			return Optional.of(new ViolatedValue(target));
+	/**
+	 * Returns whether the given target satisfies this constraint. Nothing is allocated
+	 * beyond what the predicate itself allocates, so this is the method to call on the
+	 * hot path. Use {@link #toViolatedValue(Object)} to obtain the violated value once
+	 * the target turned out to be invalid.
+	 * @param target target to test
+	 * @return <code>true</code> if the target is valid
+	 * @since 0.17.0
+	 */
+	public final boolean test(@Nullable V target) {
+		return this.predicate.test(target);
+	}
+
+	/**
+	 * Returns the violated value of a target that did not satisfy this constraint.
+	 * @param target target that failed {@link #test(Object)}
+	 * @return violated value
+	 * @since 0.17.0
+	 */
+	public final ViolatedValue toViolatedValue(@Nullable V target) {
+		return this.violatedValueFactory.apply(target);
+	}
+
+	/**
+	 * Returns the violated value of the target, or {@code null} if the target satisfies
+	 * this constraint. Unlike {@link #test(Object)} followed by
+	 * {@link #toViolatedValue(Object)}, a function given to
+	 * {@link #withViolatedValue(Function, ViolationMessage, Supplier, NullAs)} is applied
+	 * only once.
+	 * @param target target to test
+	 * @return violated value, or {@code null} if valid
+	 * @since 0.17.0
+	 */
+	@Nullable
+	final ViolatedValue violation(@Nullable V target) {
+		if (this.violatedValueFunction != null) {
+			return this.violatedValueFunction.apply(target).orElse(null);
 		}
+		return this.predicate.test(target) ? null : this.violatedValueFactory.apply(target);
+	}
+
+	/**
+	 * Returns the violated value of the target if it does not satisfy this constraint.
+	 * This method is final since 0.17.0 because {@link Validator} no longer calls it, so
+	 * an override would be silently bypassed.
+	 * @param target target to test
+	 * @return violated value, or empty if valid
+	 */
+	public final Optional<ViolatedValue> violatedValue(@Nullable V target) {
+		return Optional.ofNullable(this.violation(target));
 	}
 
 }
@@ -18,6 +18,8 @@ package am.ik.yavi.core;
 import am.ik.yavi.jsr305.Nullable;
 import am.ik.yavi.message.MessageFormatter;
 import am.ik.yavi.message.SimpleMessageFormatter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.Locale;
 import java.util.function.Function;
@@ -77,10 +79,32 @@ public class ConstraintViolation {
 	private final String messageKey;
 
 	/**
-	 * The field or property name that this constraint violation applies to. This
-	 * identifies which part of the validated object failed validation.
+	 * The path of the field or property that this constraint violation applies to. This
+	 * identifies which part of the validated object failed validation and is rendered to
+	 * the name on the first call of {@link #name()}.
 	 */
-	private final String name;
+	private final ViolationPath path;
+
+	/**
+	 * Whether the first element of {@link #args} is the name of this violation, which is
+	 * resolved from {@link #path} when the arguments are requested.
+	 */
+	private final boolean nameArgument;
+
+	/**
+	 * A copy of {@link #args} with the resolved name, if {@link #nameArgument} is set.
+	 * {@link #args} itself is never written, since it may be shared with the violation
+	 * this one was derived from.
+	 */
+	@Nullable
+	private volatile Object[] resolvedArgs;
+
+	/**
+	 * The formatted message, which is rendered on the first call of {@link #message()}
+	 * and reused afterwards.
+	 */
+	@Nullable
+	private volatile String message;
 
 	/**
 	 * Creates a new constraint violation.
@@ -96,7 +120,33 @@ public class ConstraintViolation {
 	@Deprecated
 	public ConstraintViolation(String name, String messageKey, String defaultMessageFormat, @Nullable Object[] args,
 			@Nullable MessageFormatter messageFormatter, @Nullable Locale locale) {
-		this.name = name;
+		this(ViolationPath.of(name), false, messageKey, defaultMessageFormat, args, messageFormatter, locale);
+	}
+
+	/**
+	 * Creates a new constraint violation whose name is given as a path. The first element
+	 * of {@code args} is reserved for the name and filled in lazily.
+	 * @param path the path of the field or property that this constraint violation
+	 * applies to
+	 * @param messageKey the key used to look up localized messages
+	 * @param defaultMessageFormat the default message format to use when no localized
+	 * message is found
+	 * @param args the arguments to be used when formatting the message, including the
+	 * slot for the name
+	 * @param messageFormatter the message formatter to be used
+	 * @param locale the locale to be used for message localization
+	 * @since 0.17.0
+	 */
+	ConstraintViolation(ViolationPath path, String messageKey, String defaultMessageFormat, Object[] args,
+			MessageFormatter messageFormatter, Locale locale) {
+		this(path, true, messageKey, defaultMessageFormat, args, messageFormatter, locale);
+	}
+
+	private ConstraintViolation(ViolationPath path, boolean nameArgument, String messageKey,
+			String defaultMessageFormat, @Nullable Object[] args, @Nullable MessageFormatter messageFormatter,
+			@Nullable Locale locale) {
+		this.path = path;
+		this.nameArgument = nameArgument;
 		this.messageKey = messageKey;
 		this.defaultMessageFormat = defaultMessageFormat;
 		this.args = args == null ? new Object[0] : args;
@@ -109,7 +159,19 @@ public class ConstraintViolation {
 	 * @return an array of objects that were provided as formatting arguments
 	 */
 	public Object[] args() {
-		return this.args;
+		if (!this.nameArgument) {
+			return this.args;
+		}
+		Object[] args = this.resolvedArgs;
+		if (args == null) {
+			// the name is set before the array is published
+			args = this.args.clone();
+			if (args.length > 0) {
+				args[0] = this.name();
+			}
+			this.resolvedArgs = args;
+		}
+		return args;
 	}
 
 	/**
@@ -130,7 +192,7 @@ public class ConstraintViolation {
 	 * @return a new ViolationDetail instance representing this constraint violation
 	 */
 	public ViolationDetail detail() {
-		return new ViolationDetail(this.messageKey, this.args, this.message());
+		return new ViolationDetail(this.messageKey, this.args(), this.message());
 	}
 
 	/**
@@ -146,7 +208,7 @@ public class ConstraintViolation {
 	 * @since 0.16.0
 	 */
 	public ViolationDetail detail(MessageFormatter messageFormatter) {
-		return new ViolationDetail(this.messageKey, this.args, this.message(messageFormatter));
+		return new ViolationDetail(this.messageKey, this.args(), this.message(messageFormatter));
 	}
 
 	/**
@@ -162,11 +224,45 @@ public class ConstraintViolation {
 	 *
 	 * <p>
 	 * The message is formatted using the configured message formatter, applying the
-	 * message key, default message format, arguments, and locale.
+	 * message key, default message format, arguments, and locale. The message is rendered
+	 * once and the same instance is returned on subsequent calls.
 	 * @return the formatted message describing the constraint violation
 	 */
 	public String message() {
-		return this.messageFormatter.format(this.messageKey, this.defaultMessageFormat, this.args, this.locale);
+		String message = this.message;
+		if (message == null) {
+			message = this.messageFormatter.format(this.messageKey, this.defaultMessageFormat, this.args(),
+					this.locale);
+			this.message = message;
+		}
+		return message;
+	}
+
+	/**
+	 * Writes the formatted, localized message for this constraint violation to the given
+	 * {@link Appendable}, such as a response buffer, without keeping the message in this
+	 * constraint violation.
+	 * @param appendable the destination of the message
+	 * @param <A> the type of the appendable
+	 * @return the given appendable
+	 * @throws UncheckedIOException if the appendable throws an {@link IOException}
+	 * @since 0.17.0
+	 */
+	public <A extends Appendable> A formatTo(A appendable) {
+		final String message = this.message;
+		if (message != null) {
+			try {
+				appendable.append(message);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		else {
+			this.messageFormatter.formatTo(appendable, this.messageKey, this.defaultMessageFormat, this.args(),
+					this.locale);
+		}
+		return appendable;
 	}
 
 	/**
@@ -191,7 +287,7 @@ public class ConstraintViolation {
 	 * @since 0.16.0
 	 */
 	public String message(MessageFormatter messageFormatter) {
-		return messageFormatter.format(this.messageKey, this.defaultMessageFormat, this.args, this.locale);
+		return messageFormatter.format(this.messageKey, this.defaultMessageFormat, this.args(), this.locale);
 	}
 
 	/**
@@ -207,7 +303,17 @@ public class ConstraintViolation {
 	 * @return the name of the field or property that failed validation
 	 */
 	public String name() {
-		return this.name;
+		return this.path.toString();
+	}
+
+	/**
+	 * Returns the path of the field or property that this constraint violation applies
+	 * to.
+	 * @return the path of the field or property that failed validation
+	 * @since 0.17.0
+	 */
+	ViolationPath path() {
+		return this.path;
 	}
 
 	/**
@@ -220,8 +326,8 @@ public class ConstraintViolation {
 	 */
 	@Override
 	public String toString() {
-		return "ConstraintViolation{" + "name='" + name + '\'' + ", messageKey='" + messageKey + '\''
-				+ ", defaultMessageFormat='" + defaultMessageFormat + '\'' + ", args=" + Arrays.toString(args) + '}';
+		return "ConstraintViolation{" + "name='" + name() + '\'' + ", messageKey='" + messageKey + '\''
+				+ ", defaultMessageFormat='" + defaultMessageFormat + '\'' + ", args=" + Arrays.toString(args()) + '}';
 	}
 
 	/**
@@ -234,7 +340,8 @@ public class ConstraintViolation {
 	 * @throws ArrayIndexOutOfBoundsException if the args array is empty
 	 */
 	public Object violatedValue() {
-		return this.args[this.args.length - 1];
+		final Object[] args = this.args();
+		return args[args.length - 1];
 	}
 
 	/**
@@ -246,13 +353,7 @@ public class ConstraintViolation {
 	 * @since 0.7.0
 	 */
 	public ConstraintViolation rename(Function<? super String, String> rename) {
-		final String newName = rename.apply(name);
-		final Object[] newArgs = this.args().clone();
-		if (newArgs.length > 0) {
-			newArgs[0] = newName;
-		}
-		return new ConstraintViolation(newName, this.messageKey, this.defaultMessageFormat, newArgs,
-				this.messageFormatter, this.locale);
+		return this.withPath(ViolationPath.of(rename.apply(this.name())));
 	}
 
 	/**
@@ -263,7 +364,20 @@ public class ConstraintViolation {
 	 * @since 0.7.0
 	 */
 	public ConstraintViolation indexed(int index) {
-		return this.rename(name -> name + "[" + index + "]");
+		return this.withPath(this.path.index(index));
+	}
+
+	/**
+	 * Returns a new ConstraintViolation with the given path. The arguments are shared
+	 * with this violation and the first element is replaced with the new name when they
+	 * are requested.
+	 * @param path the new path
+	 * @return a new ConstraintViolation with the given path
+	 * @since 0.17.0
+	 */
+	ConstraintViolation withPath(ViolationPath path) {
+		return new ConstraintViolation(path, true, this.messageKey, this.defaultMessageFormat, this.args,
+				this.messageFormatter, this.locale);
 	}
 
 	/**
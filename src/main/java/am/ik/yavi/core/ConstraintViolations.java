@@ -27,8 +27,28 @@ import java.util.stream.Collectors;
 
 public class ConstraintViolations implements List<ConstraintViolation> {
 
+	private static final ConstraintViolations EMPTY = new ConstraintViolations(Collections.emptyList());
+
 	private final List<ConstraintViolation> delegate;
 
+	/**
+	 * Returns the shared immutable empty <code>ConstraintViolations</code>. Validators
+	 * return this instance when no constraint is violated so that validating a valid
+	 * object does not allocate a result. Any attempt to modify it throws
+	 * {@link UnsupportedOperationException}.
+	 *
+	 * <p>
+	 * Before 0.17.0 the result of a valid object was a new modifiable list. Code that
+	 * adds violations to the result of {@link Validatable#validate(Object)} has to copy
+	 * it first, for example with
+	 * {@code new ConstraintViolations(new ArrayList<>(violations))}.
+	 * @return the empty constraintViolations
+	 * @since 0.17.0
+	 */
+	public static ConstraintViolations empty() {
+		return EMPTY;
+	}
+
 	/**
 	 * Constructs with the constraintViolations to delegate. If the given value is
 	 * <code>ConstraintViolations</code> itself, cast and return it.
@@ -16,7 +16,8 @@
 package am.ik.yavi.core;
 
 import java.util.List;
-import java.util.stream.Collectors;
+
+import am.ik.yavi.jsr305.Nullable;
 
 /**
  * @since 0.3.0
@@ -25,20 +26,42 @@ public class ConstraintViolationsException extends RuntimeException {
 
 	private final ConstraintViolations violations;
 
+	/**
+	 * The message, which is rendered from the violations on the first call of
+	 * {@link #getMessage()} unless it was given explicitly.
+	 */
+	@Nullable
+	private String message;
+
 	public ConstraintViolationsException(String message, List<ConstraintViolation> violations) {
 		super(message);
+		this.message = message;
 		this.violations = ConstraintViolations.of(violations);
 	}
 
+	/**
+	 * Constructs with the violations. The message lists the messages of all violations
+	 * and is rendered lazily when {@link #getMessage()} is called for the first time.
+	 * @param violations constraint violations
+	 */
 	public ConstraintViolationsException(List<ConstraintViolation> violations) {
-		this("Constraint violations found!" + System.lineSeparator()
-				+ ConstraintViolations.of(violations)
-					.violations()
-					.stream()
-					.map(ConstraintViolation::message)
-					.map(s -> "* " + s)
-					.collect(Collectors.joining(System.lineSeparator())),
-				violations);
+		super();
+		this.violations = ConstraintViolations.of(violations);
+	}
+
+	@Override
+	public String getMessage() {
+		String message = this.message;
+		if (message == null) {
+			final StringBuilder builder = new StringBuilder("Constraint violations found!");
+			for (ConstraintViolation violation : this.violations) {
+				builder.append(System.lineSeparator()).append("* ");
+				violation.formatTo(builder);
+			}
+			message = builder.toString();
+			this.message = message;
+		}
+		return message;
 	}
 
 	public ConstraintViolations violations() {
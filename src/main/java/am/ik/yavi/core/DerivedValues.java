@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import am.ik.yavi.jsr305.Nullable;
+
+/**
+ * A per-thread scratch area that lets the predicates of one property share values derived
+ * from the property value, such as its normalized form or its length.
+ *
+ * <p>
+ * {@link Validator} opens a frame for a property before evaluating its predicates and
+ * closes it afterwards. While the frame is open, {@link #get(Object, Object, Function)}
+ * and {@link #getInt(Object, Object, ToIntFunction)} compute a derived value at most once
+ * per key. Outside of a frame, or for a value other than the one the frame was opened
+ * for, the value is simply computed, so predicates behave the same whether or not they
+ * are evaluated by a validator.
+ *
+ * <p>
+ * Keys are compared by identity. A constraint should use a key that identifies both the
+ * kind of derived value and every setting it depends on, typically a field of the
+ * constraint instance.
+ *
+ * @since 0.17.0
+ */
+public final class DerivedValues {
+
+	private static final ThreadLocal<DerivedValues> CURRENT = ThreadLocal.withInitial(DerivedValues::new);
+
+	private static final int INITIAL_CAPACITY = 4;
+
+	@Nullable
+	private Object value;
+
+	private boolean open;
+
+	private Object[] keys = new Object[INITIAL_CAPACITY];
+
+	private Object[] values = new Object[INITIAL_CAPACITY];
+
+	private int[] ints = new int[INITIAL_CAPACITY];
+
+	private int size;
+
+	/**
+	 * The frame that was open when this frame was opened, if any.
+	 */
+	@Nullable
+	private DerivedValues previous;
+
+	private DerivedValues() {
+	}
+
+	/**
+	 * Opens a frame for the given value. The frame of the current thread is reused unless
+	 * it is already open, which only happens when a predicate validates another object.
+	 * @param value the property value
+	 * @return the opened frame, must be closed with {@link #close()}
+	 */
+	static DerivedValues open(Object value) {
+		DerivedValues frame = CURRENT.get();
+		if (frame.open) {
+			final DerivedValues nested = new DerivedValues();
+			nested.previous = frame;
+			CURRENT.set(nested);
+			frame = nested;
+		}
+		frame.open = true;
+		frame.value = value;
+		return frame;
+	}
+
+	/**
+	 * Closes this frame and releases the derived values.
+	 */
+	void close() {
+		for (int i = 0; i < this.size; i++) {
+			this.keys[i] = null;
+			this.values[i] = null;
+		}
+		this.size = 0;
+		this.value = null;
+		this.open = false;
+		if (this.previous != null) {
+			CURRENT.set(this.previous);
+		}
+	}
+
+	/**
+	 * Returns the value derived from the given value.
+	 * @param value the property value
+	 * @param key the key of the derived value
+	 * @param function the function to compute the derived value
+	 * @return the derived value
+	 * @param <V> the type of the property value
+	 * @param <D> the type of the derived value
+	 */
+	@SuppressWarnings("unchecked")
+	public static <V, D> D get(V value, Object key, Function<? super V, ? extends D> function) {
+		final DerivedValues frame = CURRENT.get();
+		if (!frame.open || frame.value != value) {
+			return function.apply(value);
+		}
+		final int index = frame.indexOf(key);
+		if (index >= 0) {
+			return (D) frame.values[index];
+		}
+		final D derived = function.apply(value);
+		final int added = frame.add(key);
+		frame.values[added] = derived;
+		return derived;
+	}
+
+	/**
+	 * Returns the int value derived from the given value without boxing it.
+	 * @param value the property value
+	 * @param key the key of the derived value
+	 * @param function the function to compute the derived value
+	 * @return the derived value
+	 * @param <V> the type of the property value
+	 */
+	public static <V> int getInt(V value, Object key, ToIntFunction<? super V> function) {
+		final DerivedValues frame = CURRENT.get();
+		if (!frame.open || frame.value != value) {
+			return function.applyAsInt(value);
+		}
+		final int index = frame.indexOf(key);
+		if (index >= 0) {
+			return frame.ints[index];
+		}
+		final int derived = function.applyAsInt(value);
+		final int added = frame.add(key);
+		frame.ints[added] = derived;
+		return derived;
+	}
+
+	/**
+	 * Returns whether a frame is open for the given value, so that derived values of it
+	 * are computed at most once per key until the frame is closed.
+	 * @param value the property value
+	 * @return whether derived values of the value are shared
+	 */
+	public static boolean isShared(Object value) {
+		final DerivedValues frame = CURRENT.get();
+		return frame.open && frame.value == value;
+	}
+
+	private int indexOf(Object key) {
+		for (int i = 0; i < this.size; i++) {
+			if (this.keys[i] == key) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Adds the key, growing the arrays if needed, so the arrays must be read after this
+	 * method returns.
+	 */
+	private int add(Object key) {
+		if (this.size == this.keys.length) {
+			final int capacity = this.size * 2;
+			final Object[] keys = new Object[capacity];
+			final Object[] values = new Object[capacity];
+			final int[] ints = new int[capacity];
+			System.arraycopy(this.keys, 0, keys, 0, this.size);
+			System.arraycopy(this.values, 0, values, 0, this.size);
+			System.arraycopy(this.ints, 0, ints, 0, this.size);
+			this.keys = keys;
+			this.values = values;
+			this.ints = ints;
+		}
+		this.keys[this.size] = key;
+		return this.size++;
+	}
+
+}
@@ -48,10 +48,16 @@ public class NestedValidator<T, N> implements Validatable<T> {
 			return this.validator.validate(n, locale, constraintContext);
 		}
 		else {
-			return new ConstraintViolations();
+			return ConstraintViolations.empty();
 		}
 	}
 
+	@Override
+	public boolean isValid(T target, ConstraintContext constraintContext) {
+		final N n = this.nested.apply(target);
+		return n == null || this.validator.isValid(n, constraintContext);
+	}
+
 	public String getPrefix() {
 		return prefix;
 	}
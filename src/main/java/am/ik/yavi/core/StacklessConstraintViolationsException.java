@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.List;
+
+/**
+ * A {@link ConstraintViolationsException} that does not capture the stack trace.
+ *
+ * <p>
+ * Capturing the stack trace dominates the cost of throwing an exception. This exception
+ * is meant for callers that use validation failures for control flow, where the stack
+ * trace is of no use, for example: <pre>{@code
+ * Email email = emailValidator.validate(input)
+ *     .orElseThrow(StacklessConstraintViolationsException::new);
+ * }</pre> As with {@link ConstraintViolationsException}, the message is rendered only
+ * when {@link #getMessage()} is called.
+ *
+ * @since 0.17.0
+ */
+public class StacklessConstraintViolationsException extends ConstraintViolationsException {
+
+	public StacklessConstraintViolationsException(String message, List<ConstraintViolation> violations) {
+		super(message, violations);
+	}
+
+	public StacklessConstraintViolationsException(List<ConstraintViolation> violations) {
+		super(violations);
+	}
+
+	/**
+	 * Does not capture the stack trace.
+	 * @return this exception
+	 */
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+
+}
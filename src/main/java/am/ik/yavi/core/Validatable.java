@@ -15,8 +15,14 @@
  */
 package am.ik.yavi.core;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.Locale;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import am.ik.yavi.fn.Validation;
 
@@ -28,7 +34,9 @@ public interface Validatable<T> {
 	 * @param target target to validate
 	 * @param locale the locale targeted for the violation messages.
 	 * @param constraintContext constraint context to validate
-	 * @return constraint violations
+	 * @return constraint violations. Since 0.17.0 a valid target may yield the shared
+	 * unmodifiable {@link ConstraintViolations#empty()}, so copy the result before adding
+	 * violations to it.
 	 * @throws IllegalArgumentException if target is {@code null}
 	 */
 	ConstraintViolations validate(T target, Locale locale, ConstraintContext constraintContext);
@@ -69,6 +77,98 @@ public interface Validatable<T> {
 		return this.validate(target, Locale.getDefault(), constraintContext);
 	}
 
+	/**
+	 * Validates all constraints on each of {@code targets}. <br>
+	 * {@code Locale.getDefault()} is used to locate the violation messages.
+	 * {@code ConstraintGroup.DEFAULT} is used as a constraint context.
+	 * @param targets targets to validate
+	 * @return the result of the batch, indexed in the iteration order of the targets
+	 * @throws IllegalArgumentException if any of the targets is {@code null}
+	 * @since 0.17.0
+	 */
+	default BatchResult validateAll(Iterable<? extends T> targets) {
+		return this.validateAll(targets, Locale.getDefault(), ConstraintGroup.DEFAULT);
+	}
+
+	/**
+	 * Validates all constraints on each of {@code targets}. <br>
+	 * {@code ConstraintGroup.DEFAULT} is used as a constraint context.
+	 * @param targets targets to validate
+	 * @param locale the locale targeted for the violation messages.
+	 * @return the result of the batch, indexed in the iteration order of the targets
+	 * @throws IllegalArgumentException if any of the targets is {@code null}
+	 * @since 0.17.0
+	 */
+	default BatchResult validateAll(Iterable<? extends T> targets, Locale locale) {
+		return this.validateAll(targets, locale, ConstraintGroup.DEFAULT);
+	}
+
+	/**
+	 * Validates all constraints on each of {@code targets}. <br>
+	 * {@code Locale.getDefault()} is used to locate the violation messages.
+	 * @param targets targets to validate
+	 * @param constraintContext constraint context to validate
+	 * @return the result of the batch, indexed in the iteration order of the targets
+	 * @throws IllegalArgumentException if any of the targets is {@code null}
+	 * @since 0.17.0
+	 */
+	default BatchResult validateAll(Iterable<? extends T> targets, ConstraintContext constraintContext) {
+		return this.validateAll(targets, Locale.getDefault(), constraintContext);
+	}
+
+	/**
+	 * Validates all constraints on each of {@code targets}. <br>
+	 * Only the violations of invalid targets are kept, so validating a large batch of
+	 * mostly valid targets does not create a result object per target.
+	 * @param targets targets to validate
+	 * @param locale the locale targeted for the violation messages.
+	 * @param constraintContext constraint context to validate
+	 * @return the result of the batch, indexed in the iteration order of the targets
+	 * @throws IllegalArgumentException if any of the targets is {@code null}
+	 * @since 0.17.0
+	 */
+	default BatchResult validateAll(Iterable<? extends T> targets, Locale locale, ConstraintContext constraintContext) {
+		final BatchResult.Builder builder = new BatchResult.Builder(
+				(targets instanceof Collection) ? ((Collection<?>) targets).size() : 64);
+		int index = 0;
+		for (T target : targets) {
+			if (target == null) {
+				throw new IllegalArgumentException("target at index " + index + " must not be null");
+			}
+			builder.add(this.validate(target, locale, constraintContext));
+			index++;
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Returns whether {@code target} satisfies all constraints. <br>
+	 * Unlike {@link #validate(Object)}, no violation is built, so this is the cheaper
+	 * choice when only the verdict matters. {@code ConstraintGroup.DEFAULT} is used as a
+	 * constraint context.
+	 * @param target target to validate
+	 * @return whether the target is valid
+	 * @throws IllegalArgumentException if target is {@code null}
+	 * @since 0.17.0
+	 */
+	default boolean isValid(T target) {
+		return this.isValid(target, ConstraintGroup.DEFAULT);
+	}
+
+	/**
+	 * Returns whether {@code target} satisfies all constraints. <br>
+	 * Unlike {@link #validate(Object, ConstraintContext)}, no violation is built, so this
+	 * is the cheaper choice when only the verdict matters.
+	 * @param target target to validate
+	 * @param constraintContext constraint context to validate
+	 * @return whether the target is valid
+	 * @throws IllegalArgumentException if target is {@code null}
+	 * @since 0.17.0
+	 */
+	default boolean isValid(T target, ConstraintContext constraintContext) {
+		return this.validate(target, Locale.getDefault(), constraintContext).isValid();
+	}
+
 	/**
 	 * Returns the corresponding applicative validator
 	 * @return applicative validator
@@ -86,6 +186,104 @@ public interface Validatable<T> {
 		};
 	}
 
+	/**
+	 * Returns a stream that validates each element of {@code targets} as it is consumed.
+	 * <br>
+	 * {@code Locale.getDefault()} is used to locate the violation messages.
+	 * {@code ConstraintGroup.DEFAULT} is used as a constraint context.
+	 * @param targets targets to validate
+	 * @return stream of validation results in the order of the targets
+	 * @see #validateStream(Stream, Locale, ConstraintContext)
+	 * @since 0.17.0
+	 */
+	default Stream<Validated<T>> validateStream(Stream<? extends T> targets) {
+		return this.validateStream(targets, Locale.getDefault(), ConstraintGroup.DEFAULT);
+	}
+
+	/**
+	 * Returns a stream that validates each element of {@code targets} as it is consumed.
+	 * <br>
+	 * {@code ConstraintGroup.DEFAULT} is used as a constraint context.
+	 * @param targets targets to validate
+	 * @param locale the locale targeted for the violation messages.
+	 * @return stream of validation results in the order of the targets
+	 * @see #validateStream(Stream, Locale, ConstraintContext)
+	 * @since 0.17.0
+	 */
+	default Stream<Validated<T>> validateStream(Stream<? extends T> targets, Locale locale) {
+		return this.validateStream(targets, locale, ConstraintGroup.DEFAULT);
+	}
+
+	/**
+	 * Returns a stream that validates each element of {@code targets} as it is consumed.
+	 * <br>
+	 * {@code Locale.getDefault()} is used to locate the violation messages.
+	 * @param targets targets to validate
+	 * @param constraintContext constraint context to validate
+	 * @return stream of validation results in the order of the targets
+	 * @see #validateStream(Stream, Locale, ConstraintContext)
+	 * @since 0.17.0
+	 */
+	default Stream<Validated<T>> validateStream(Stream<? extends T> targets, ConstraintContext constraintContext) {
+		return this.validateStream(targets, Locale.getDefault(), constraintContext);
+	}
+
+	/**
+	 * Returns a stream that validates each element of {@code targets} as it is consumed.
+	 *
+	 * <p>
+	 * The elements are validated lazily, one at a time, by an intermediate operation, so
+	 * the input is never materialized and memory stays bounded. Each element gets its own
+	 * {@link Validated} without any shared mutable state, so the returned stream can be
+	 * parallel if {@code targets} is. Valid and invalid elements can be separated with
+	 * the usual stream operations, for example: <pre>{@code
+	 * Map<Boolean, List<Validated<Order>>> partitioned = validator.validateStream(orders)
+	 *     .collect(Collectors.partitioningBy(Validated::isValid));
+	 * }</pre> A {@code null} element causes an {@link IllegalArgumentException} when it
+	 * is consumed.
+	 * @param targets targets to validate
+	 * @param locale the locale targeted for the violation messages.
+	 * @param constraintContext constraint context to validate
+	 * @return stream of validation results in the order of the targets
+	 * @since 0.17.0
+	 */
+	default Stream<Validated<T>> validateStream(Stream<? extends T> targets, Locale locale,
+			ConstraintContext constraintContext) {
+		final ApplicativeValidator<T> applicative = this.applicative();
+		return targets.map(target -> applicative.validate(target, locale, constraintContext));
+	}
+
+	/**
+	 * Returns a sequential stream that validates each element of {@code targets} as it is
+	 * consumed. The iterator is advanced only as far as the stream is consumed. <br>
+	 * {@code Locale.getDefault()} is used to locate the violation messages.
+	 * {@code ConstraintGroup.DEFAULT} is used as a constraint context.
+	 * @param targets targets to validate
+	 * @return stream of validation results in the order of the targets
+	 * @see #validateStream(Stream, Locale, ConstraintContext)
+	 * @since 0.17.0
+	 */
+	default Stream<Validated<T>> validateStream(Iterator<? extends T> targets) {
+		return this.validateStream(targets, Locale.getDefault(), ConstraintGroup.DEFAULT);
+	}
+
+	/**
+	 * Returns a sequential stream that validates each element of {@code targets} as it is
+	 * consumed. The iterator is advanced only as far as the stream is consumed.
+	 * @param targets targets to validate
+	 * @param locale the locale targeted for the violation messages.
+	 * @param constraintContext constraint context to validate
+	 * @return stream of validation results in the order of the targets
+	 * @see #validateStream(Stream, Locale, ConstraintContext)
+	 * @since 0.17.0
+	 */
+	default Stream<Validated<T>> validateStream(Iterator<? extends T> targets, Locale locale,
+			ConstraintContext constraintContext) {
+		return this.validateStream(
+				StreamSupport.stream(Spliterators.spliteratorUnknownSize(targets, Spliterator.ORDERED), false), locale,
+				constraintContext);
+	}
+
 	/**
 	 * Converts given applicative validator to a regular validator.
 	 * @param applicative applicative validator to convert
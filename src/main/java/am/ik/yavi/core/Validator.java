@@ -16,12 +16,19 @@
 package am.ik.yavi.core;
 
 import am.ik.yavi.fn.Pair;
+import am.ik.yavi.jsr305.Nullable;
 import am.ik.yavi.message.MessageFormatter;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -84,10 +91,29 @@ public class Validator<T> implements Validatable<T> {
 
 	private final String prefix;
 
+	private final ViolationPath prefixPath;
+
 	private final boolean failFast;
 
+	private final int parallelThreshold;
+
+	@Nullable
+	private final Executor parallelExecutor;
+
 	private final ApplicativeValidator<T> applicativeValidator = Validatable.super.applicative();
 
+	private final CompiledPredicates<T>[] compiledPredicates;
+
+	private final CollectionValidator<T, ?, ?>[] compiledCollectionValidators;
+
+	private final Validator<?>[] collectionElementValidators;
+
+	private final ViolationPath[] collectionPaths;
+
+	private final ConstraintCondition<T>[] conditions;
+
+	private final Validatable<T>[] conditionalValidatables;
+
 	/**
 	 * Creates a new validator with the specified constraints, validators, and formatter
 	 * settings.
@@ -143,14 +169,16 @@ public class Validator<T> implements Validatable<T> {
 			List<Pair<ConstraintCondition<T>, Validatable<T>>> conditionalValidators, MessageFormatter messageFormatter,
 			boolean failFast) {
 		this(messageKeySeparator, predicatesList, collectionValidators, conditionalValidators, messageFormatter,
-				failFast, "");
+				failFast, "", 0, null);
 	}
 
 	private Validator(String messageKeySeparator, List<ConstraintPredicates<T, ?>> predicatesList,
 			List<CollectionValidator<T, ?, ?>> collectionValidators,
 			List<Pair<ConstraintCondition<T>, Validatable<T>>> conditionalValidators, MessageFormatter messageFormatter,
-			boolean failFast, String prefix) {
+			boolean failFast, String prefix, int parallelThreshold, @Nullable Executor parallelExecutor) {
 		this.messageKeySeparator = messageKeySeparator;
+		this.parallelThreshold = parallelThreshold;
+		this.parallelExecutor = parallelExecutor;
 		this.predicatesList = Collections.unmodifiableList(predicatesList);
 		this.collectionValidators = Collections.unmodifiableList(collectionValidators);
 		this.conditionalValidators = Collections.unmodifiableList(conditionalValidators);
@@ -158,6 +186,43 @@ public class Validator<T> implements Validatable<T> {
 		this.failFast = failFast;
 		this.prefix = (prefix == null || prefix.isEmpty() || prefix.endsWith(this.messageKeySeparator)) ? prefix
 				: prefix + this.messageKeySeparator;
+		this.prefixPath = ViolationPath.of(this.prefix);
+		// compile the execution plan once so that validate does not have to walk the
+		// lists
+		this.compiledPredicates = newArray(CompiledPredicates.class, predicatesList.size());
+		for (int i = 0; i < this.compiledPredicates.length; i++) {
+			this.compiledPredicates[i] = CompiledPredicates.compile(predicatesList.get(i));
+		}
+		this.compiledCollectionValidators = collectionValidators
+			.toArray(Validator.<CollectionValidator<T, ?, ?>>newArray(CollectionValidator.class, 0));
+		this.collectionElementValidators = new Validator<?>[this.compiledCollectionValidators.length];
+		this.collectionPaths = new ViolationPath[this.compiledCollectionValidators.length];
+		for (int i = 0; i < this.collectionElementValidators.length; i++) {
+			final Validator<?> validator = this.compiledCollectionValidators[i].validator();
+			this.collectionElementValidators[i] = failFast ? validator.failFast(true) : validator;
+			this.collectionPaths[i] = ViolationPath.of(this.compiledCollectionValidators[i].name());
+		}
+		this.conditions = newArray(ConstraintCondition.class, conditionalValidators.size());
+		this.conditionalValidatables = newArray(Validatable.class, conditionalValidators.size());
+		for (int i = 0; i < this.conditions.length; i++) {
+			final Pair<ConstraintCondition<T>, Validatable<T>> pair = conditionalValidators.get(i);
+			this.conditions[i] = pair.first();
+			// fail fast variants of the conditional validators are resolved lazily as
+			// failFast(true) is not supported by every Validatable
+			this.conditionalValidatables[i] = failFast ? null : pair.second();
+		}
+	}
+
+	/**
+	 * Creates an array of a generic component type.
+	 * @param componentType the erasure of the component type
+	 * @param length the length of the array
+	 * @return a new array
+	 * @param <A> the component type
+	 */
+	@SuppressWarnings("unchecked")
+	private static <A> A[] newArray(Class<?> componentType, int length) {
+		return (A[]) Array.newInstance(componentType, length);
 	}
 
 	/**
@@ -182,7 +247,8 @@ public class Validator<T> implements Validatable<T> {
 	 */
 	public Validator<T> prefixed(String prefix) {
 		return new Validator<>(this.messageKeySeparator, this.predicatesList, this.collectionValidators,
-				this.conditionalValidators, this.messageFormatter, this.failFast, prefix);
+				this.conditionalValidators, this.messageFormatter, this.failFast, prefix, this.parallelThreshold,
+				this.parallelExecutor);
 	}
 
 	/**
@@ -220,7 +286,61 @@ public class Validator<T> implements Validatable<T> {
 	@Override
 	public Validator<T> failFast(boolean failFast) {
 		return new Validator<>(this.messageKeySeparator, this.predicatesList, this.collectionValidators,
-				this.conditionalValidators, this.messageFormatter, failFast, this.prefix);
+				this.conditionalValidators, this.messageFormatter, failFast, this.prefix, this.parallelThreshold,
+				this.parallelExecutor);
+	}
+
+	/**
+	 * Creates a new validator instance that validates the elements of collections
+	 * registered with {@code forEach} in parallel on the {@link ForkJoinPool#commonPool()
+	 * common pool}.
+	 * @param threshold the minimum number of elements of a collection to validate it in
+	 * parallel
+	 * @return a new validator instance with parallel collection validation
+	 * @since 0.17.0
+	 * @see #parallel(int, Executor)
+	 */
+	public Validator<T> parallel(int threshold) {
+		return this.parallel(threshold, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a new validator instance that validates the elements of collections
+	 * registered with {@code forEach} in parallel.
+	 *
+	 * <p>
+	 * A collection with at least {@code threshold} elements is split into chunks. The
+	 * first chunk is validated on the calling thread and the others on the given
+	 * executor. The violations are merged in the order of the elements, so the result is
+	 * the same as with sequential validation. In fail-fast mode, the remaining chunks
+	 * stop as soon as an element with a violation is found, and only the violations of
+	 * the first such element are reported. Smaller collections are validated
+	 * sequentially.
+	 *
+	 * <p>
+	 * Only the collections of this validator are validated in parallel. The validators of
+	 * the elements keep their own setting, so a collection nested in the elements is
+	 * validated in parallel only if the element validator is parallel as well. This keeps
+	 * chunks from waiting for nested chunks queued on the same bounded executor.
+	 *
+	 * <p>
+	 * Constraints of the elements must be safe to evaluate concurrently.
+	 * @param threshold the minimum number of elements of a collection to validate it in
+	 * parallel
+	 * @param executor the executor to validate the chunks on
+	 * @return a new validator instance with parallel collection validation
+	 * @throws IllegalArgumentException if threshold is not positive
+	 * @since 0.17.0
+	 */
+	public Validator<T> parallel(int threshold, Executor executor) {
+		if (threshold <= 0) {
+			throw new IllegalArgumentException("threshold must be positive");
+		}
+		if (executor == null) {
+			throw new IllegalArgumentException("executor must not be null");
+		}
+		return new Validator<>(this.messageKeySeparator, this.predicatesList, this.collectionValidators,
+				this.conditionalValidators, this.messageFormatter, this.failFast, this.prefix, threshold, executor);
 	}
 
 	/**
@@ -288,13 +408,73 @@ public class Validator<T> implements Validatable<T> {
 	 * @param target the object to validate, must not be null
 	 * @param locale the locale for message formatting
 	 * @param constraintContext additional context for validation
-	 * @return constraint violations detected during validation, or an empty container if
-	 * no violations
+	 * @return constraint violations detected during validation, or the shared
+	 * unmodifiable {@link ConstraintViolations#empty()} if no violations
 	 * @throws IllegalArgumentException if target is null
 	 */
 	@Override
 	public ConstraintViolations validate(T target, Locale locale, ConstraintContext constraintContext) {
-		return this.validate(target, "", -1, locale, constraintContext);
+		return this.validate(target, null, -1, locale, constraintContext);
+	}
+
+	/**
+	 * Returns whether the target object satisfies all constraints of this validator.
+	 *
+	 * <p>
+	 * This method walks the same constraints as
+	 * {@link #validate(Object, Locale, ConstraintContext)} but returns as soon as the
+	 * first constraint is violated, including constraints of collection elements and
+	 * nested objects. No {@link ConstraintViolation}, message arguments or violation
+	 * names are created.
+	 * @param target the object to validate, must not be null
+	 * @param constraintContext additional context for validation
+	 * @return whether the target is valid
+	 * @throws IllegalArgumentException if target is null
+	 * @since 0.17.0
+	 */
+	@Override
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public boolean isValid(T target, ConstraintContext constraintContext) {
+		if (target == null) {
+			throw new IllegalArgumentException("target must not be null");
+		}
+		for (CompiledPredicates<T> predicates : this.compiledPredicates) {
+			if (predicates.nested != null && predicates.nested.nestedValue(target) == null) {
+				continue;
+			}
+			final Object v = predicates.toValue.apply(target);
+			final DerivedValues derivedValues = predicates.sharesDerivedValues(v) ? DerivedValues.open(v) : null;
+			try {
+				for (ConstraintPredicate<Object> constraintPredicate : predicates.predicatesFor(v)) {
+					if (!constraintPredicate.test(v)) {
+						return false;
+					}
+				}
+			}
+			finally {
+				if (derivedValues != null) {
+					derivedValues.close();
+				}
+			}
+		}
+		for (int c = 0; c < this.compiledCollectionValidators.length; c++) {
+			final Collection collection = this.compiledCollectionValidators[c].toCollection().apply(target);
+			if (collection != null) {
+				final Validator validator = this.collectionElementValidators[c];
+				for (Object element : collection) {
+					if (element == null || !validator.isValid(element, constraintContext)) {
+						return false;
+					}
+				}
+			}
+		}
+		for (int c = 0; c < this.conditions.length; c++) {
+			if (this.conditions[c].test(target, constraintContext)
+					&& !this.conditionalValidators.get(c).second().isValid(target, constraintContext)) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -349,110 +529,238 @@ public class Validator<T> implements Validatable<T> {
 		return this.applicativeValidator;
 	}
 
-	private String indexedName(String name, String collectionName, int index) {
-		if (index < 0) {
-			return name;
+	private ViolationPath indexedPath(ViolationPath path, @Nullable ViolationPath collectionPath, int index) {
+		if (index < 0 || collectionPath == null) {
+			return path;
 		}
-		if (name.isEmpty()) {
-			return collectionName + "[" + index + "]";
-		}
-		return collectionName + "[" + index + "]" + this.messageKeySeparator + name;
+		return collectionPath.index(index).join(path, this.messageKeySeparator);
+	}
+
+	private ViolationPath prefixedPath(ViolationPath path) {
+		return this.prefixPath.join(path, "");
 	}
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private ConstraintViolations validate(T target, String collectionName, int index, Locale locale,
+	private ConstraintViolations validate(T target, @Nullable ViolationPath collectionPath, int index, Locale locale,
 			ConstraintContext constraintContext) {
 		if (target == null) {
 			throw new IllegalArgumentException("target must not be null");
 		}
-		final ConstraintViolations violations = new ConstraintViolations();
-		for (ConstraintPredicates<T, ?> predicates : this.predicatesList) {
-			if (predicates instanceof NestedConstraintPredicates) {
-				final NestedConstraintPredicates<T, ?, ?> nested = (NestedConstraintPredicates<T, ?, ?>) predicates;
-				final Object nestedValue = nested.nestedValue(target);
-				if (nestedValue == null) {
-					continue;
-				}
+		// allocated on the first violation so that a valid target does not allocate
+		ConstraintViolations violations = null;
+		for (CompiledPredicates<T> predicates : this.compiledPredicates) {
+			if (predicates.nested != null && predicates.nested.nestedValue(target) == null) {
+				continue;
 			}
-			for (ConstraintPredicate<?> constraintPredicate : predicates.predicates()) {
-				final Object v = predicates.toValue().apply(target);
-				if (v == null && constraintPredicate.nullValidity().skipNull()) {
-					continue;
-				}
-				final Optional<ViolatedValue> violated = ((ConstraintPredicate) constraintPredicate).violatedValue(v);
-				if (violated.isPresent()) {
-					final ViolatedValue violatedValue = violated.get();
-					final String name = this.prefix + this.indexedName(predicates.name(), collectionName, index);
-					final Supplier<Object[]> argsSupplier = constraintPredicate.args();
-					final Object[] args = (argsSupplier instanceof ViolatedArguments)
-							? ((ViolatedArguments) argsSupplier).arguments(violatedValue.value()) : argsSupplier.get();
-					final ConstraintViolation violation = ConstraintViolation.builder()
-						.name(name)
-						.messageKey(constraintPredicate.messageKey())
-						.defaultMessageFormat(constraintPredicate.defaultMessageFormat())
-						.argsWithPrependedNameAndAppendedViolatedValue(args, violatedValue)
-						.messageFormatter(this.messageFormatter)
-						.locale(locale)
-						.build();
-					violations.add(violation);
-					if (this.failFast || ((predicates instanceof NestedConstraintPredicates)
-							&& ((NestedConstraintPredicates) predicates).isFailFast())) {
-						return violations;
+			final Object v = predicates.toValue.apply(target);
+			final DerivedValues derivedValues = predicates.sharesDerivedValues(v) ? DerivedValues.open(v) : null;
+			try {
+				for (ConstraintPredicate<Object> constraintPredicate : predicates.predicatesFor(v)) {
+					final ViolatedValue violatedValue = constraintPredicate.violation(v);
+					if (violatedValue != null) {
+						final ViolationPath path = this
+							.prefixedPath(this.indexedPath(predicates.path, collectionPath, index));
+						final Supplier<Object[]> argsSupplier = constraintPredicate.args();
+						final Object[] violatedArgs = violatedValue.arguments();
+						final Object[] args = (violatedArgs != null) ? violatedArgs
+								: (argsSupplier instanceof ViolatedArguments)
+										? ((ViolatedArguments) argsSupplier).arguments(violatedValue.value())
+										: argsSupplier.get();
+						// the first argument is reserved for the name, which is rendered
+						// lazily
+						final Object[] completeArgs = new Object[args.length + 2];
+						System.arraycopy(args, 0, completeArgs, 1, args.length);
+						completeArgs[args.length + 1] = violatedValue.value();
+						final ConstraintViolation violation = new ConstraintViolation(path,
+								constraintPredicate.messageKey(), constraintPredicate.defaultMessageFormat(),
+								completeArgs, this.messageFormatter, locale);
+						if (violations == null) {
+							violations = new ConstraintViolations();
+						}
+						violations.add(violation);
+						if (this.failFast || predicates.failFast) {
+							return violations;
+						}
 					}
 				}
 			}
+			finally {
+				if (derivedValues != null) {
+					derivedValues.close();
+				}
+			}
 		}
-		for (CollectionValidator<T, ?, ?> collectionValidator : this.collectionValidators) {
+		for (int c = 0; c < this.compiledCollectionValidators.length; c++) {
+			final CollectionValidator<T, ?, ?> collectionValidator = this.compiledCollectionValidators[c];
 			final Collection collection = collectionValidator.toCollection().apply(target);
 			if (collection != null) {
-				final Validator validator = this.failFast ? collectionValidator.validator().failFast(true)
-						: collectionValidator.validator();
+				final Validator validator = this.collectionElementValidators[c];
+				final ViolationPath nestedPath = this.indexedPath(this.collectionPaths[c], collectionPath, index);
+				final boolean stopEarly = this.failFast || validator.isFailFast();
+				// the sequential path returns after the first element if violations have
+				// already been found in fail fast mode, so there is nothing to
+				// parallelize
+				if (this.parallelExecutor != null && collection.size() >= this.parallelThreshold
+						&& !(stopEarly && violations != null)) {
+					final ConstraintViolations v = this.validateElementsInParallel(validator, collection, nestedPath,
+							stopEarly, locale, constraintContext);
+					if (v != null) {
+						if (violations == null) {
+							violations = new ConstraintViolations();
+						}
+						violations.addAll(v);
+						if (stopEarly) {
+							return violations;
+						}
+					}
+					continue;
+				}
 				int i = 0;
 				for (Object element : collection) {
-					final String nestedName = this.indexedName(collectionValidator.name(), collectionName, index);
 					if (element != null) {
-						final ConstraintViolations v = validator.validate(element, nestedName, i++, locale,
+						final ConstraintViolations v = validator.validate(element, nestedPath, i++, locale,
 								constraintContext);
-						violations.addAll(v);
+						if (!v.isEmpty()) {
+							if (violations == null) {
+								violations = new ConstraintViolations();
+							}
+							violations.addAll(v);
+						}
 					}
 					else {
-						final String name = this.indexedName("", nestedName, i++);
-						final ConstraintViolation v = notNullViolation(name, locale);
+						final ConstraintViolation v = notNullViolation(nestedPath.index(i++), locale);
+						if (violations == null) {
+							violations = new ConstraintViolations();
+						}
 						violations.add(v);
 					}
-					if (!violations.isEmpty() && (this.failFast || validator.isFailFast())) {
+					if (violations != null && stopEarly) {
 						return violations;
 					}
 				}
 			}
 		}
-		for (Pair<ConstraintCondition<T>, Validatable<T>> pair : this.conditionalValidators) {
-			final ConstraintCondition<T> condition = pair.first();
+		for (int c = 0; c < this.conditions.length; c++) {
+			final ConstraintCondition<T> condition = this.conditions[c];
 			if (condition.test(target, constraintContext)) {
-				final Validatable<T> validator = this.failFast ? pair.second().failFast(true) : pair.second();
+				final Validatable<T> validator = this.conditionalValidatable(c);
 				final ConstraintViolations constraintViolations = validator.validate(target, locale, constraintContext);
 				for (ConstraintViolation violation : constraintViolations) {
 					final ConstraintViolation renamed = violation
-						.rename(name -> this.prefix + this.indexedName(name, collectionName, index));
+						.withPath(this.prefixedPath(this.indexedPath(violation.path(), collectionPath, index)));
+					if (violations == null) {
+						violations = new ConstraintViolations();
+					}
 					violations.add(renamed);
-					if (!violations.isEmpty() && (this.failFast || validator.isFailFast())) {
+					if (this.failFast || validator.isFailFast()) {
 						return violations;
 					}
 				}
 			}
 		}
+		return (violations == null) ? ConstraintViolations.empty() : violations;
+	}
+
+	@Nullable
+	private ConstraintViolations validateElementsInParallel(Validator<Object> validator, Collection<?> collection,
+			ViolationPath nestedPath, boolean failFast, Locale locale, ConstraintContext constraintContext) {
+		final Object[] elements = collection.toArray();
+		final int size = elements.length;
+		if (size == 0) {
+			return null;
+		}
+		final int chunks = Math.min(size, 4 * Runtime.getRuntime().availableProcessors());
+		final int chunkSize = (size + chunks - 1) / chunks;
+		final AtomicInteger firstViolatedIndex = new AtomicInteger(Integer.MAX_VALUE);
+		final List<CompletableFuture<ConstraintViolations>> futures = new ArrayList<>(chunks);
+		for (int from = chunkSize; from < size; from += chunkSize) {
+			final int start = from;
+			final int end = Math.min(from + chunkSize, size);
+			futures.add(CompletableFuture.supplyAsync(() -> this.validateElements(validator, elements, start, end,
+					nestedPath, failFast, firstViolatedIndex, locale, constraintContext), this.parallelExecutor));
+		}
+		ConstraintViolations violations = this.validateElements(validator, elements, 0, Math.min(chunkSize, size),
+				nestedPath, failFast, firstViolatedIndex, locale, constraintContext);
+		if (violations != null && failFast) {
+			// the remaining chunks stop at their next element
+			return violations;
+		}
+		for (CompletableFuture<ConstraintViolations> future : futures) {
+			final ConstraintViolations v;
+			try {
+				v = future.join();
+			}
+			catch (CompletionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw e;
+			}
+			if (v != null) {
+				// chunks are merged in order, so the first chunk with violations holds
+				// the first violated element
+				if (failFast) {
+					return v;
+				}
+				if (violations == null) {
+					violations = new ConstraintViolations();
+				}
+				violations.addAll(v);
+			}
+		}
+		return violations;
+	}
+
+	@Nullable
+	private ConstraintViolations validateElements(Validator<Object> validator, Object[] elements, int from, int to,
+			ViolationPath nestedPath, boolean failFast, AtomicInteger firstViolatedIndex, Locale locale,
+			ConstraintContext constraintContext) {
+		ConstraintViolations violations = null;
+		for (int i = from; i < to; i++) {
+			if (failFast && i > firstViolatedIndex.get()) {
+				// an earlier element has been violated
+				break;
+			}
+			final Object element = elements[i];
+			if (element != null) {
+				final ConstraintViolations v = validator.validate(element, nestedPath, i, locale, constraintContext);
+				if (!v.isEmpty()) {
+					if (violations == null) {
+						violations = new ConstraintViolations();
+					}
+					violations.addAll(v);
+				}
+			}
+			else {
+				if (violations == null) {
+					violations = new ConstraintViolations();
+				}
+				violations.add(notNullViolation(nestedPath.index(i), locale));
+			}
+			if (violations != null && failFast) {
+				firstViolatedIndex.accumulateAndGet(i, Math::min);
+				break;
+			}
+		}
 		return violations;
 	}
 
-	private ConstraintViolation notNullViolation(String name, Locale locale) {
-		return ConstraintViolation.builder()
-			.name(name)
-			.messageKey(OBJECT_NOT_NULL.messageKey())
-			.defaultMessageFormat(OBJECT_NOT_NULL.defaultMessageFormat())
-			.argsWithPrependedName()
-			.messageFormatter(this.messageFormatter)
-			.locale(locale)
-			.build();
+	private Validatable<T> conditionalValidatable(int index) {
+		Validatable<T> validatable = this.conditionalValidatables[index];
+		if (validatable == null) {
+			validatable = this.conditionalValidators.get(index).second().failFast(true);
+			this.conditionalValidatables[index] = validatable;
+		}
+		return validatable;
+	}
+
+	private ConstraintViolation notNullViolation(ViolationPath path, Locale locale) {
+		return new ConstraintViolation(path, OBJECT_NOT_NULL.messageKey(), OBJECT_NOT_NULL.defaultMessageFormat(),
+				new Object[1], this.messageFormatter, locale);
 	}
 
 }
@@ -23,8 +23,25 @@ public class ViolatedValue {
 
 	private final Object value;
 
+	@Nullable
+	private final Object[] arguments;
+
 	public ViolatedValue(@Nullable Object value) {
+		this(value, null);
+	}
+
+	/**
+	 * Creates a violated value together with the arguments of the violation message that
+	 * were found out while checking the value, so that they do not have to be computed
+	 * again by the arguments of the constraint.
+	 * @param value the violated value
+	 * @param arguments the arguments of the violation message, without the property name
+	 * and the violated value, or {@code null} to use the arguments of the constraint
+	 * @since 0.17.0
+	 */
+	public ViolatedValue(@Nullable Object value, @Nullable Object[] arguments) {
 		this.value = value;
+		this.arguments = arguments;
 	}
 
 	@Override
@@ -37,4 +54,14 @@ public class ViolatedValue {
 		return this.value;
 	}
 
+	/**
+	 * @return the arguments of the violation message given with this value, or
+	 * {@code null} if the arguments of the constraint are to be used
+	 * @since 0.17.0
+	 */
+	@Nullable
+	public Object[] arguments() {
+		return this.arguments;
+	}
+
 }
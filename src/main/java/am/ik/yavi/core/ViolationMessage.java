@@ -83,6 +83,12 @@ public interface ViolationMessage {
 		CHAR_SEQUENCE_BIGDECIMAL("charSequence.bigdecimal", "\"{0}\" must be a valid representation of a big decimal"), //
 		CHAR_SEQUENCE_LOCAL_DATE("charSequence.localdate",
 				"\"{0}\" must be a valid representation of a local date using the pattern: {1}. The give value is: {2}"),
+		CHAR_SEQUENCE_LOCAL_DATE_TIME("charSequence.localdatetime",
+				"\"{0}\" must be a valid representation of a local date time using the pattern: {1}. The given value is: {2}"), //
+		CHAR_SEQUENCE_OFFSET_DATE_TIME("charSequence.offsetdatetime",
+				"\"{0}\" must be a valid representation of an offset date time using the pattern: {1}. The given value is: {2}"), //
+		CHAR_SEQUENCE_INSTANT("charSequence.instant",
+				"\"{0}\" must be a valid representation of an instant using the pattern: {1}. The given value is: {2}"), //
 		BYTE_SIZE_LESS_THAN("byteSize.lessThan",
 				"The byte size of \"{0}\" must be less than {1}. The given size is {2}"), //
 		BYTE_SIZE_LESS_THAN_OR_EQUAL("byteSize.lessThanOrEqual",
@@ -101,6 +107,11 @@ public interface ViolationMessage {
 		ARRAY_CONTAINS("array.contains", "\"{0}\" must contain {1}"), //
 		CODE_POINTS_ALL_INCLUDED("codePoints.asWhiteList", "\"{1}\" is/are not allowed for \"{0}\""), //
 		CODE_POINTS_NOT_INCLUDED("codePoints.asBlackList", "\"{1}\" is/are not allowed for \"{0}\""), //
+		UTF8_WELL_FORMED("utf8.wellFormed", "\"{0}\" must be well-formed UTF-8"), //
+		UTF8_ASCII("utf8.ascii", "\"{0}\" must consist of ASCII characters only"), //
+		TEXT_STREAM_NOT_CONTAINS("textStream.notContains", "\"{0}\" must not contain {1}"), //
+		TEXT_STREAM_LINES_LESS_THAN_OR_EQUAL("textStream.lines.lessThanOrEqual",
+				"The number of lines of \"{0}\" must be less than or equal to {1}. The given number is {2}"), //
 		PASSWORD_REQUIRED("password.required", "\"{0}\" must meet {1} policy"), //
 		PASSWORD_OPTIONAL("password.optional", "\"{0}\" must meet at least {1} policies from {2}"), //
 		TEMPORAL_PAST("temporal.past", "\"{0}\" must be a past date"), //
@@ -113,7 +124,9 @@ public interface ViolationMessage {
 		TEMPORAL_AFTER("temporal.after", "\"{0}\" has to be after {1}"), //
 		TEMPORAL_AFTER_OR_EQUAL("temporal.afterOrEqual", "\"{0}\" has to be after or equals to {1}"), //
 		TEMPORAL_BETWEEN("temporal.between", "\"{0}\" has to be between {1} and {2}"), //
-		TEMPORAL_FIELD("temporal.field", "The {1} of \"{0}\" is invalid") //
+		TEMPORAL_FIELD("temporal.field", "The {1} of \"{0}\" is invalid"), //
+		INET_ADDRESS_IN_CIDR("inetAddress.inCidr", "\"{0}\" must be in one of the allowed address ranges"), //
+		INET_ADDRESS_NOT_IN_CIDR("inetAddress.notInCidr", "\"{0}\" must not be in any of the denied address ranges") //
 		;
 
 		private final String defaultMessageFormat;
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import am.ik.yavi.jsr305.Nullable;
+
+/**
+ * Immutable path of a constraint violation such as {@code orders[1234].lines[7].sku}.
+ *
+ * <p>
+ * A path is a chain of shared segments. Indexing a path or prefixing it with another one
+ * creates a single segment that refers to the existing ones, so building the path of a
+ * violation found deep inside an object graph is O(1) per level. The path is rendered to
+ * a {@code String} only when {@link #toString()} is called, and the result is cached.
+ *
+ * @since 0.17.0
+ */
+abstract class ViolationPath {
+
+	static final ViolationPath EMPTY = new Name("");
+
+	@Nullable
+	private String rendered;
+
+	/**
+	 * Returns the path consisting of the given name.
+	 * @param name name of the path
+	 * @return path
+	 */
+	static ViolationPath of(String name) {
+		return "".equals(name) ? EMPTY : new Name(name);
+	}
+
+	/**
+	 * Returns this path followed by {@code [index]}.
+	 * @param index index of the element
+	 * @return indexed path
+	 */
+	ViolationPath index(int index) {
+		return new Index(this, index);
+	}
+
+	/**
+	 * Returns this path followed by the given path. The separator is rendered only when
+	 * neither of the paths is empty.
+	 * @param path path to append
+	 * @param separator separator between this path and the given path
+	 * @return joined path
+	 */
+	ViolationPath join(ViolationPath path, String separator) {
+		if (path.isEmpty()) {
+			return this;
+		}
+		if (this.isEmpty()) {
+			return path;
+		}
+		return new Join(this, path, separator);
+	}
+
+	abstract boolean isEmpty();
+
+	abstract void appendTo(StringBuilder builder);
+
+	/**
+	 * Appends this path to the builder, reusing the rendered string if available.
+	 * @param builder builder to append to
+	 */
+	final void renderTo(StringBuilder builder) {
+		final String rendered = this.rendered;
+		if (rendered != null) {
+			builder.append(rendered);
+		}
+		else {
+			this.appendTo(builder);
+		}
+	}
+
+	@Override
+	public String toString() {
+		String rendered = this.rendered;
+		if (rendered == null) {
+			final StringBuilder builder = new StringBuilder(32);
+			this.appendTo(builder);
+			rendered = builder.toString();
+			this.rendered = rendered;
+		}
+		return rendered;
+	}
+
+	static final class Name extends ViolationPath {
+
+		private final String name;
+
+		Name(String name) {
+			this.name = name;
+		}
+
+		@Override
+		boolean isEmpty() {
+			return this.name != null && this.name.isEmpty();
+		}
+
+		@Override
+		void appendTo(StringBuilder builder) {
+			builder.append(this.name);
+		}
+
+		@Override
+		public String toString() {
+			return this.name;
+		}
+
+	}
+
+	static final class Index extends ViolationPath {
+
+		private final ViolationPath parent;
+
+		private final int index;
+
+		Index(ViolationPath parent, int index) {
+			this.parent = parent;
+			this.index = index;
+		}
+
+		@Override
+		boolean isEmpty() {
+			return false;
+		}
+
+		@Override
+		void appendTo(StringBuilder builder) {
+			this.parent.renderTo(builder);
+			builder.append('[').append(this.index).append(']');
+		}
+
+	}
+
+	static final class Join extends ViolationPath {
+
+		private final ViolationPath head;
+
+		private final ViolationPath tail;
+
+		private final String separator;
+
+		Join(ViolationPath head, ViolationPath tail, String separator) {
+			this.head = head;
+			this.tail = tail;
+			this.separator = separator;
+		}
+
+		@Override
+		boolean isEmpty() {
+			return false;
+		}
+
+		@Override
+		void appendTo(StringBuilder builder) {
+			this.head.renderTo(builder);
+			builder.append(this.separator);
+			this.tail.renderTo(builder);
+		}
+
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.message;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe, bounded cache of parsed {@link MessageFormat} templates keyed by the
+ * template and the locale. Parsing a template is much more expensive than formatting it,
+ * so the parsed instances are reused across violations. As {@link MessageFormat} is not
+ * thread-safe, every lookup returns a clone of the cached instance.
+ *
+ * @since 0.17.0
+ */
+final class MessageFormatCache {
+
+	static final int MAX_SIZE = 1024;
+
+	private static final Map<Key, MessageFormat> CACHE = new ConcurrentHashMap<>();
+
+	private MessageFormatCache() {
+	}
+
+	/**
+	 * Returns a {@link MessageFormat} for the given template and locale that can be used
+	 * exclusively by the caller.
+	 * @param template message format template
+	 * @param locale locale
+	 * @return message format
+	 */
+	static MessageFormat get(String template, Locale locale) {
+		final Key key = new Key(template, locale);
+		MessageFormat messageFormat = CACHE.get(key);
+		if (messageFormat == null) {
+			messageFormat = new MessageFormat(template, locale);
+			if (CACHE.size() >= MAX_SIZE) {
+				// templates are usually a small fixed set, so simply start over when the
+				// bound is reached rather than tracking recency
+				CACHE.clear();
+			}
+			CACHE.putIfAbsent(key, messageFormat);
+		}
+		return (MessageFormat) messageFormat.clone();
+	}
+
+	static int size() {
+		return CACHE.size();
+	}
+
+	static void clear() {
+		CACHE.clear();
+	}
+
+	private static final class Key {
+
+		private final String template;
+
+		private final Locale locale;
+
+		private final int hash;
+
+		Key(String template, Locale locale) {
+			this.template = template;
+			this.locale = locale;
+			this.hash = 31 * template.hashCode() + Objects.hashCode(locale);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			final Key key = (Key) o;
+			return this.template.equals(key.template) && Objects.equals(this.locale, key.locale);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+	}
+
+}
@@ -15,6 +15,8 @@
  */
 package am.ik.yavi.message;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Locale;
 
 @FunctionalInterface
@@ -22,4 +24,27 @@ public interface MessageFormatter {
 
 	String format(String messageKey, String defaultMessageFormat, Object[] args, Locale locale);
 
+	/**
+	 * Formats the message and writes it to the given {@link Appendable} such as a
+	 * response buffer. The default implementation appends the result of
+	 * {@link #format(String, String, Object[], Locale)}. Implementations can override
+	 * this method to avoid creating the intermediate {@link String}.
+	 * @param appendable the destination of the formatted message
+	 * @param messageKey message key
+	 * @param defaultMessageFormat default message format
+	 * @param args arguments of the message
+	 * @param locale locale
+	 * @throws UncheckedIOException if the appendable throws an {@link IOException}
+	 * @since 0.17.0
+	 */
+	default void formatTo(Appendable appendable, String messageKey, String defaultMessageFormat, Object[] args,
+			Locale locale) {
+		try {
+			appendable.append(this.format(messageKey, defaultMessageFormat, args, locale));
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
 }
@@ -15,7 +15,6 @@
  */
 package am.ik.yavi.message;
 
-import java.text.MessageFormat;
 import java.util.Locale;
 import java.util.Objects;
 
@@ -49,7 +48,7 @@ public class MessageSourceMessageFormatter implements MessageFormatter {
 
 	@Override
 	public String format(String messageKey, String defaultMessageFormat, Object[] args, Locale locale) {
-		final String defaultMessage = new MessageFormat(defaultMessageFormat, locale).format(args);
+		final String defaultMessage = MessageFormatCache.get(defaultMessageFormat, locale).format(args);
 		final String message = this.messageSource.getMessage(messageKey, args, defaultMessage, locale);
 		return Objects.requireNonNull(message, defaultMessage);
 	}
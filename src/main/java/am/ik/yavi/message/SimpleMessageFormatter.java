@@ -15,12 +15,15 @@
  */
 package am.ik.yavi.message;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.text.MessageFormat;
 import java.util.Locale;
 
 /**
  * A simple implementation of {@link MessageFormatter} that formats messages using
- * {@link MessageFormat}. This class is a singleton to optimize resource usage.
+ * {@link MessageFormat}. This class is a singleton to optimize resource usage. Parsed
+ * message formats are cached per template and locale, so a template is parsed only once.
  */
 public class SimpleMessageFormatter implements MessageFormatter {
 
@@ -46,7 +49,26 @@ public class SimpleMessageFormatter implements MessageFormatter {
 
 	@Override
 	public String format(String messageKey, String defaultMessageFormat, Object[] args, Locale locale) {
-		return new MessageFormat(defaultMessageFormat, locale).format(args);
+		return MessageFormatCache.get(defaultMessageFormat, locale).format(args);
+	}
+
+	/**
+	 * @since 0.17.0
+	 */
+	@Override
+	public void formatTo(Appendable appendable, String messageKey, String defaultMessageFormat, Object[] args,
+			Locale locale) {
+		final MessageFormat messageFormat = MessageFormatCache.get(defaultMessageFormat, locale);
+		if (appendable instanceof StringBuffer) {
+			messageFormat.format(args, (StringBuffer) appendable, null);
+			return;
+		}
+		try {
+			appendable.append(messageFormat.format(args));
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
 	}
 
 }
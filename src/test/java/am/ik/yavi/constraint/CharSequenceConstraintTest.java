@@ -15,20 +15,32 @@
  */
 package am.ik.yavi.constraint;
 
+import am.ik.yavi.builder.ValidatorBuilder;
 import am.ik.yavi.constraint.charsequence.variant.IdeographicVariationSequence;
 import am.ik.yavi.constraint.charsequence.variant.MongolianFreeVariationSelector;
+import am.ik.yavi.constraint.charsequence.variant.VariantOptions;
+import am.ik.yavi.core.ConstraintViolations;
+import am.ik.yavi.core.Validator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.CharBuffer;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class CharSequenceConstraintTest {
 
@@ -95,6 +107,14 @@ class CharSequenceConstraintTest {
 		assertThat(predicate.test(value)).isTrue();
 	}
 
+	@ParameterizedTest
+	@ValueSource(strings = { "\uD842\uDF9F\uDB40\uDD00", "\u908A\uDB40\uDD07" })
+	void ignoreIvsCharacterWithoutNormalizer(String value) {
+		Predicate<String> predicate = retrievePredicate(
+				c -> c.normalizer(null).variant(opts -> opts.ivs(IdeographicVariationSequence.IGNORE)).fixedSize(1));
+		assertThat(predicate.test(value)).isTrue();
+	}
+
 	@ParameterizedTest
 	@ValueSource(strings = { "ab", "\uD842\uDFB7田" })
 	void invalidGreaterThanOrEqual(String value) {
@@ -215,6 +235,33 @@ class CharSequenceConstraintTest {
 		assertThat(predicate.test(value)).isFalse();
 	}
 
+	@Test
+	void invalidPatternSyntaxIsRejectedOnBuild() {
+		assertThatThrownBy(() -> new CharSequenceConstraint<String, String>().pattern("[0-9"))
+			.isInstanceOf(PatternSyntaxException.class);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "1234", "0000" })
+	void validPatternLinear(String value) {
+		Predicate<String> predicate = retrievePredicate(c -> c.patternLinear("[0-9]{4}"));
+		assertThat(predicate.test(value)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "134a", "abcd" })
+	void invalidPatternLinear(String value) {
+		Predicate<String> predicate = retrievePredicate(c -> c.patternLinear("[0-9]{4}"));
+		assertThat(predicate.test(value)).isFalse();
+	}
+
+	@Test
+	void unsupportedPatternLinearIsRejectedOnBuild() {
+		assertThatThrownBy(() -> new CharSequenceConstraint<String, String>().patternLinear("(a)\\1"))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("backreferences");
+	}
+
 	@ParameterizedTest
 	@ValueSource(strings = { "1234", "0000" })
 	void validPattern_pattern(String value) {
@@ -245,6 +292,35 @@ class CharSequenceConstraintTest {
 		assertThat(predicate.test(value)).isFalse();
 	}
 
+	@Test
+	void patternSupplierIsCalledOncePerEvaluation() {
+		final AtomicInteger calls = new AtomicInteger();
+		final Validator<String> validator = ValidatorBuilder.<String>of()._string(x -> x, "code", c -> c.pattern(() -> {
+			calls.incrementAndGet();
+			return Pattern.compile("[0-9]{4}");
+		})).build();
+		assertThat(validator.validate("1234")).isEmpty();
+		assertThat(calls.get()).isEqualTo(1);
+		final ConstraintViolations violations = validator.validate("abcd");
+		assertThat(violations).hasSize(1);
+		assertThat(violations.get(0).message()).isEqualTo("\"code\" must match [0-9]{4}");
+		assertThat(violations.get(0).violatedValue()).isEqualTo("abcd");
+		assertThat(calls.get()).isEqualTo(2);
+		assertThat(validator.isValid("abcd")).isFalse();
+		assertThat(calls.get()).isEqualTo(3);
+	}
+
+	@Test
+	void patternSupplierReportsThePatternThatRejected() {
+		final AtomicInteger calls = new AtomicInteger();
+		final Validator<String> validator = ValidatorBuilder.<String>of()
+			._string(x -> x, "code",
+					c -> c.pattern(() -> Pattern.compile(calls.incrementAndGet() % 2 == 1 ? "[0-9]{4}" : "[a-z]{4}")))
+			.build();
+		assertThat(validator.validate("abcd").get(0).message()).isEqualTo("\"code\" must match [0-9]{4}");
+		assertThat(validator.validate("1234").get(0).message()).isEqualTo("\"code\" must match [a-z]{4}");
+	}
+
 	@ParameterizedTest
 	@ValueSource(strings = { "http://example.com", "https://example.com", "" })
 	void validUrl(String value) {
@@ -252,6 +328,45 @@ class CharSequenceConstraintTest {
 		assertThat(predicate.test(value)).isTrue();
 	}
 
+	@ParameterizedTest
+	@ValueSource(strings = { "10.1.2.3", "192.168.0.1", "2001:db8::1" })
+	void validInCidr(String value) {
+		Predicate<String> predicate = retrievePredicate(
+				c -> c.inCidr(Arrays.asList("10.0.0.0/8", "192.168.0.0/16", "2001:db8::/32")));
+		assertThat(predicate.test(value)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "11.0.0.1", "192.169.0.1", "2001:db9::1", "example.com" })
+	void invalidInCidr(String value) {
+		Predicate<String> predicate = retrievePredicate(
+				c -> c.inCidr(Arrays.asList("10.0.0.0/8", "192.168.0.0/16", "2001:db8::/32")));
+		assertThat(predicate.test(value)).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "11.0.0.1", "2001:db9::1", "example.com" })
+	void validNotInCidr(String value) {
+		Predicate<String> predicate = retrievePredicate(c -> c.notInCidr(Arrays.asList("10.0.0.0/8", "2001:db8::/32")));
+		assertThat(predicate.test(value)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "10.1.2.3", "2001:db8::1" })
+	void invalidNotInCidr(String value) {
+		Predicate<String> predicate = retrievePredicate(c -> c.notInCidr(Arrays.asList("10.0.0.0/8", "2001:db8::/32")));
+		assertThat(predicate.test(value)).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "0:0:0:0:0:0:0:+1", "0:0:0:0:0:0:-0:1", "::\uFF11", "::1%eth0", "::1/128", "::/0" })
+	void ipv6NotInCidrCannotBeBypassed(String value) {
+		final CharSequenceConstraint<String, String> constraint = new CharSequenceConstraint<String, String>().ipv6()
+			.notInCidr(Arrays.asList("::1/128", "10.0.0.0/8"));
+		assertThat(constraint.predicates().peekFirst().predicate().test(value)).isTrue();
+		assertThat(constraint.predicates().peekLast().predicate().test(value)).isFalse();
+	}
+
 	@ParameterizedTest
 	@ValueSource(strings = { "example.com", "htt://example.com" })
 	void invalidUrl(String value) {
@@ -259,6 +374,20 @@ class CharSequenceConstraintTest {
 		assertThat(predicate.test(value)).isFalse();
 	}
 
+	@ParameterizedTest
+	@ValueSource(strings = { "http://example.com", "HTTPS://example.com:8443/a?b#c", "" })
+	void validUrlWithOptions(String value) {
+		Predicate<String> predicate = retrievePredicate(c -> c.url(opts -> opts.httpOrHttps().requireHost()));
+		assertThat(predicate.test(value)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "ftp://example.com", "http:/path", "https://:8443/", "http://exa mple.com" })
+	void invalidUrlWithOptions(String value) {
+		Predicate<String> predicate = retrievePredicate(c -> c.url(opts -> opts.httpOrHttps().requireHost()));
+		assertThat(predicate.test(value)).isFalse();
+	}
+
 	@ParameterizedTest
 	@MethodSource("randomUUIDs")
 	void validUUID(String value) {
@@ -534,6 +663,133 @@ class CharSequenceConstraintTest {
 		assertThat(predicate.test(value)).isTrue();
 	}
 
+	@ParameterizedTest
+	@ValueSource(strings = { "2022-01-01T10:15", "2022-01-01T10:15:30", "2022-01-01T10:15:30.123" })
+	void validIsoLocalDateTime(String value) {
+		Predicate<String> predicate = retrievePredicate(CharSequenceConstraint::isoLocalDateTime);
+		assertThat(predicate.test(value)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "2022-01-01", "2022-02-30T10:15", "2022-01-01T10:15Z", "2022-01-01 10:15" })
+	void invalidIsoLocalDateTime(String value) {
+		Predicate<String> predicate = retrievePredicate(CharSequenceConstraint::isoLocalDateTime);
+		assertThat(predicate.test(value)).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "2022-01-01T10:15:30Z", "2022-01-01T10:15:30+09:00", "2022-01-01T10:15-01:30" })
+	void validIsoOffsetDateTime(String value) {
+		Predicate<String> predicate = retrievePredicate(CharSequenceConstraint::isoOffsetDateTime);
+		assertThat(predicate.test(value)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "2022-01-01T10:15:30", "2022-01-01T10:15:30+19:00", "2022-13-01T10:15:30Z" })
+	void invalidIsoOffsetDateTime(String value) {
+		Predicate<String> predicate = retrievePredicate(CharSequenceConstraint::isoOffsetDateTime);
+		assertThat(predicate.test(value)).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "2022-01-01T10:15:30Z", "2022-01-01T10:15:30.123456789Z" })
+	void validIsoInstant(String value) {
+		Predicate<String> predicate = retrievePredicate(CharSequenceConstraint::isoInstant);
+		assertThat(predicate.test(value)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "2022-01-01T10:15Z", "2022-01-01T10:15:30", "2022-02-29T10:15:30Z" })
+	void invalidIsoInstant(String value) {
+		Predicate<String> predicate = retrievePredicate(CharSequenceConstraint::isoInstant);
+		assertThat(predicate.test(value)).isFalse();
+	}
+
+	@ParameterizedTest
+	@EnumSource(Normalizer.Form.class)
+	void charactersBelowStableLimitAreNormalized(Normalizer.Form form) {
+		final char limit = CharSequenceConstraint.stableLimit(form);
+		for (char c1 = 0; c1 < limit; c1++) {
+			for (char c2 = 0; c2 < limit; c2++) {
+				final String s = new String(new char[] { c1, c2 });
+				assertThat(Normalizer.normalize(s, form)).isEqualTo(s);
+			}
+		}
+		// the limit itself is not stable
+		assertThat(Normalizer.isNormalized(limit == '\u0300' ? "e\u0300" : String.valueOf(limit), form)).isFalse();
+	}
+
+	@ParameterizedTest
+	@EnumSource(Normalizer.Form.class)
+	void sizeSameAsNormalizedString(Normalizer.Form form) {
+		final int[] alphabet = { 'a', 'e', ' ', 0x7F, 0xA0, 0xC9, 0x2FF, 0x300, 0x301, 0x1100, 0x1161, 0xAC00, 0x3099,
+				0x304B, 0x30AC, 0xFB01, 0xFE0F, 0x908A, 0xE0107, 0x1D15E, 0xD842 };
+		final Random random = new Random(22);
+		for (boolean ignore : new boolean[] { false, true }) {
+			final VariantOptions variantOptions = ignore ? VariantOptions.builder().ignoreAll().build()
+					: VariantOptions.builder().build();
+			final CharSequenceConstraint<String, String> constraint = new CharSequenceConstraint<>(form,
+					variantOptions);
+			for (int i = 0; i < 20_000; i++) {
+				final StringBuilder sb = new StringBuilder();
+				final int length = random.nextInt(6);
+				for (int j = 0; j < length; j++) {
+					sb.appendCodePoint(alphabet[random.nextInt(alphabet.length)]);
+				}
+				final String s = sb.toString();
+				final String expected = Normalizer.normalize(variantOptions.ignored(s), form);
+				assertThat(constraint.size().applyAsInt(s)).describedAs(s)
+					.isEqualTo(expected.codePointCount(0, expected.length()));
+				assertThat(constraint.normalize(s)).isEqualTo(expected);
+			}
+		}
+	}
+
+	@Test
+	void sizeCallsOverriddenNormalize() {
+		for (Normalizer.Form form : new Normalizer.Form[] { null, Normalizer.Form.NFC }) {
+			final CharSequenceConstraint<String, String> constraint = new CharSequenceConstraint<String, String>(form,
+					VariantOptions.builder().build()) {
+				@Override
+				protected String normalize(String s) {
+					return s.trim();
+				}
+			};
+			assertThat(constraint.size().applyAsInt(" ab ")).describedAs("%s", form).isEqualTo(2);
+		}
+	}
+
+	@Test
+	void charBufferSameAsString() {
+		final char[] alphabet = { 'a', 'b', ' ', '\t', '\u3000', '\u00A0', '\uD842', '\uDFB7' };
+		final Random random = new Random(23);
+		for (int i = 0; i < 20_000; i++) {
+			final String s = randomString(random, alphabet, 6);
+			final String t = randomString(random, alphabet, 3);
+			final CharBuffer value = CharBuffer.wrap(s);
+			final StringBuilder other = new StringBuilder(t);
+			assertThat(charBufferPredicate(c -> c.contains(other)).test(value)).isEqualTo(s.contains(t));
+			assertThat(charBufferPredicate(c -> c.startsWith(other)).test(value)).isEqualTo(s.startsWith(t));
+			assertThat(charBufferPredicate(c -> c.endsWith(other)).test(value)).isEqualTo(s.endsWith(t));
+			assertThat(charBufferPredicate(c -> c.contains(t)).test(value)).isEqualTo(s.contains(t));
+			assertThat(charBufferPredicate(c -> c.notBlank()).test(value))
+				.isEqualTo(s.chars().anyMatch(c -> !Character.isWhitespace(c)));
+		}
+	}
+
+	private static String randomString(Random random, char[] alphabet, int maxLength) {
+		final char[] chars = new char[random.nextInt(maxLength + 1)];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = alphabet[random.nextInt(alphabet.length)];
+		}
+		return new String(chars);
+	}
+
+	private static Predicate<CharBuffer> charBufferPredicate(
+			Function<CharSequenceConstraint<CharBuffer, CharBuffer>, CharSequenceConstraint<CharBuffer, CharBuffer>> constraint) {
+		return constraint.apply(new CharSequenceConstraint<>()).predicates().peekFirst().predicate();
+	}
+
 	private static Predicate<String> retrievePredicate(
 			Function<CharSequenceConstraint<String, String>, CharSequenceConstraint<String, String>> constraint) {
 		return constraint.apply(new CharSequenceConstraint<>()).predicates().peekFirst().predicate();
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint;
+
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IsoDateTimeLayoutsTest {
+
+	static final String[] VALUES = { "", "2024-02-29", "2023-02-29", "2000-02-29", "1900-02-29", "0000-01-01",
+			"9999-12-31", "2024-13-01", "2024-00-10", "2024-04-31", "2024-1-01", "+2024-01-01", "２０２４-01-01",
+			"2024-01-01T10:15", "2024-01-01t10:15", "2024-01-01 10:15", "2024-01-01T10:15:30", "2024-01-01T24:00",
+			"2024-01-01T24:00:00", "2024-01-01T23:59:60", "2024-01-01T10:60", "2024-01-01T10:15:30.",
+			"2024-01-01T10:15:30.1", "2024-01-01T10:15:30.123456789", "2024-01-01T10:15:30.1234567890",
+			"2024-01-01T10:15Z", "2024-01-01T10:15:30Z", "2024-01-01T10:15:30z", "2024-01-01T10:15:30.5Z",
+			"2024-01-01T10:15:30+01:00", "2024-01-01T10:15:30-18:00", "2024-01-01T10:15:30+18:01",
+			"2024-01-01T10:15:30+19:00", "2024-01-01T10:15:30+01", "2024-01-01T10:15:30+0100",
+			"2024-01-01T10:15:30+01:00:00", "2024-01-01T10:15:30+01:60", "2024-02-30T10:15:30Z",
+			"2024-01-01T10:15:30Zx", "+12024-01-01T10:15:30Z", "2024-01-01T23:59:60Z", "2024-01-01T24:00:00Z",
+			"30/02/2024", "29/02/2024", "2024-02-30 10:15:30", "2024-01-01 23:59:60", "20240229235959123", "2024-02",
+			"2024-13", "10:15", "24:00", "2024-01-01T10:15+01:00" };
+
+	@Test
+	void localDate() {
+		assertSameAsFormatter(DateTimeFormatter.ofPattern("uuuu-MM-dd").withResolverStyle(ResolverStyle.STRICT),
+				IsoDateTimeLayouts::isLocalDate, CharSequenceConstraint::isoLocalDate);
+	}
+
+	@Test
+	void localDateTime() {
+		assertSameAsFormatter(DateTimeFormatter.ISO_LOCAL_DATE_TIME, IsoDateTimeLayouts::isLocalDateTime,
+				CharSequenceConstraint::isoLocalDateTime);
+	}
+
+	@Test
+	void offsetDateTime() {
+		assertSameAsFormatter(DateTimeFormatter.ISO_OFFSET_DATE_TIME, IsoDateTimeLayouts::isOffsetDateTime,
+				CharSequenceConstraint::isoOffsetDateTime);
+	}
+
+	@Test
+	void instant() {
+		assertSameAsFormatter(DateTimeFormatter.ISO_INSTANT, IsoDateTimeLayouts::isInstant,
+				CharSequenceConstraint::isoInstant);
+	}
+
+	@Test
+	void localDatePattern() {
+		for (String pattern : new String[] { "uuuu-MM-dd", "dd/MM/uuuu", "uuuu-MM-dd HH:mm:ss",
+				"uuuu-MM-dd['T'HH:mm[:ss[.SSS]]]", "uuuuMMddHHmmssn", "uuuu-MM", "HH:mm", "yyyy-MM-dd",
+				"uuuu-MM-dd'T'HH:mmXXX" }) {
+			assertSameAsFormatter(DateTimeFormatter.ofPattern(pattern).withResolverStyle(ResolverStyle.STRICT),
+					x -> false, c -> c.localDate(pattern));
+		}
+	}
+
+	@Test
+	void resolvesIsoFieldsWithoutTheFormatter() {
+		assertThat(IsoDateTimeLayouts.hasIsoFields("dd/MM/uuuu HH:mm:ss.SSS")).isTrue();
+		assertThat(IsoDateTimeLayouts.hasIsoFields("uuuu-MM-dd'T'HH:mm")).isTrue();
+		assertThat(IsoDateTimeLayouts.hasIsoFields("yyyy-MM-dd")).isFalse();
+		assertThat(IsoDateTimeLayouts.hasIsoFields("uuuu-MM-dd'T'HH:mmXXX")).isFalse();
+		final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm")
+			.withResolverStyle(ResolverStyle.STRICT);
+		assertThat(IsoDateTimeLayouts.resolve(formatter.parseUnresolved("2024-02-29 23:59", new ParsePosition(0))))
+			.isEqualTo(IsoDateTimeLayouts.VALID);
+		assertThat(IsoDateTimeLayouts.resolve(formatter.parseUnresolved("2024-02-30 10:15", new ParsePosition(0))))
+			.isEqualTo(IsoDateTimeLayouts.INVALID);
+		assertThat(IsoDateTimeLayouts.resolve(formatter.parseUnresolved("2024-02-28 24:00", new ParsePosition(0))))
+			.isEqualTo(IsoDateTimeLayouts.INVALID);
+	}
+
+	/**
+	 * The fast path must never accept what the formatter rejects, and the constraint must
+	 * agree with the formatter.
+	 */
+	static void assertSameAsFormatter(DateTimeFormatter formatter, Predicate<CharSequence> fastPath,
+			Function<CharSequenceConstraint<String, String>, CharSequenceConstraint<String, String>> constraint) {
+		final Predicate<String> predicate = constraint.apply(new CharSequenceConstraint<>())
+			.predicates()
+			.peekFirst()
+			.predicate();
+		final Random random = new Random(42);
+		final char[] mutations = { '0', '1', '2', '3', '5', '9', '-', ':', 'T', 'Z', '+', '.' };
+		for (String value : VALUES) {
+			assertSameAsFormatter(formatter, fastPath, predicate, value);
+			for (int i = 0; i < 200 && !value.isEmpty(); i++) {
+				final char[] chars = value.toCharArray();
+				chars[random.nextInt(chars.length)] = mutations[random.nextInt(mutations.length)];
+				assertSameAsFormatter(formatter, fastPath, predicate, new String(chars));
+			}
+		}
+	}
+
+	static void assertSameAsFormatter(DateTimeFormatter formatter, Predicate<CharSequence> fastPath,
+			Predicate<String> predicate, String value) {
+		boolean expected;
+		try {
+			formatter.parse(value);
+			expected = true;
+		}
+		catch (DateTimeException e) {
+			expected = false;
+		}
+		if (fastPath.test(value)) {
+			assertThat(expected).describedAs("fast path accepts %s", value).isTrue();
+		}
+		assertThat(predicate.test(value)).describedAs("%s", value).isEqualTo(expected);
+	}
+
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.function.Function;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import am.ik.yavi.core.ConstraintViolations;
+import am.ik.yavi.core.Validator;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextStreamConstraintTest {
+
+	static final String[] ALPHABET = { "a", "b", "あ", "𠮷", "\r", "\n", "\r\n", "ab" };
+
+	@Test
+	void sameAsString() {
+		final Random random = new Random(25);
+		for (int i = 0; i < 300; i++) {
+			final String s = randomString(random, i % 3 == 0 ? 10_000 : 20);
+			final int size = s.codePointCount(0, s.length());
+			final int lines = lines(s);
+			final String t = randomString(random, 3);
+			for (int limit : new int[] { 0, size - 1, size, size + 1 }) {
+				assertThat(readerValid(c -> c.lessThanOrEqual(limit), s, random)).isEqualTo(size <= limit);
+				assertThat(readerValid(c -> c.greaterThan(limit), s, random)).isEqualTo(size > limit);
+				assertThat(readerValid(c -> c.linesLessThanOrEqual(limit), s, random)).isEqualTo(lines <= limit);
+			}
+			assertThat(readerValid(c -> c.fixedSize(size), s, random)).isTrue();
+			assertThat(readerValid(c -> c.notContains(t), s, random)).isEqualTo(!s.contains(t));
+			assertThat(readerValid(c -> c.codePoints(0, 0x7F).asWhiteList(), s, random))
+				.isEqualTo(s.codePoints().allMatch(x -> x <= 0x7F));
+			final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+			assertThat(inputStreamValid(c -> c.asByteArray().fixedSize(bytes.length), bytes)).isTrue();
+			assertThat(inputStreamValid(c -> c.fixedSize(size).asByteArray().lessThan(bytes.length), bytes)).isFalse();
+			assertThat(inputStreamValid(c -> c.linesLessThanOrEqual(lines).notContains(t), bytes))
+				.isEqualTo(!s.contains(t));
+		}
+	}
+
+	@Test
+	void loneSurrogates() {
+		final String s = "a\uD842𠮷\uDFB7";
+		assertThat(readerValid(c -> c.fixedSize(4), s, new Random(25))).isTrue();
+		assertThat(readerValid(c -> c.notContains("\uDFB7\uDFB7"), s, new Random(25))).isFalse();
+	}
+
+	@Test
+	void stopsReadingOnceDecided() {
+		final CountingReader reader = new CountingReader(50_000_000);
+		final ConstraintViolations violations = ValidatorBuilder.<Reader>of()
+			._reader(x -> x, "text", c -> c.notEmpty().lessThanOrEqual(1000).notContains("\n\n"))
+			.build()
+			.validate(reader);
+		assertThat(violations).hasSize(2);
+		assertThat(violations.get(0).messageKey()).isEqualTo("container.lessThanOrEqual");
+		assertThat(violations.get(1).messageKey()).isEqualTo("textStream.notContains");
+		assertThat(reader.read).isLessThan(10_000);
+	}
+
+	@Test
+	void stopsReadingBytesOnceDecided() {
+		final byte[] bytes = new byte[50_000_000];
+		Arrays.fill(bytes, (byte) 'a');
+		final ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+		assertThat(ValidatorBuilder.<InputStream>of()
+			._inputStream(x -> x, "text", StandardCharsets.UTF_8, c -> c.asByteArray().lessThanOrEqual(1000))
+			.build()
+			.isValid(in)).isFalse();
+		assertThat(bytes.length - in.available()).isLessThan(10_000);
+	}
+
+	@Test
+	void validator() {
+		final Validator<Reader> validator = ValidatorBuilder.<Reader>of()
+			._reader(x -> x, "text",
+					c -> c.notEmpty()
+						.lessThanOrEqual(5)
+						.linesLessThanOrEqual(1)
+						.notContains("<script")
+						.codePoints(0x20, 0x7E)
+						.asWhiteList())
+			.build();
+		assertThat(validator.validate(new StringReader("hello"))).isEmpty();
+		final ConstraintViolations violations = validator.validate(new StringReader("a<script>\nあ"));
+		assertThat(violations).hasSize(4);
+		assertThat(violations.get(0).message())
+			.isEqualTo("The size of \"text\" must be less than or equal to 5. The given size is 11");
+		assertThat(violations.get(1).message())
+			.isEqualTo("The number of lines of \"text\" must be less than or equal to 1. The given number is 2");
+		assertThat(violations.get(2).message()).isEqualTo("\"text\" must not contain <script");
+		assertThat(violations.get(3).message()).isEqualTo("\"[\n, あ]\" is/are not allowed for \"text\"");
+		assertThat(validator.validate(new StringReader(""))).hasSize(1);
+	}
+
+	@Test
+	void singleConstraintReadsOnce() {
+		final ConstraintViolations violations = ValidatorBuilder.<Reader>of()
+			._reader(x -> x, "text", c -> c.lessThan(3))
+			.build()
+			.validate(new StringReader("abcd"));
+		assertThat(violations).hasSize(1);
+		assertThat(violations.get(0).args()[2]).isEqualTo(4);
+	}
+
+	@Test
+	void codePointsViolatedValue() {
+		final ConstraintViolations violations = ValidatorBuilder.<Reader>of()
+			._reader(x -> x, "text", c -> c.codePoints(Collections.singleton((int) 'a')).asBlackList())
+			.build()
+			.validate(new StringReader("bab"));
+		assertThat(violations).hasSize(1);
+		assertThat(violations.get(0).args()[1]).isEqualTo(Collections.singletonList("a"));
+	}
+
+	@Test
+	void secondStreamConstraintOnSameProperty() {
+		final ValidatorBuilder<Reader> builder = ValidatorBuilder.<Reader>of()
+			._reader(x -> x, "text", c -> c.lessThanOrEqual(5));
+		assertThatThrownBy(() -> builder._reader(x -> x, "text", c -> c.notContains("evil")))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void predicatesOutsideValidator() {
+		final TextStreamConstraint<Reader, Reader> constraint = TextStreamConstraint.<Reader>reader()
+			.lessThanOrEqual(5);
+		assertThatThrownBy(() -> constraint.predicates().peekFirst().predicate().test(new StringReader("xx")))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("while a Validator evaluates");
+	}
+
+	@Test
+	void validateTwiceChecksTheRemainder() {
+		final Validator<Reader> validator = ValidatorBuilder.<Reader>of()
+			._reader(x -> x, "text", c -> c.notContains("evil"))
+			.build();
+		final Reader reader = new StringReader("xx evil xx");
+		assertThat(validator.isValid(reader)).isFalse();
+		// nothing is remembered across validations, so only the unread rest is checked
+		assertThat(validator.validate(reader)).isEmpty();
+		assertThat(validator.validate(new StringReader("xx evil xx"))).hasSize(1);
+	}
+
+	@Test
+	void asByteArrayOfReader() {
+		assertThatThrownBy(() -> TextStreamConstraint.reader().asByteArray()).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void ioException() {
+		final Reader reader = new Reader() {
+			@Override
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				throw new IOException("broken");
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+		assertThatThrownBy(
+				() -> ValidatorBuilder.<Reader>of()._reader(x -> x, "text", c -> c.notEmpty()).build().validate(reader))
+			.isInstanceOf(UncheckedIOException.class)
+			.hasMessageContaining("broken");
+	}
+
+	static boolean readerValid(Function<TextStreamConstraint<Reader, Reader>, TextStreamConstraint<Reader, Reader>> c,
+			String s, Random random) {
+		final Reader reader = new ChoppyReader(new StringReader(s), 1 + random.nextInt(100));
+		return ValidatorBuilder.<Reader>of()._reader(x -> x, "text", c).build().isValid(reader);
+	}
+
+	static boolean inputStreamValid(
+			Function<TextStreamConstraint<InputStream, InputStream>, TextStreamConstraint<InputStream, InputStream>> c,
+			byte[] bytes) {
+		return ValidatorBuilder.<InputStream>of()
+			._inputStream(x -> x, "text", StandardCharsets.UTF_8, c)
+			.build()
+			.isValid(new ByteArrayInputStream(bytes));
+	}
+
+	static int lines(String s) {
+		try (BufferedReader reader = new BufferedReader(new StringReader(s))) {
+			int lines = 0;
+			while (reader.readLine() != null) {
+				lines++;
+			}
+			return lines;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	static String randomString(Random random, int maxLength) {
+		final StringBuilder sb = new StringBuilder();
+		final int length = random.nextInt(maxLength + 1);
+		for (int i = 0; i < length; i++) {
+			sb.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Returns at most the given number of characters per read, so that surrogate pairs,
+	 * line terminators and substrings are split across reads.
+	 */
+	static class ChoppyReader extends FilterReader {
+
+		private final int max;
+
+		ChoppyReader(Reader in, int max) {
+			super(in);
+			this.max = max;
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) throws IOException {
+			return super.read(cbuf, off, Math.min(len, this.max));
+		}
+
+	}
+
+	/**
+	 * Produces {@code "\n\n"} followed by {@code 'a'} up to the given length and counts
+	 * the characters read.
+	 */
+	static class CountingReader extends Reader {
+
+		private final int length;
+
+		int read;
+
+		CountingReader(int length) {
+			this.length = length;
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) {
+			if (this.read == this.length) {
+				return -1;
+			}
+			final int n = Math.min(len, this.length - this.read);
+			Arrays.fill(cbuf, off, off + n, 'a');
+			for (int i = 0; i < n && this.read + i < 2; i++) {
+				cbuf[off + i] = '\n';
+			}
+			this.read += n;
+			return n;
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import am.ik.yavi.core.ConstraintPredicate;
+import am.ik.yavi.core.ConstraintViolations;
+import am.ik.yavi.core.Validator;
+import am.ik.yavi.jsr305.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Utf8ConstraintTest {
+
+	static final byte[] INTERESTING_BYTES = { 'a', 'b', 0x7F, (byte) 0x80, (byte) 0x8F, (byte) 0x9F, (byte) 0xA0,
+			(byte) 0xBF, (byte) 0xC0, (byte) 0xC1, (byte) 0xC2, (byte) 0xDF, (byte) 0xE0, (byte) 0xE3, (byte) 0xED,
+			(byte) 0xEF, (byte) 0xF0, (byte) 0xF4, (byte) 0xF5, (byte) 0xFF };
+
+	@Test
+	void wellFormedSameAsDecoder() {
+		final Predicate<byte[]> bytes = bytesPredicate(Utf8Constraint::wellFormed);
+		final Predicate<ByteBuffer> buffer = bufferPredicate(Utf8Constraint::wellFormed);
+		final Random random = new Random(24);
+		for (int i = 0; i < 200_000; i++) {
+			final byte[] value = randomBytes(random);
+			final boolean expected = decode(value) != null;
+			assertThat(bytes.test(value)).describedAs(Arrays.toString(value)).isEqualTo(expected);
+			assertThat(buffer.test(slice(value))).describedAs(Arrays.toString(value)).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void sizeSameAsDecodedString() {
+		final Random random = new Random(24);
+		for (int i = 0; i < 100_000; i++) {
+			final byte[] value = randomBytes(random);
+			final String decoded = decode(value);
+			if (decoded == null) {
+				continue;
+			}
+			final int size = decoded.codePointCount(0, decoded.length());
+			assertThat(bytesPredicate(c -> c.fixedSize(size)).test(value)).isTrue();
+			assertThat(bufferPredicate(c -> c.fixedSize(size)).test(slice(value))).isTrue();
+			assertThat(bytesPredicate(c -> c.asByteArray().fixedSize(value.length)).test(value)).isTrue();
+			assertThat(bufferPredicate(c -> c.asByteArray().fixedSize(value.length)).test(slice(value))).isTrue();
+		}
+	}
+
+	@Test
+	void size() {
+		final byte[] value = "あい𠮷a".getBytes(StandardCharsets.UTF_8);
+		assertThat(bytesPredicate(c -> c.lessThanOrEqual(4)).test(value)).isTrue();
+		assertThat(bytesPredicate(c -> c.lessThan(4)).test(value)).isFalse();
+		assertThat(bytesPredicate(c -> c.greaterThan(3)).test(value)).isTrue();
+		assertThat(bytesPredicate(c -> c.greaterThanOrEqual(5)).test(value)).isFalse();
+		assertThat(bytesPredicate(c -> c.asByteArray().lessThanOrEqual(11)).test(value)).isTrue();
+		assertThat(bytesPredicate(c -> c.asByteArray().lessThan(11)).test(value)).isFalse();
+	}
+
+	@Test
+	void malformedBytesCountAsOneCodePointEach() {
+		assertThat(bytesPredicate(Utf8Constraint::notEmpty).test(new byte[] { (byte) 0x80 })).isTrue();
+		final byte[] continuations = new byte[1000];
+		Arrays.fill(continuations, (byte) 0x80);
+		assertThat(bytesPredicate(c -> c.lessThanOrEqual(3)).test(continuations)).isFalse();
+		assertThat(bufferPredicate(c -> c.fixedSize(1000)).test(slice(continuations))).isTrue();
+		// a truncated sequence, then a stray continuation byte
+		assertThat(bytesPredicate(c -> c.fixedSize(3)).test(new byte[] { 'a', (byte) 0xE3, (byte) 0x81 })).isTrue();
+	}
+
+	@Test
+	void ascii() {
+		assertThat(bytesPredicate(Utf8Constraint::ascii).test("abc\u007F".getBytes(StandardCharsets.UTF_8))).isTrue();
+		assertThat(bytesPredicate(Utf8Constraint::ascii).test("abcé".getBytes(StandardCharsets.UTF_8))).isFalse();
+		assertThat(bufferPredicate(Utf8Constraint::ascii).test(slice("abc".getBytes(StandardCharsets.UTF_8)))).isTrue();
+	}
+
+	@Test
+	void startsWithAndContainsSameAsDecodedString() {
+		final String[] alphabet = { "a", "é", "あ", "𠮷" };
+		final Random random = new Random(24);
+		for (int i = 0; i < 20_000; i++) {
+			final String s = randomString(random, alphabet, 6);
+			final String t = randomString(random, alphabet, 3);
+			final byte[] value = s.getBytes(StandardCharsets.UTF_8);
+			assertThat(bytesPredicate(c -> c.startsWith(t)).test(value)).isEqualTo(s.startsWith(t));
+			assertThat(bytesPredicate(c -> c.contains(t)).test(value)).isEqualTo(s.contains(t));
+			assertThat(bufferPredicate(c -> c.startsWith(t)).test(slice(value))).isEqualTo(s.startsWith(t));
+			assertThat(bufferPredicate(c -> c.contains(t)).test(slice(value))).isEqualTo(s.contains(t));
+		}
+	}
+
+	@Test
+	void codePointsWhiteList() {
+		final ConstraintPredicate<byte[]> predicate = Utf8Constraint.<Object>bytes()
+			.codePoints(0x3041, 0x3096)
+			.asWhiteList()
+			.predicates()
+			.peekFirst();
+		assertThat(predicate.test("あいう".getBytes(StandardCharsets.UTF_8))).isTrue();
+		final byte[] value = "あaいbaア".getBytes(StandardCharsets.UTF_8);
+		assertThat(predicate.test(value)).isFalse();
+		assertThat(predicate.toViolatedValue(value).value()).isEqualTo(Arrays.asList("a", "b", "ア"));
+		assertThat(predicate.toViolatedValue(new byte[] { (byte) 0xFF }).value())
+			.isEqualTo(Collections.singletonList("�"));
+	}
+
+	@Test
+	void codePointsBlackList() {
+		final ConstraintPredicate<byte[]> predicate = Utf8Constraint.<Object>bytes()
+			.codePoints(new HashSet<>(Arrays.asList((int) 'a', 0x20BB7)))
+			.asBlackList()
+			.predicates()
+			.peekFirst();
+		assertThat(predicate.test("bcd".getBytes(StandardCharsets.UTF_8))).isTrue();
+		final byte[] value = "𠮷ba𠮷".getBytes(StandardCharsets.UTF_8);
+		assertThat(predicate.test(value)).isFalse();
+		assertThat(predicate.toViolatedValue(value).value()).isEqualTo(Arrays.asList("𠮷", "a"));
+	}
+
+	@Test
+	void validator() {
+		final Validator<Message> validator = ValidatorBuilder.<Message>of()
+			._utf8Bytes(Message::header, "header", c -> c.notEmpty().wellFormed().ascii().asByteArray().lessThan(8))
+			._utf8Buffer(Message::body, "body", c -> c.wellFormed().lessThanOrEqual(3).startsWith("あ"))
+			.build();
+		final ByteBuffer body = ByteBuffer.wrap("xあいう".getBytes(StandardCharsets.UTF_8));
+		body.position(1);
+		assertThat(validator.validate(new Message("abc".getBytes(StandardCharsets.UTF_8), body))).isEmpty();
+		assertThat(body.position()).isEqualTo(1);
+		body.position(0);
+		final ConstraintViolations violations = validator
+			.validate(new Message(new byte[] { 'a', (byte) 0xC0, (byte) 0x80, 'b', 'c', 'd', 'e', 'f' }, body));
+		assertThat(violations).hasSize(5);
+		assertThat(violations.get(0).message()).isEqualTo("\"header\" must be well-formed UTF-8");
+		assertThat(violations.get(1).message()).isEqualTo("\"header\" must consist of ASCII characters only");
+		assertThat(violations.get(2).message())
+			.isEqualTo("The byte size of \"header\" must be less than 8. The given size is 8");
+		assertThat(violations.get(3).message())
+			.isEqualTo("The size of \"body\" must be less than or equal to 3. The given size is 4");
+		assertThat(violations.get(4).message()).isEqualTo("\"body\" must start with \"あ\"");
+		// only notEmpty() rejects null
+		assertThat(validator.validate(new Message(null, null))).hasSize(1);
+	}
+
+	static <V> Predicate<V> predicate(Utf8Constraint<Object, V> constraint,
+			Function<Utf8Constraint<Object, V>, Utf8Constraint<Object, V>> f) {
+		return f.apply(constraint).predicates().peekFirst().predicate();
+	}
+
+	static Predicate<byte[]> bytesPredicate(
+			Function<Utf8Constraint<Object, byte[]>, Utf8Constraint<Object, byte[]>> f) {
+		return predicate(Utf8Constraint.bytes(), f);
+	}
+
+	static Predicate<ByteBuffer> bufferPredicate(
+			Function<Utf8Constraint<Object, ByteBuffer>, Utf8Constraint<Object, ByteBuffer>> f) {
+		return predicate(Utf8Constraint.buffer(), f);
+	}
+
+	static byte[] randomBytes(Random random) {
+		final byte[] value = new byte[random.nextInt(7)];
+		for (int j = 0; j < value.length; j++) {
+			value[j] = random.nextInt(4) == 0 ? (byte) random.nextInt(256)
+					: INTERESTING_BYTES[random.nextInt(INTERESTING_BYTES.length)];
+		}
+		return value;
+	}
+
+	static String randomString(Random random, String[] alphabet, int maxLength) {
+		final StringBuilder sb = new StringBuilder();
+		final int length = random.nextInt(maxLength + 1);
+		for (int i = 0; i < length; i++) {
+			sb.append(alphabet[random.nextInt(alphabet.length)]);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the remaining bytes of a direct buffer whose position is not zero.
+	 */
+	static ByteBuffer slice(byte[] value) {
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(value.length + 2);
+		buffer.put((byte) 0xFF).put(value).put((byte) 'z').flip();
+		buffer.position(1).limit(value.length + 1);
+		return buffer;
+	}
+
+	@Nullable
+	static String decode(byte[] value) {
+		try {
+			final CharBuffer decoded = StandardCharsets.UTF_8.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPORT)
+				.onUnmappableCharacter(CodingErrorAction.REPORT)
+				.decode(ByteBuffer.wrap(value));
+			return decoded.toString();
+		}
+		catch (CharacterCodingException e) {
+			return null;
+		}
+	}
+
+	static class Message {
+
+		private final byte[] header;
+
+		private final ByteBuffer body;
+
+		Message(byte[] header, ByteBuffer body) {
+			this.header = header;
+			this.body = body;
+		}
+
+		byte[] header() {
+			return this.header;
+		}
+
+		ByteBuffer body() {
+			return this.body;
+		}
+
+	}
+
+}
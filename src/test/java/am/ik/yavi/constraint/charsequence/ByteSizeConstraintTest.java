@@ -15,6 +15,9 @@
  */
 package am.ik.yavi.constraint.charsequence;
 
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
 import java.util.function.Predicate;
 
 import org.junit.jupiter.api.Test;
@@ -76,4 +79,19 @@ class ByteSizeConstraintTest {
 		assertThat(predicate.test("あa")).isFalse(); // 4
 	}
 
+	@Test
+	void utf8LengthSameAsGetBytes() {
+		final char[] alphabet = { 'a', '\u007F', '\u0080', '\u07FF', '\u0800', 'あ', '\uFFFF', '\uD842', '\uDFB7' };
+		final Random random = new Random(23);
+		for (int i = 0; i < 20_000; i++) {
+			final char[] chars = new char[random.nextInt(8)];
+			for (int j = 0; j < chars.length; j++) {
+				chars[j] = alphabet[random.nextInt(alphabet.length)];
+			}
+			final String s = new String(chars);
+			assertThat(ByteSizeConstraint.utf8Length(CharBuffer.wrap(s)))
+				.isEqualTo(s.getBytes(StandardCharsets.UTF_8).length);
+		}
+	}
+
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+import java.util.regex.Pattern;
+
+import am.ik.yavi.constraint.inetaddress.InetAddressUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailAddressUtilsTest {
+
+	// the regular expression email() used to match
+	static final String EMAIL_PART = "[^\\x00-\\x1F()<>@,;:\\\\\".\\[\\]\\s]";
+
+	static final String DOMAIN_PATTERN = EMAIL_PART + "+(\\." + EMAIL_PART + "+)*";
+
+	static final Pattern VALID_EMAIL_ADDRESS_REGEX = Pattern.compile("^" + EMAIL_PART + "+(\\." + EMAIL_PART + "+)*@("
+			+ DOMAIN_PATTERN + "|" + InetAddressUtils.IPV4_REGEX + ")$", Pattern.CASE_INSENSITIVE);
+
+	@ParameterizedTest
+	@ValueSource(strings = { "abc@example.com", "abc@localhost", "abc@192.168.1.10", "東京@example.com", "a.b.c@d.e",
+			"!#$%&'*+-/=?^_`{|}~@example.com", "😀@example.com" })
+	void validEmailAddress(String value) {
+		assertThat(EmailAddressUtils.isEmailAddress(value)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "example.com", "abc@@example.com", "@example.com", "abc@", ".abc@example.com",
+			"abc.@example.com", "a..b@example.com", "abc@example.com.", "abc@.example.com", "a b@example.com",
+			"abc@example.com\n", "\"abc\"@example.com", "abc@[192.168.1.10]", "a@b@c" })
+	void invalidEmailAddress(String value) {
+		assertThat(EmailAddressUtils.isEmailAddress(value)).isFalse();
+	}
+
+	@Test
+	void everyShortStringIsClassifiedLikeTheRegex() {
+		final char[] alphabet = { 'a', 'Z', '0', '.', '@', ' ', '(', '"', '\n', 'あ' };
+		for (int length = 0; length <= 6; length++) {
+			final char[] chars = new char[length];
+			final int[] digits = new int[length];
+			while (true) {
+				for (int i = 0; i < length; i++) {
+					chars[i] = alphabet[digits[i]];
+				}
+				final String s = new String(chars);
+				assertThat(EmailAddressUtils.isEmailAddress(s)).describedAs("%s", s)
+					.isEqualTo(VALID_EMAIL_ADDRESS_REGEX.matcher(s).matches());
+				int i = 0;
+				while (i < length && ++digits[i] == alphabet.length) {
+					digits[i++] = 0;
+				}
+				if (i == length) {
+					break;
+				}
+			}
+		}
+	}
+
+	@Test
+	void everyCharIsClassifiedLikeTheRegex() {
+		for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++) {
+			for (String s : new String[] { (char) c + "@b", "a@" + (char) c, "a" + (char) c + "b@c.d",
+					"a@b" + (char) c + "c.d" }) {
+				assertThat(EmailAddressUtils.isEmailAddress(s)).describedAs("U+%04X in %s", c, s)
+					.isEqualTo(VALID_EMAIL_ADDRESS_REGEX.matcher(s).matches());
+			}
+		}
+	}
+
+}
@@ -18,6 +18,10 @@ package am.ik.yavi.constraint.charsequence;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import am.ik.yavi.constraint.charsequence.variant.StandardizedVariationSequence;
 
 import org.junit.jupiter.api.Test;
 
@@ -75,6 +79,48 @@ class EmojiTest {
 		assertThat(Emoji.bestEffortCount(emoji)).isEqualTo(3);
 	}
 
+	@Test
+	void sameAsPreviousImplementation() {
+		final int[] alphabet = { 'a', 'X', 0x200D, 0xFE0E, 0xFE0F, 0x20E3, 0x2620, 0x261D, 0x2764, 0x1F3FB, 0x1F3FF,
+				0x1F9D1, 0x1F9DD, 0x1F9DE, 0x1FA79, 0x1FAC3, 0x1FAF0, 0x1FAF7, 0x1F1E6, 0x1F1EF, 0x1F1FF, 0x1F3F4,
+				0xE0067, 0xE0062, 0xE0065, 0xE006E, 0xE0073, 0xE0063, 0xE0074, 0xE0077, 0xE006C, 0xE007F, 0xD83C,
+				0xD83E, 0xDFFB, 0xDDD1 };
+		final Random random = new Random(20);
+		for (int i = 0; i < 200_000; i++) {
+			final StringBuilder sb = new StringBuilder();
+			final int length = random.nextInt(12);
+			for (int j = 0; j < length; j++) {
+				sb.appendCodePoint(alphabet[random.nextInt(alphabet.length)]);
+			}
+			final String s = sb.toString();
+			assertThat(Emoji.bestEffortCount(s))
+				.describedAs(s.codePoints().mapToObj(Integer::toHexString).collect(Collectors.joining(" ")))
+				.isEqualTo(PreviousEmoji.bestEffortCount(s));
+		}
+	}
+
+	@Test
+	void sameAsPreviousImplementationForAllEmojis() throws Exception {
+		for (String file : new String[] { "emoji-test-11.txt", "emoji-test-12.txt", "emoji-test-14.txt" }) {
+			final StringBuilder all = new StringBuilder();
+			try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(this.getClass().getClassLoader().getResourceAsStream(file)))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					if (line.startsWith("#") || line.isEmpty()) {
+						continue;
+					}
+					final int[] codePoints = Arrays.stream(line.split(";")[0].trim().split(" "))
+						.mapToInt(x -> Integer.parseInt(x, 16))
+						.toArray();
+					all.append(new String(codePoints, 0, codePoints.length));
+				}
+			}
+			// adjacent emojis interact with each other, unlike verifyEmojiAll
+			assertThat(Emoji.bestEffortCount(all.toString())).isEqualTo(PreviousEmoji.bestEffortCount(all.toString()));
+		}
+	}
+
 	void verifyEmojiAll(String file) throws Exception {
 		try (BufferedReader reader = new BufferedReader(
 				new InputStreamReader(this.getClass().getClassLoader().getResourceAsStream(file)))) {
@@ -98,4 +144,64 @@ class EmojiTest {
 		}
 	}
 
+	/**
+	 * The regex based implementation before 0.17.0.
+	 */
+	static class PreviousEmoji {
+
+		private static final String COMBINING_ENCLOSING_KEYCAP = new String(new int[] { 0x20E3 }, 0, 1);
+
+		private static final String DUMMY_REPLACEMENT = "X";
+
+		private static final String ELF = new String(new int[] { 0x1F9DD }, 0, 1);
+
+		private static final String E140_SKIN_RANGE = new String(new int[] { 0x1FAF0 }, 0, 1) + "-"
+				+ new String(new int[] { 0x1FAF6 }, 0, 1) + new String(new int[] { 0x1FAC3 }, 0, 1) + "-"
+				+ new String(new int[] { 0x1FAC5 }, 0, 1);
+
+		private static final String ENGLAND = new String(
+				new int[] { 0x1F3F4, 0xE0067, 0xE0062, 0xE0065, 0xE006E, 0xE0067, 0xE007F }, 0, 7);
+
+		private static final String PERSON = new String(new int[] { 0x1F9D1 }, 0, 1);
+
+		private static final String REGIONAL_INDICATOR_SYMBOL_LETTER_RANGE = new String(new int[] { 0x1F1E6 }, 0, 1)
+				+ "-" + new String(new int[] { 0x1F1FF }, 0, 1);
+
+		private static final String SCOTLAND = new String(
+				new int[] { 0x1F3F4, 0xE0067, 0xE0062, 0xE0073, 0xE0063, 0xE0074, 0xE007F }, 0, 7);
+
+		private static final String SKIN_TONE_SELECTOR_RANGE = new String(new int[] { 0x1F3FB }, 0, 1) + "-"
+				+ new String(new int[] { 0x1F3FF }, 0, 1);
+
+		private static final String SKUL_AND_CROSSBONES = new String(new int[] { 0x2620 }, 0, 1);
+
+		private static final String WALES = new String(
+				new int[] { 0x1F3F4, 0xE0067, 0xE0062, 0xE0077, 0xE006C, 0xE0073, 0xE007F }, 0, 7);
+
+		private static final String WHITE_UP_POINTING_INDEX = new String(new int[] { 0x261D }, 0, 1);
+
+		private static final String ADHESIVE_BANDAGE = new String(new int[] { 0x1FA79 }, 0, 1);
+
+		private static final String ZERO_WIDTH_JOINER = "\u200D";
+
+		static int bestEffortCount(String str) {
+			if (str == null || str.isEmpty()) {
+				return 0;
+			}
+			String s = str.replaceAll("[" + StandardizedVariationSequence.RANGE + COMBINING_ENCLOSING_KEYCAP + "]", "") //
+				.replaceAll("([" + WHITE_UP_POINTING_INDEX + "-" + ELF + E140_SKIN_RANGE + "]["
+						+ SKIN_TONE_SELECTOR_RANGE + "])", DUMMY_REPLACEMENT)
+				.replaceAll(
+						"([" + ZERO_WIDTH_JOINER + "][" + SKUL_AND_CROSSBONES + "-" + PERSON + ADHESIVE_BANDAGE + "])",
+						"") //
+				.replaceAll("([" + REGIONAL_INDICATOR_SYMBOL_LETTER_RANGE + "]{2})", DUMMY_REPLACEMENT) //
+				.replace(ENGLAND, DUMMY_REPLACEMENT) //
+				.replace(SCOTLAND, DUMMY_REPLACEMENT) //
+				.replace(WALES, DUMMY_REPLACEMENT) //
+				.replaceAll("(" + DUMMY_REPLACEMENT + ZERO_WIDTH_JOINER + DUMMY_REPLACEMENT + ")", DUMMY_REPLACEMENT);
+			return s.codePointCount(0, s.length());
+		}
+
+	}
+
 }
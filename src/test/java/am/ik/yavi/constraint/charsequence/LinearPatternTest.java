@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class LinearPatternTest {
+
+	static final String[] REGEXES = { "", "a", "abc", "a|b|", "a*", "a+b?", "(ab)*c", "(a|ab)(c|bcd)(d*)", "[a-c]+",
+			"[^a-c]*", "[-a]", "[a-]+", "[]a]", "[\\]\\-\\\\]+", "\\d{2,4}", "\\D\\w\\W\\s\\S", "a{0}", "a{3}", "a{2,}",
+			"(a{1,2}){2}", "a*?b+?c??", "(?:a|b)*", "(?<name>ab)+", ".*", ".+x", "^a$", "^$", "a$\\n?", "\\Aab\\z",
+			"ab\\Z\\n?", "\\Qa.b\\E+", "\\Q\\E", "\\t\\x41\\u00e9\\x{1F600}\\0101", "\\.\\*\\+",
+			"\\p{Lower}+\\p{Upper}*", "\\p{Alpha}\\p{Digit}\\p{Alnum}\\p{Punct}", "\\p{XDigit}+", "\\p{L}+", "\\pL\\PL",
+			"\\p{Lu}\\p{IsLatin}+", "\\p{InGreek}+", "\\p{IsAlphabetic}+", "[\\p{Lu}\\d]+", "[^\\s]+", "(a|b)*abb",
+			"(a*)*", "(a|a?)+", "(|a)+b", "[0-9]{4}-[0-9]{2}-[0-9]{2}", "\\p{Sc}\\p{Nd}+", "a{2}}", "x]" };
+
+	static final String[] INPUTS = { "", "a", "b", "ab", "abc", "aaa", "aab", "abb", "abab", "ababc", "abcd", "abbcd",
+			"aaaa", "ac", "c", "-", "]", "]-\\", "12", "1234", "12345", "1a_ !", "a\n", "ab\n", "ab\r\n", "\n", "a.b",
+			"a.bb", "\tAé😀A", ".*+", "abcXYZ", "xY", "a1b!", "aF09", "éè", "éA", "Aé", "αβ", "2025-01-01", "$100",
+			"a{2}}", "x]", "aaab", "abaabb", "😀" };
+
+	@Test
+	void matchesLikeJavaUtilRegex() {
+		for (String regex : REGEXES) {
+			final Pattern expected = Pattern.compile(regex);
+			final LinearPattern actual = LinearPattern.compile(regex);
+			for (String input : INPUTS) {
+				assertThat(actual.matches(input)).describedAs("%s matches %s", regex, input)
+					.isEqualTo(expected.matcher(input).matches());
+			}
+		}
+	}
+
+	@Test
+	void matchesLikeJavaUtilRegexOnRandomPatterns() {
+		final Random random = new Random(12345);
+		final String[] atoms = { "a", "b", "c", ".", "[ab]", "[^a]", "\\d", "\\w", "(a|bc)", "(?:a*|b)", "(ab|)", "$",
+				"^" };
+		final String[] quantifiers = { "", "", "*", "+", "?", "{2}", "{0,2}", "{1,}", "*?" };
+		for (int i = 0; i < 2_000; i++) {
+			final StringBuilder regex = new StringBuilder();
+			final int length = 1 + random.nextInt(5);
+			for (int j = 0; j < length; j++) {
+				if (j > 0 && random.nextInt(6) == 0) {
+					regex.append('|');
+				}
+				regex.append(atoms[random.nextInt(atoms.length)]);
+				regex.append(quantifiers[random.nextInt(quantifiers.length)]);
+			}
+			final Pattern expected = Pattern.compile(regex.toString());
+			final LinearPattern actual = LinearPattern.compile(regex.toString());
+			for (int j = 0; j < 20; j++) {
+				final StringBuilder input = new StringBuilder();
+				final int inputLength = random.nextInt(7);
+				for (int k = 0; k < inputLength; k++) {
+					input.append("abc1_".charAt(random.nextInt(5)));
+				}
+				assertThat(actual.matches(input)).describedAs("%s matches %s", regex, input)
+					.isEqualTo(expected.matcher(input).matches());
+			}
+		}
+	}
+
+	@Test
+	void sharedAcrossThreads() throws Exception {
+		final LinearPattern pattern = LinearPattern.compile("(a|bc)*[ab]?c{1,2}$");
+		final Pattern expected = Pattern.compile(pattern.pattern());
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				final Random random = new Random(t);
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 20_000; i++) {
+						final StringBuilder input = new StringBuilder();
+						final int inputLength = random.nextInt(8);
+						for (int k = 0; k < inputLength; k++) {
+							input.append("abc".charAt(random.nextInt(3)));
+						}
+						assertThat(pattern.matches(input)).describedAs("%s", input)
+							.isEqualTo(expected.matcher(input).matches());
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "(a+)+$", "(a|a)*b", "(a|aa)+c", "(\\w+\\s?)+$", "(.*a){12}" })
+	void matchesInLinearTime(String regex) {
+		final LinearPattern pattern = LinearPattern.compile(regex);
+		final StringBuilder input = new StringBuilder();
+		for (int i = 0; i < 100_000; i++) {
+			input.append('a');
+		}
+		input.append('!');
+		assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertThat(pattern.matches(input)).isFalse());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "(a)\\1", "(?<x>a)\\k<x>", "a(?=b)", "a(?!b)", "(?<=a)b", "(?<!a)b", "(?>a)", "a++",
+			"(?i)a", "a(?i:b)", "\\ba", "a\\B", "\\Ga", "[a[b]]", "[a-z&&[^b]]", "\\p{NoSuchProperty}" })
+	void unsupportedConstructsAreRejected(String regex) {
+		assertThatThrownBy(() -> LinearPattern.compile(regex)).isInstanceOf(IllegalArgumentException.class)
+			.isNotInstanceOf(PatternSyntaxException.class)
+			.hasMessageContaining(regex);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "(a", "a)", "[a", "*a", "a{", "a{2,1}", "[b-a]", "\\y", "\\x4" })
+	void invalidSyntaxIsRejected(String regex) {
+		assertThatThrownBy(() -> Pattern.compile(regex)).isInstanceOf(PatternSyntaxException.class);
+		assertThatThrownBy(() -> LinearPattern.compile(regex)).isInstanceOf(PatternSyntaxException.class);
+	}
+
+	@Test
+	void tooLargeProgramIsRejected() {
+		assertThatThrownBy(() -> LinearPattern.compile("((a{1000}){1000}){1000}"))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("too large");
+	}
+
+}
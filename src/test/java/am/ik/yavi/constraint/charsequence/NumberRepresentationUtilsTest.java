@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NumberRepresentationUtilsTest {
+
+	static final String[] EDGE_CASES = { "", " ", "+", "-", "0", "-0", "+0", "00", "127", "128", "-128", "-129",
+			"32767", "32768", "-32768", "-32769", "2147483647", "2147483648", "-2147483648", "-2147483649",
+			"9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+			"99999999999999999999", "٣", "１２", "+-1", "1-", " 1", "1 ", "\t1.5\n", "1.", ".1", ".", "1.2.3", "1e",
+			"1e+", "1e-5", "1E5", "1e5f", "1e5d", "1D", "1.5F", "1ff", "1e5.0", "NaN", "-NaN", "NaNf", "nan",
+			"Infinity", "-Infinity", "Infinityd", "0x1p3", "0X1.8P-3f", "0x.8p1", "0x1.p1", "0xp1", "0x1", "0x1p",
+			"0x.p1", "-0x1p1", "0x1p1٣", "1e٣", "1.5e2147483647", "1e2147483648", "1e-2147483648", "1.5e-2147483648",
+			"1e0000000000005", "1e00000000000000000000", "1e12345678901", "0e-2147483647", "0.5e-2147483647", "1e+0",
+			"1.e1", "\u0000" + "1" };
+
+	@Test
+	void edgeCasesMatchTheJdkParsers() {
+		for (String s : EDGE_CASES) {
+			assertSameAsJdk(s);
+		}
+	}
+
+	@Test
+	void everyShortStringMatchesTheJdkParsers() {
+		final char[] alphabet = { '0', '1', '9', '-', '+', '.', 'e', 'x', 'p', 'f', 'N', ' ', '٣' };
+		for (int length = 0; length <= 4; length++) {
+			forEachString(alphabet, length, NumberRepresentationUtilsTest::assertSameAsJdk);
+		}
+	}
+
+	@Test
+	void randomNumbersMatchTheJdkParsers() {
+		final Random random = new Random(42);
+		for (int i = 0; i < 20_000; i++) {
+			assertSameAsJdk(String.valueOf(random.nextLong() >> random.nextInt(64)));
+			assertSameAsJdk(String.valueOf(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20)));
+			assertSameAsJdk(Float.toHexString(random.nextFloat()));
+			assertSameAsJdk(
+					new BigDecimal(random.nextGaussian()).scaleByPowerOfTen(random.nextInt(100) - 50).toString());
+		}
+	}
+
+	static void assertSameAsJdk(String s) {
+		assertThat(NumberRepresentationUtils.isByte(s)).describedAs("byte %s", s)
+			.isEqualTo(accepts(s, Byte::parseByte));
+		assertThat(NumberRepresentationUtils.isShort(s)).describedAs("short %s", s)
+			.isEqualTo(accepts(s, Short::parseShort));
+		assertThat(NumberRepresentationUtils.isInteger(s)).describedAs("int %s", s)
+			.isEqualTo(accepts(s, Integer::parseInt));
+		assertThat(NumberRepresentationUtils.isLong(s)).describedAs("long %s", s)
+			.isEqualTo(accepts(s, Long::parseLong));
+		assertThat(NumberRepresentationUtils.isFloat(s)).describedAs("float %s", s)
+			.isEqualTo(accepts(s, Float::parseFloat));
+		assertThat(NumberRepresentationUtils.isDouble(s)).describedAs("double %s", s)
+			.isEqualTo(accepts(s, Double::parseDouble));
+		assertThat(NumberRepresentationUtils.isBigInteger(s)).describedAs("BigInteger %s", s)
+			.isEqualTo(accepts(s, BigInteger::new));
+		assertThat(NumberRepresentationUtils.isBigDecimal(s)).describedAs("BigDecimal %s", s)
+			.isEqualTo(accepts(s, BigDecimal::new));
+	}
+
+	static boolean accepts(String s, Consumer<String> parser) {
+		try {
+			parser.accept(s);
+			return true;
+		}
+		catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	static void forEachString(char[] alphabet, int length, Consumer<String> action) {
+		final char[] chars = new char[length];
+		final int[] digits = new int[length];
+		while (true) {
+			for (int i = 0; i < length; i++) {
+				chars[i] = alphabet[digits[i]];
+			}
+			action.accept(new String(chars));
+			int i = 0;
+			while (i < length && ++digits[i] == alphabet.length) {
+				digits[i++] = 0;
+			}
+			if (i == length) {
+				return;
+			}
+		}
+	}
+
+}
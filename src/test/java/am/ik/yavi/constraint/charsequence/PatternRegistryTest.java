@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatternRegistryTest {
+
+	@AfterEach
+	void clear() {
+		PatternRegistry.clear();
+	}
+
+	@Test
+	void samePatternIsShared() {
+		final Pattern pattern = PatternRegistry.compile("[0-9]{4}");
+		assertThat(PatternRegistry.compile("[0-9]{4}")).isSameAs(pattern);
+		assertThat(pattern.matcher("1234").matches()).isTrue();
+	}
+
+	@Test
+	void flagsArePartOfTheKey() {
+		final Pattern pattern = PatternRegistry.compile("[a-z]+");
+		final Pattern caseInsensitive = PatternRegistry.compile("[a-z]+", Pattern.CASE_INSENSITIVE);
+		assertThat(caseInsensitive).isNotSameAs(pattern);
+		assertThat(pattern.matcher("ABC").matches()).isFalse();
+		assertThat(caseInsensitive.matcher("ABC").matches()).isTrue();
+	}
+
+	@Test
+	void registryIsBounded() {
+		for (int i = 0; i < PatternRegistry.MAX_SIZE * 3; i++) {
+			PatternRegistry.compile("a{" + i + "}");
+		}
+		assertThat(PatternRegistry.size()).isLessThanOrEqualTo(PatternRegistry.MAX_SIZE);
+	}
+
+	@Test
+	void concurrentCompile() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			final List<Callable<Pattern>> tasks = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				tasks.add(() -> PatternRegistry.compile("[0-9]+"));
+			}
+			final Pattern expected = PatternRegistry.compile("[0-9]+");
+			for (Future<Pattern> future : executor.invokeAll(tasks)) {
+				assertThat(future.get()).isSameAs(expected);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence.variant;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VariantOptionsTest {
+
+	@Test
+	void notIgnoreAll() {
+		final VariantOptions options = VariantOptions.builder().build();
+		final String s = "邊󠄇️";
+		assertThat(options.ignored(s)).isSameAs(s);
+		assertThat(options.codePointCount(s)).isEqualTo(3);
+	}
+
+	@Test
+	void noSelectorReturnsSameInstance() {
+		final VariantOptions options = VariantOptions.builder().ignoreAll().build();
+		final String s = "邊𠮟";
+		assertThat(options.ignored(s)).isSameAs(s);
+	}
+
+	@Test
+	void ignoreAll() {
+		final VariantOptions options = VariantOptions.builder().ignoreAll().build();
+		final String s = "邊󠄇ᠠ᠋❤️";
+		assertThat(options.ignored(s)).isEqualTo("邊ᠠ❤");
+		assertThat(options.codePointCount(s)).isEqualTo(3);
+	}
+
+	@Test
+	void sameAsRegex() {
+		final int[] alphabet = { 'a', 0x908A, 0x180A, 0x180B, 0x180D, 0x180E, 0xFDFF, 0xFE00, 0xFE0F, 0xFE10, 0xE00FF,
+				0xE0100, 0xE01EF, 0xE01F0, 0x20B9F, 0xD842, 0xDF9F, 0xDB40 };
+		final Random random = new Random(17);
+		for (StandardizedVariationSequence svs : StandardizedVariationSequence.values()) {
+			for (IdeographicVariationSequence ivs : IdeographicVariationSequence.values()) {
+				for (MongolianFreeVariationSelector fvs : MongolianFreeVariationSelector.values()) {
+					final VariantOptions options = new VariantOptions(svs, ivs, fvs);
+					final String regex = "[" + (svs.ignore() ? StandardizedVariationSequence.RANGE : "")
+							+ (ivs.ignore() ? IdeographicVariationSequence.RANGE : "")
+							+ (fvs.ignore() ? MongolianFreeVariationSelector.RANGE : "") + "]";
+					for (int i = 0; i < 20_000; i++) {
+						final StringBuilder sb = new StringBuilder();
+						final int length = random.nextInt(8);
+						for (int j = 0; j < length; j++) {
+							sb.appendCodePoint(alphabet[random.nextInt(alphabet.length)]);
+						}
+						final String s = sb.toString();
+						final String expected = regex.length() == 2 ? s : s.replaceAll(regex, "");
+						assertThat(options.ignored(s)).isEqualTo(expected);
+						assertThat(options.codePointCount(s)).isEqualTo(expected.codePointCount(0, expected.length()));
+					}
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.inetaddress;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import am.ik.yavi.core.ConstraintViolations;
+import am.ik.yavi.core.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CidrSetTest {
+
+	private final CidrSet cidrs = CidrSet.of("10.0.0.0/8", "192.168.1.0/24", "172.16.5.4", "2001:db8::/32", "fe80::/10",
+			"::1", "::ffff:0:0/96");
+
+	@ParameterizedTest
+	@ValueSource(strings = { "10.0.0.0", "10.255.255.255", "192.168.1.1", "172.16.5.4", "2001:db8::",
+			"2001:DB8:FFFF:FFFF:FFFF:FFFF:FFFF:FFFF", "fe80::1%eth0", "febf::1", "::1", "0:0:0:0:0:0:0:1",
+			"::ffff:1.2.3.4" })
+	void contains(String address) {
+		assertThat(this.cidrs.contains(address)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "9.255.255.255", "11.0.0.0", "192.168.2.1", "172.16.5.5", "2001:db9::", "fec0::1", "::2",
+			"::", "", "example.com", "10.0.0", "10.0.0.256", "2001:db8::1::1", "2001:db8::/32", "12345::" })
+	void doesNotContain(String address) {
+		assertThat(this.cidrs.contains(address)).isFalse();
+	}
+
+	@Test
+	void containsInetAddress() throws UnknownHostException {
+		assertThat(this.cidrs.contains(InetAddress.getByName("10.1.2.3"))).isTrue();
+		assertThat(this.cidrs.contains(InetAddress.getByName("2001:db8::1"))).isTrue();
+		assertThat(this.cidrs.contains(InetAddress.getByName("11.1.2.3"))).isFalse();
+		assertThat(this.cidrs.contains(InetAddress.getByName("2001:db9::1"))).isFalse();
+	}
+
+	@Test
+	void ipv4MappedAddressMatchesIpv4Ranges() throws UnknownHostException {
+		final CidrSet deny = CidrSet.of("10.0.0.0/8");
+		assertThat(deny.contains("::ffff:10.0.0.1")).isTrue();
+		assertThat(deny.contains("0:0:0:0:0:FFFF:a00:1")).isTrue();
+		assertThat(deny.contains("::ffff:11.0.0.1")).isFalse();
+		assertThat(deny.contains("::10.0.0.1")).isFalse();
+		assertThat(deny.contains("64:ff9b::10.0.0.1")).isFalse();
+		assertThat(deny.contains(InetAddress.getByName("::ffff:10.0.0.1"))).isTrue();
+		assertThat(deny.contains(Inet6Address.getByAddress(null,
+				new byte[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, (byte) 0xff, (byte) 0xff, 10, 0, 0, 1 }, null)))
+			.isTrue();
+		final Validator<String> validator = ValidatorBuilder.<String>of()
+			.constraint((String s) -> s, "address", c -> c.notInCidr(Collections.singletonList("10.0.0.0/8")))
+			.build();
+		assertThat(validator.validate("::ffff:10.0.0.1").isValid()).isFalse();
+		assertThat(validator.validate("::ffff:11.0.0.1").isValid()).isTrue();
+	}
+
+	@Test
+	void zeroPrefixLengthMatchesTheWholeFamily() {
+		final CidrSet any = CidrSet.of("0.0.0.0/0");
+		assertThat(any.contains("0.0.0.0")).isTrue();
+		assertThat(any.contains("255.255.255.255")).isTrue();
+		assertThat(any.contains("::1")).isFalse();
+		assertThat(CidrSet.of("::/0").contains("ffff::")).isTrue();
+	}
+
+	@Test
+	void hostBitsAreIgnored() {
+		final CidrSet set = CidrSet.of("10.1.2.3/8");
+		assertThat(set.contains("10.200.0.1")).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "10.0.0.0/", "10.0.0.0/33", "10.0.0.0/8/8", "10.0.0/8", "2001:db8::/129",
+			"2001:db8::/-1", "example.com/8", "10.0.0.0/1000" })
+	void invalidCidrIsRejected(String cidr) {
+		assertThatThrownBy(() -> CidrSet.of(cidr)).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Invalid CIDR");
+	}
+
+	@Test
+	void matchesLinearScanOverManyRanges() {
+		final Random random = new Random(42);
+		final int[] networks = new int[20_000];
+		final int[] prefixLengths = new int[networks.length];
+		final List<String> cidrs = new ArrayList<>();
+		for (int i = 0; i < networks.length; i++) {
+			networks[i] = random.nextInt();
+			prefixLengths[i] = 8 + random.nextInt(25);
+			cidrs.add(toString(networks[i]) + "/" + prefixLengths[i]);
+		}
+		final CidrSet set = CidrSet.of(cidrs);
+		for (int i = 0; i < 20_000; i++) {
+			// half of the addresses share a network's prefix
+			final int address = i % 2 == 0 ? random.nextInt()
+					: networks[random.nextInt(networks.length)] ^ (random.nextInt() >>> (8 + random.nextInt(24)));
+			boolean expected = false;
+			for (int j = 0; j < networks.length && !expected; j++) {
+				final int mask = -1 << (32 - prefixLengths[j]);
+				expected = (address & mask) == (networks[j] & mask);
+			}
+			assertThat(set.contains(toString(address))).describedAs(toString(address)).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void parsesWhatInetAddressUtilsAccepts() {
+		final CidrSet any = CidrSet.of("0.0.0.0/0", "::/0");
+		final CidrSet loopback = CidrSet.of("::1");
+		final String[] alphabet = { "0", "1", "f", "F", "g", ":", "::", ".", "+", "-", "%", "e", "\uFF11", "/",
+				"1.2.3.4" };
+		final Random random = new Random(16);
+		for (int i = 0; i < 200_000; i++) {
+			final StringBuilder sb = new StringBuilder();
+			final int length = random.nextInt(12);
+			for (int j = 0; j < length; j++) {
+				sb.append(alphabet[random.nextInt(alphabet.length)]);
+			}
+			final String s = sb.toString();
+			final boolean address = (InetAddressUtils.isIpv4(s) || InetAddressUtils.isIpv6(s)) && s.indexOf('/') < 0;
+			assertThat(any.contains(s)).describedAs(s).isEqualTo(address);
+		}
+		assertThat(loopback.contains("0:0:0:0:0:0:0:+1")).isTrue();
+		assertThat(loopback.contains("::\uFF11")).isTrue();
+		assertThat(loopback.contains("::-0:1")).isTrue();
+	}
+
+	@Test
+	void inetAddressConstraint() throws UnknownHostException {
+		final Validator<Server> validator = ValidatorBuilder.<Server>of()
+			._object(Server::address, "address", c -> c.notNull().predicate(CidrSet.of("10.0.0.0/8").inCidr()))
+			.build();
+		assertThat(validator.validate(new Server(InetAddress.getByName("10.0.0.1"))).isValid()).isTrue();
+		final ConstraintViolations violations = validator.validate(new Server(InetAddress.getByName("11.0.0.1")));
+		assertThat(violations).hasSize(1);
+		assertThat(violations.get(0).message()).isEqualTo("\"address\" must be in one of the allowed address ranges");
+		assertThat(violations.get(0).messageKey()).isEqualTo("inetAddress.inCidr");
+		final Validator<Server> denyValidator = ValidatorBuilder.<Server>of()
+			._object(Server::address, "address", c -> c.predicate(CidrSet.of("10.0.0.0/8").notInCidr()))
+			.build();
+		assertThat(denyValidator.validate(new Server(InetAddress.getByName("10.0.0.1"))).isValid()).isFalse();
+		assertThat(denyValidator.validate(new Server(InetAddress.getByName("11.0.0.1"))).isValid()).isTrue();
+	}
+
+	private static String toString(int address) {
+		return (address >>> 24) + "." + ((address >>> 16) & 0xff) + "." + ((address >>> 8) & 0xff) + "."
+				+ (address & 0xff);
+	}
+
+	static class Server {
+
+		private final InetAddress address;
+
+		Server(InetAddress address) {
+			this.address = address;
+		}
+
+		InetAddress address() {
+			return this.address;
+		}
+
+	}
+
+}
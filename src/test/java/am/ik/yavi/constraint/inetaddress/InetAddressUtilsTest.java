@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.inetaddress;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InetAddressUtilsTest {
+
+	@ParameterizedTest
+	@ValueSource(strings = { "0.0.0.0", "1.2.3.4", "192.168.1.10", "255.255.255.255", "10.0.0.99" })
+	void validIpv4(String value) {
+		assertThat(InetAddressUtils.isIpv4(value)).isTrue();
+		assertThat(InetAddressUtils.isIpv4(new StringBuilder(value))).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "1.2.3", "1.2.3.4.5", "256.1.1.1", "01.2.3.4", "1.2.3.4 ", "1..2.3", "1.2.3.",
+			"a.b.c.d", "1.2.3.４" })
+	void invalidIpv4(String value) {
+		assertThat(InetAddressUtils.isIpv4(value)).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "::", "::1", "1::", "2001:db8::1", "1:2:3:4:5:6:7:8", "::ffff:192.168.1.1",
+			"1:2:3:4:5:6:1.2.3.4", "fe80::1%eth0", "2001:db8::/32", "fe80::1%eth0/64", "1:2:3:4:5:6:7::" })
+	void validIpv6(String value) {
+		assertThat(InetAddressUtils.isIpv6(value)).isTrue();
+		assertThat(InetAddressUtils.isIpv6(new StringBuilder(value))).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", ":", ":::", "1:2", "1::2::3", ":1::2", "1::2:", "1:2:3:4:5:6:7:8:9", "12345::", "g::",
+			"::1/129", "::1/", "::1//1", "::1%", "::1%a b", "::1%a%b", "1.2.3.4::", "::256.1.1.1" })
+	void invalidIpv6(String value) {
+		assertThat(InetAddressUtils.isIpv6(value)).isFalse();
+	}
+
+	@Test
+	void ipv4MatchesPreviousImplementation() {
+		final char[] alphabet = { '0', '1', '2', '5', '9', '.', 'a' };
+		for (int length = 0; length <= 7; length++) {
+			forEachString(alphabet, length, s -> assertThat(InetAddressUtils.isIpv4(s)).describedAs("%s", s)
+				.isEqualTo(PreviousInetAddressUtils.isIpv4(s)));
+		}
+		final Random random = new Random(42);
+		for (int i = 0; i < 100_000; i++) {
+			final String s = randomIpv4(random);
+			assertThat(InetAddressUtils.isIpv4(s)).describedAs("%s", s).isEqualTo(PreviousInetAddressUtils.isIpv4(s));
+		}
+	}
+
+	@Test
+	void ipv6MatchesPreviousImplementationOnShortStrings() {
+		final char[] alphabet = { '0', 'f', 'g', ':', '.', '/', '%', '-', '+', ' ', '１' };
+		for (int length = 0; length <= 5; length++) {
+			forEachString(alphabet, length, s -> assertThat(InetAddressUtils.isIpv6(s)).describedAs("%s", s)
+				.isEqualTo(PreviousInetAddressUtils.isIpv6(s)));
+		}
+	}
+
+	@Test
+	void ipv6MatchesPreviousImplementationOnRandomAddresses() {
+		final Random random = new Random(42);
+		final String[] groups = { "0", "1", "ff", "FFFF", "10000", "abcd", "-0", "+1", "-1", "+", "", "g", "１２", "0:0",
+				"1.2.3.4", "256.0.0.1" };
+		for (int i = 0; i < 300_000; i++) {
+			final StringBuilder s = new StringBuilder();
+			final int count = random.nextInt(10);
+			for (int j = 0; j < count; j++) {
+				if (j > 0 || random.nextInt(4) == 0) {
+					s.append(random.nextInt(5) == 0 ? "::" : ":");
+				}
+				s.append(groups[random.nextInt(groups.length)]);
+			}
+			if (random.nextInt(4) == 0) {
+				s.append(random.nextBoolean() ? "::" : ":");
+			}
+			if (random.nextInt(4) == 0) {
+				s.append(random.nextBoolean() ? "%eth0" : random.nextBoolean() ? "%" : "%a b");
+			}
+			if (random.nextInt(4) == 0) {
+				s.append('/').append(random.nextBoolean() ? String.valueOf(random.nextInt(200)) : "1/2");
+			}
+			final String value = s.toString();
+			assertThat(InetAddressUtils.isIpv6(value)).describedAs("%s", value)
+				.isEqualTo(PreviousInetAddressUtils.isIpv6(value));
+		}
+	}
+
+	private static String randomIpv4(Random random) {
+		final StringBuilder s = new StringBuilder();
+		final int count = 1 + random.nextInt(5);
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				s.append('.');
+			}
+			s.append(random.nextInt(4) == 0 ? "0" + random.nextInt(300) : String.valueOf(random.nextInt(300)));
+		}
+		return s.toString();
+	}
+
+	private static void forEachString(char[] alphabet, int length, Consumer<String> action) {
+		final char[] chars = new char[length];
+		final int[] digits = new int[length];
+		while (true) {
+			for (int i = 0; i < length; i++) {
+				chars[i] = alphabet[digits[i]];
+			}
+			action.accept(new String(chars));
+			int i = 0;
+			while (i < length && ++digits[i] == alphabet.length) {
+				digits[i++] = 0;
+			}
+			if (i == length) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * The regex and split based implementation used before 0.17.0.
+	 */
+	static class PreviousInetAddressUtils {
+
+		private static final Pattern IPV4_PATTERN = Pattern.compile(InetAddressUtils.IPV4_REGEX);
+
+		static boolean isIpv4(String s) {
+			return IPV4_PATTERN.matcher(s).matches();
+		}
+
+		static boolean isIpv6(String s) {
+			final String[] parts = s.split("/", -1);
+			if (parts.length > 2) {
+				return false;
+			}
+			if (parts.length == 2) {
+				if (!parts[1].matches("\\d{1,3}")) {
+					return false;
+				}
+				final int bits = Integer.parseInt(parts[1]);
+				if (bits < 0 || bits > 128) {
+					return false;
+				}
+			}
+			final String[] partsZoneIdRemoved = parts[0].split("%", -1);
+			if (partsZoneIdRemoved.length > 2) {
+				return false;
+			}
+			if ((partsZoneIdRemoved.length == 2) && !partsZoneIdRemoved[1].matches("[^\\s/%]+")) {
+				return false;
+			}
+			final String firstPart = partsZoneIdRemoved[0];
+			final boolean containsCompressedZeroes = firstPart.contains("::");
+			if (containsCompressedZeroes && (firstPart.indexOf("::") != firstPart.lastIndexOf("::"))) {
+				return false;
+			}
+			if ((firstPart.startsWith(":") && !firstPart.startsWith("::"))
+					|| (firstPart.endsWith(":") && !firstPart.endsWith("::"))) {
+				return false;
+			}
+			String[] octets = firstPart.split(":");
+			if (containsCompressedZeroes) {
+				final List<String> octetList = new ArrayList<>(Arrays.asList(octets));
+				if (firstPart.endsWith("::")) {
+					octetList.add("");
+				}
+				else if (firstPart.startsWith("::") && !octetList.isEmpty()) {
+					octetList.remove(0);
+				}
+				octets = octetList.toArray(new String[0]);
+			}
+			if (octets.length > 8) {
+				return false;
+			}
+			int validOctets = 0;
+			int emptyOctets = 0;
+			for (int index = 0; index < octets.length; index++) {
+				String octet = octets[index];
+				if (octet.isEmpty()) {
+					emptyOctets++;
+					if (emptyOctets > 1) {
+						return false;
+					}
+				}
+				else {
+					emptyOctets = 0;
+					if (index == octets.length - 1 && octet.contains(".")) {
+						if (!isIpv4(octet)) {
+							return false;
+						}
+						validOctets += 2;
+						continue;
+					}
+					if (octet.length() > 4) {
+						return false;
+					}
+					int octetInt;
+					try {
+						octetInt = Integer.parseInt(octet, 16);
+					}
+					catch (NumberFormatException e) {
+						return false;
+					}
+					if (octetInt < 0 || octetInt > 0xffff) {
+						return false;
+					}
+				}
+				validOctets++;
+			}
+			return validOctets <= 8 && (validOctets >= 8 || containsCompressedZeroes);
+		}
+
+	}
+
+}
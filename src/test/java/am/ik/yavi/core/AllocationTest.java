@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import am.ik.yavi.User;
+import am.ik.yavi.builder.ValidatorBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class AllocationTest {
+
+	static final int ITERATIONS = 100_000;
+
+	final Validator<User> validator = ValidatorBuilder.<User>of()
+		.constraint(User::getName, "name", c -> c.notNull().greaterThanOrEqual(1).lessThanOrEqual(20))
+		.constraint(User::getAge, "age", c -> c.notNull().greaterThanOrEqual(0).lessThanOrEqual(100))
+		.constraint(User::isEnabled, "enabled", c -> c.isTrue())
+		.build();
+
+	@Test
+	void validTargetDoesNotAllocate() {
+		final com.sun.management.ThreadMXBean threadMXBean = threadMXBean();
+		final long threadId = Thread.currentThread().getId();
+		final User user = new User("foo", "foo@example.com", 30);
+		// warm up so that the measured loop runs compiled code
+		for (int i = 0; i < ITERATIONS; i++) {
+			assertThat(this.validator.validate(user)).isSameAs(ConstraintViolations.empty());
+		}
+		long valid = 0;
+		final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < ITERATIONS; i++) {
+			if (this.validator.validate(user).isValid()) {
+				valid++;
+			}
+		}
+		final long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+		assertThat(valid).isEqualTo(ITERATIONS);
+		assertThat((double) allocated / ITERATIONS).isLessThan(1.0);
+	}
+
+	@Test
+	void invalidTargetReturnsNewViolations() {
+		final User user = new User("", "foo@example.com", 200);
+		final ConstraintViolations violations = this.validator.validate(user);
+		assertThat(violations).isNotSameAs(ConstraintViolations.empty());
+		assertThat(violations).hasSize(2);
+		assertThat(violations.get(0).name()).isEqualTo("name");
+		assertThat(violations.get(0).violatedValue()).isEqualTo(0);
+		assertThat(violations.get(1).name()).isEqualTo("age");
+		assertThat(ConstraintViolations.empty()).isEmpty();
+	}
+
+	@Test
+	void emptyResultIsShared() {
+		final ConstraintViolations violations = this.validator.validate(new User("foo", "foo@example.com", 30));
+		assertThatThrownBy(() -> violations.add(null)).isInstanceOf(UnsupportedOperationException.class);
+		final ConstraintViolations copy = new ConstraintViolations(new ArrayList<>(violations));
+		copy.addAll(this.validator.validate(new User("", "foo@example.com", 30)));
+		assertThat(copy).hasSize(1);
+	}
+
+	@Test
+	void violatedValueFunctionIsAppliedOnce() {
+		final AtomicInteger calls = new AtomicInteger();
+		final Validator<User> validator = ValidatorBuilder.<User>of().constraint(User::getName, "name", c -> {
+			c.predicates().add(ConstraintPredicate.withViolatedValue(x -> {
+				calls.incrementAndGet();
+				return Optional.of(new ViolatedValue(x.length()));
+			}, ViolationMessage.Default.CHAR_SEQUENCE_NOT_BLANK, () -> new Object[] {}, NullAs.VALID));
+			return c;
+		}).build();
+		final ConstraintViolations violations = validator.validate(new User("foo", "foo@example.com", 30));
+		assertThat(violations).hasSize(1);
+		assertThat(violations.get(0).violatedValue()).isEqualTo(3);
+		assertThat(calls.get()).isEqualTo(1);
+	}
+
+	static com.sun.management.ThreadMXBean threadMXBean() {
+		assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+				"com.sun.management.ThreadMXBean is not available");
+		final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+			.getThreadMXBean();
+		assumeTrue(threadMXBean.isThreadAllocatedMemorySupported(), "thread allocated memory is not supported");
+		if (!threadMXBean.isThreadAllocatedMemoryEnabled()) {
+			threadMXBean.setThreadAllocatedMemoryEnabled(true);
+		}
+		return threadMXBean;
+	}
+
+}
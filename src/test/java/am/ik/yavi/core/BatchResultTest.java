@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import am.ik.yavi.User;
+import am.ik.yavi.builder.ValidatorBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchResultTest {
+
+	final Validator<User> validator = ValidatorBuilder.<User>of()
+		.constraint(User::getName, "name", c -> c.notBlank().lessThanOrEqual(20))
+		.constraint(User::getAge, "age", c -> c.notNull().greaterThanOrEqual(0))
+		.build();
+
+	@Test
+	void validateAll() {
+		final List<User> users = Arrays.asList(new User("foo", null, 10), new User("", null, -1),
+				new User("bar", null, 20), new User("baz", null, null));
+		final BatchResult result = this.validator.validateAll(users);
+		assertThat(result.size()).isEqualTo(4);
+		assertThat(result.isValid()).isFalse();
+		assertThat(result.validCount()).isEqualTo(2);
+		assertThat(result.invalidCount()).isEqualTo(2);
+		assertThat(result.isValid(0)).isTrue();
+		assertThat(result.isValid(1)).isFalse();
+		assertThat(result.isValid(2)).isTrue();
+		assertThat(result.isValid(3)).isFalse();
+		final BitSet expected = new BitSet();
+		expected.set(0);
+		expected.set(2);
+		assertThat(result.validIndices()).isEqualTo(expected);
+		assertThat(result.invalidIndices()).containsExactly(1, 3);
+		assertThat(result.violations(0)).isEmpty();
+		assertThat(result.violations(1)).extracting(ConstraintViolation::name).containsExactly("name", "age");
+		assertThat(result.violations(3)).extracting(ConstraintViolation::name).containsExactly("age");
+		final List<String> visited = new ArrayList<>();
+		result.forEachInvalid((violations, index) -> visited.add(index + ":" + violations.size()));
+		assertThat(visited).containsExactly("1:2", "3:1");
+	}
+
+	@Test
+	void violationsAreTheSameAsValidate() {
+		final List<User> users = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			users.add(new User(i % 7 == 0 ? "" : "user" + i, null, i % 11 == 0 ? -i : i));
+		}
+		final BatchResult result = this.validator.failFast(true).validateAll(users, Locale.JAPANESE);
+		for (int i = 0; i < users.size(); i++) {
+			final ConstraintViolations violations = this.validator.failFast(true)
+				.validate(users.get(i), Locale.JAPANESE);
+			assertThat(result.isValid(i)).isEqualTo(violations.isValid());
+			assertThat(result.violations(i)).extracting(ConstraintViolation::message)
+				.isEqualTo(violations.stream().map(ConstraintViolation::message).collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	void iterable() {
+		final Iterable<User> users = () -> Arrays.asList(new User("foo", null, 1), new User("", null, 1)).iterator();
+		final BatchResult result = this.validator.validateAll(users, ConstraintGroup.DEFAULT);
+		assertThat(result.size()).isEqualTo(2);
+		assertThat(result.invalidIndices()).containsExactly(1);
+	}
+
+	@Test
+	void empty() {
+		final BatchResult result = this.validator.validateAll(Collections.emptyList());
+		assertThat(result.size()).isZero();
+		assertThat(result.isValid()).isTrue();
+		assertThat(result.invalidIndices()).isEmpty();
+	}
+
+	@Test
+	void nullTarget() {
+		assertThatThrownBy(() -> this.validator.validateAll(Arrays.asList(new User("foo", null, 1), null)))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("target at index 1 must not be null");
+	}
+
+	@Test
+	void indexOutOfRange() {
+		final BatchResult result = this.validator.validateAll(Collections.singletonList(new User("foo", null, 1)));
+		assertThatThrownBy(() -> result.isValid(1)).isInstanceOf(IndexOutOfBoundsException.class);
+		assertThatThrownBy(() -> result.violations(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+	}
+
+}
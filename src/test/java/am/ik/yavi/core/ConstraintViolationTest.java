@@ -3,6 +3,7 @@ package am.ik.yavi.core;
 import am.ik.yavi.message.MessageFormatter;
 import am.ik.yavi.message.SimpleMessageFormatter;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -151,4 +152,95 @@ class ConstraintViolationTest {
 		assertThat(indexed.message()).isEqualTo("items[3] must not be empty");
 	}
 
+	@Test
+	void testIndexedKeepsOriginalArgs() {
+		ConstraintViolation original = ConstraintViolation.builder()
+			.name("items")
+			.messageKey("notEmpty")
+			.defaultMessageFormat("{0} must not be empty")
+			.argsWithPrependedName()
+			.build();
+
+		ConstraintViolation indexed = original.indexed(1).indexed(2);
+
+		assertThat(indexed.name()).isEqualTo("items[1][2]");
+		assertThat(indexed.args()).containsExactly("items[1][2]");
+		assertThat(original.args()).containsExactly("items");
+		assertThat(original.message()).isEqualTo("items must not be empty");
+	}
+
+	@Test
+	void testPathBasedViolation() {
+		ViolationPath path = ViolationPath.of("orders").index(1234).join(ViolationPath.of("lines"), ".").index(7);
+		ConstraintViolation violation = new ConstraintViolation(path.join(ViolationPath.of("sku"), "."), "notBlank",
+				"\"{0}\" must not be blank", new Object[] { null, "" }, SimpleMessageFormatter.getInstance(),
+				Locale.ENGLISH);
+
+		assertThat(violation.name()).isEqualTo("orders[1234].lines[7].sku");
+		assertThat(violation.args()).containsExactly("orders[1234].lines[7].sku", "");
+		assertThat(violation.violatedValue()).isEqualTo("");
+		assertThat(violation.message()).isEqualTo("\"orders[1234].lines[7].sku\" must not be blank");
+
+		ConstraintViolation prefixed = violation.withPath(ViolationPath.of("cart.").join(violation.path(), ""));
+		assertThat(prefixed.name()).isEqualTo("cart.orders[1234].lines[7].sku");
+		assertThat(prefixed.args()).containsExactly("cart.orders[1234].lines[7].sku", "");
+		assertThat(violation.args()).containsExactly("orders[1234].lines[7].sku", "");
+	}
+
+	@Test
+	void testArgsAreResolvedIntoCopy() {
+		Object[] args = new Object[] { null, "" };
+		ConstraintViolation violation = new ConstraintViolation(ViolationPath.of("sku"), "notBlank",
+				"\"{0}\" must not be blank", args, SimpleMessageFormatter.getInstance(), Locale.ENGLISH);
+
+		assertThat(violation.args()).containsExactly("sku", "");
+		assertThat(violation.args()).isSameAs(violation.args());
+		assertThat(violation.args()).isNotSameAs(args);
+		assertThat(args[0]).isNull();
+	}
+
+	@Test
+	void testMessageIsRenderedOnce() {
+		AtomicInteger count = new AtomicInteger();
+		MessageFormatter formatter = (messageKey, defaultMessageFormat, args, locale) -> {
+			count.incrementAndGet();
+			return SimpleMessageFormatter.getInstance().format(messageKey, defaultMessageFormat, args, locale);
+		};
+
+		ConstraintViolation violation = ConstraintViolation.builder()
+			.name("username")
+			.messageKey("notEmpty")
+			.defaultMessageFormat("{0} must not be empty")
+			.argsWithPrependedName()
+			.messageFormatter(formatter)
+			.build();
+
+		assertThat(violation.message()).isEqualTo("username must not be empty");
+		assertThat(violation.message()).isSameAs(violation.message());
+		assertThat(violation.detail().getDefaultMessage()).isEqualTo("username must not be empty");
+		assertThat(count.get()).isEqualTo(1);
+	}
+
+	@Test
+	void testFormatTo() {
+		ConstraintViolation violation = ConstraintViolation.builder()
+			.name("username")
+			.messageKey("length")
+			.defaultMessageFormat("{0} length must be between {1} and {2}")
+			.argsWithPrependedName(4, 20)
+			.locale(Locale.ENGLISH)
+			.build();
+
+		StringBuilder builder = violation.formatTo(new StringBuilder("* "));
+		assertThat(builder.toString()).isEqualTo("* username length must be between 4 and 20");
+
+		StringBuffer buffer = violation.formatTo(new StringBuffer("* "));
+		assertThat(buffer.toString()).isEqualTo("* username length must be between 4 and 20");
+
+		// formatTo uses the rendered message once it is available
+		assertThat(violation.message()).isEqualTo("username length must be between 4 and 20");
+		assertThat(violation.formatTo(new StringBuilder()).toString())
+			.isEqualTo("username length must be between 4 and 20");
+	}
+
 }
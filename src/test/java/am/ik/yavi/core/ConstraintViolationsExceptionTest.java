@@ -15,6 +15,11 @@
  */
 package am.ik.yavi.core;
 
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import am.ik.yavi.message.MessageFormatter;
+import am.ik.yavi.message.SimpleMessageFormatter;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -38,4 +43,54 @@ class ConstraintViolationsExceptionTest {
 			.isEqualTo("Constraint violations found!" + System.lineSeparator() + "* a is invalid.");
 	}
 
-}
\ No newline at end of file
+	@Test
+	void messageIsRenderedLazily() {
+		final AtomicInteger count = new AtomicInteger();
+		final MessageFormatter formatter = (messageKey, defaultMessageFormat, args, locale) -> {
+			count.incrementAndGet();
+			return SimpleMessageFormatter.getInstance().format(messageKey, defaultMessageFormat, args, locale);
+		};
+		final ConstraintViolations violations = new ConstraintViolations();
+		violations.add(ConstraintViolation.builder()
+			.name("name1")
+			.messageKey("_")
+			.defaultMessageFormat("{0} is invalid.")
+			.argsWithPrependedName()
+			.messageFormatter(formatter)
+			.locale(Locale.ENGLISH)
+			.build());
+		final ConstraintViolationsException exception = new ConstraintViolationsException(violations);
+		assertThat(count.get()).isZero();
+		assertThat(exception.getMessage())
+			.isEqualTo("Constraint violations found!" + System.lineSeparator() + "* name1 is invalid.");
+		assertThat(exception.getMessage()).isSameAs(exception.getMessage());
+		assertThat(count.get()).isEqualTo(1);
+	}
+
+	@Test
+	void stackless() {
+		final ConstraintViolations violations = new ConstraintViolations();
+		violations.add(ConstraintViolation.builder().name("name1").message("a is invalid."));
+		violations.add(ConstraintViolation.builder().name("name2").message("b is invalid."));
+		final ConstraintViolationsException exception = new StacklessConstraintViolationsException(violations);
+		assertThat(exception.getStackTrace()).isEmpty();
+		assertThat(exception.violations()).hasSize(2);
+		assertThat(exception.getMessage()).isEqualTo("Constraint violations found!" + System.lineSeparator()
+				+ "* a is invalid." + System.lineSeparator() + "* b is invalid.");
+		assertThat(new StacklessConstraintViolationsException("error!", violations).getMessage()).isEqualTo("error!");
+		assertThat(new ConstraintViolationsException(violations).getStackTrace()).isNotEmpty();
+	}
+
+	@Test
+	void initCause() {
+		final ConstraintViolations violations = new ConstraintViolations();
+		violations.add(ConstraintViolation.builder().name("name1").message("a is invalid."));
+		final IllegalStateException cause = new IllegalStateException("cause");
+		assertThat(new ConstraintViolationsException(violations).initCause(cause).getCause()).isSameAs(cause);
+		assertThat(new ConstraintViolationsException("error!", violations).initCause(cause).getCause()).isSameAs(cause);
+		assertThat(new StacklessConstraintViolationsException(violations).initCause(cause).getCause()).isSameAs(cause);
+		assertThat(new StacklessConstraintViolationsException("error!", violations).initCause(cause).getCause())
+			.isSameAs(cause);
+	}
+
+}
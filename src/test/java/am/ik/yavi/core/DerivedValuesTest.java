@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.text.Normalizer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+import am.ik.yavi.User;
+import am.ik.yavi.builder.ValidatorBuilder;
+import am.ik.yavi.constraint.CharSequenceConstraint;
+import am.ik.yavi.constraint.charsequence.variant.VariantOptions;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DerivedValuesTest {
+
+	final Object key = new Object();
+
+	@Test
+	void computedEveryTimeOutsideFrame() {
+		final AtomicInteger count = new AtomicInteger();
+		final ToIntFunction<String> length = s -> count.incrementAndGet() > 0 ? s.length() : 0;
+		assertThat(DerivedValues.getInt("foo", this.key, length)).isEqualTo(3);
+		assertThat(DerivedValues.getInt("foo", this.key, length)).isEqualTo(3);
+		assertThat(count.get()).isEqualTo(2);
+	}
+
+	@Test
+	void computedOncePerKeyInFrame() {
+		final AtomicInteger count = new AtomicInteger();
+		final String value = "foo";
+		final DerivedValues frame = DerivedValues.open(value);
+		try {
+			assertThat(DerivedValues.<String, String>get(value, this.key, s -> count.incrementAndGet() + s))
+				.isEqualTo("1foo");
+			assertThat(DerivedValues.<String, String>get(value, this.key, s -> count.incrementAndGet() + s))
+				.isEqualTo("1foo");
+			assertThat(DerivedValues.getInt(value, new Object(), s -> count.incrementAndGet())).isEqualTo(2);
+			// another value is not cached
+			assertThat(DerivedValues.<String, String>get("bar", this.key, s -> count.incrementAndGet() + s))
+				.isEqualTo("3bar");
+		}
+		finally {
+			frame.close();
+		}
+		assertThat(DerivedValues.<String, String>get(value, this.key, s -> count.incrementAndGet() + s))
+			.isEqualTo("4foo");
+	}
+
+	@Test
+	void manyKeys() {
+		final String value = "foo";
+		final Object[] keys = new Object[10];
+		final DerivedValues frame = DerivedValues.open(value);
+		try {
+			for (int i = 0; i < keys.length; i++) {
+				keys[i] = new Object();
+				final int n = i;
+				assertThat(DerivedValues.getInt(value, keys[i], s -> n)).isEqualTo(i);
+			}
+			for (int i = 0; i < keys.length; i++) {
+				assertThat(DerivedValues.getInt(value, keys[i], s -> -1)).isEqualTo(i);
+			}
+		}
+		finally {
+			frame.close();
+		}
+	}
+
+	@Test
+	void nestedFrame() {
+		final DerivedValues outer = DerivedValues.open("outer");
+		try {
+			assertThat(DerivedValues.<String, String>get("outer", this.key, s -> "outer1")).isEqualTo("outer1");
+			final DerivedValues inner = DerivedValues.open("inner");
+			try {
+				assertThat(DerivedValues.<String, String>get("inner", this.key, s -> "inner1")).isEqualTo("inner1");
+				assertThat(DerivedValues.<String, String>get("outer", this.key, s -> "outer2")).isEqualTo("outer2");
+			}
+			finally {
+				inner.close();
+			}
+			assertThat(DerivedValues.<String, String>get("outer", this.key, s -> "outer3")).isEqualTo("outer1");
+		}
+		finally {
+			outer.close();
+		}
+	}
+
+	@Test
+	void sharedByPredicatesOfProperty() {
+		final AtomicInteger count = new AtomicInteger();
+		final Validator<User> validator = ValidatorBuilder.<User>of()
+			.constraint(User::getName, "name",
+					c -> new CountingConstraint(count).notEmpty().greaterThanOrEqual(1).lessThanOrEqual(5).email())
+			.build();
+		assertThat(validator.validate(new User("foo", null, null)).size()).isEqualTo(1);
+		assertThat(count.get()).isEqualTo(1);
+		assertThat(validator.isValid(new User("foo", null, null))).isFalse();
+		assertThat(count.get()).isEqualTo(2);
+		assertThat(validator.validate(new User("foofoo", null, null)).size()).isEqualTo(2);
+		assertThat(count.get()).isEqualTo(3);
+	}
+
+	static class CountingConstraint extends CharSequenceConstraint<User, String> {
+
+		private final AtomicInteger count;
+
+		CountingConstraint(AtomicInteger count) {
+			super(Normalizer.Form.NFC, VariantOptions.builder().build());
+			this.count = count;
+		}
+
+		@Override
+		protected String normalize(String s) {
+			this.count.incrementAndGet();
+			return super.normalize(s);
+		}
+
+	}
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import am.ik.yavi.jsr305.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static am.ik.yavi.core.Group.CREATE;
+import static am.ik.yavi.core.Group.UPDATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IsValidTest {
+
+	static final Validator<Item> itemValidator = ValidatorBuilder.<Item>of()
+		.constraint(Item::getName, "name", c -> c.notBlank().lessThanOrEqual(10))
+		.build();
+
+	static final Validator<Order> orderValidator = ValidatorBuilder.<Order>of()
+		.constraintOnCondition(CREATE.toCondition(), b -> b.constraint(Order::getId, "id", Constraint::isNull))
+		.constraintOnCondition(UPDATE.toCondition(), b -> b.constraint(Order::getId, "id", Constraint::notNull))
+		.nestIfPresent(Order::getMain, "main", itemValidator)
+		.forEach(Order::getItems, "items", itemValidator)
+		.build();
+
+	static Stream<Arguments> orders() {
+		return Stream.of(Arguments.of(new Order(null, null, Collections.emptyList()), CREATE),
+				Arguments.of(new Order(null, null, Collections.emptyList()), UPDATE),
+				Arguments.of(new Order(1, null, Collections.emptyList()), UPDATE),
+				Arguments.of(new Order(null, new Item("foo"), Arrays.asList(new Item("a"), new Item("b"))), CREATE),
+				Arguments.of(new Order(null, new Item(""), Arrays.asList(new Item("a"), new Item("b"))), CREATE),
+				Arguments.of(new Order(null, new Item("foo"), Arrays.asList(new Item("a"), new Item("too long name"))),
+						CREATE),
+				Arguments.of(new Order(null, new Item("foo"), Arrays.asList(new Item("a"), null)), CREATE),
+				Arguments.of(new Order(null, null, null), ConstraintGroup.DEFAULT));
+	}
+
+	@ParameterizedTest
+	@MethodSource("orders")
+	void isValidAgreesWithValidate(Order order, ConstraintGroup group) {
+		final boolean expected = orderValidator.validate(order, group).isValid();
+		assertThat(orderValidator.isValid(order, group)).isEqualTo(expected);
+		assertThat(orderValidator.failFast(true).isValid(order, group)).isEqualTo(expected);
+		assertThat(orderValidator.prefixed("order").isValid(order, group)).isEqualTo(expected);
+	}
+
+	@Test
+	void isValidUsesDefaultGroup() {
+		assertThat(orderValidator.isValid(new Order(null, null, Collections.emptyList()))).isTrue();
+		assertThat(orderValidator.isValid(new Order(1, new Item(""), Collections.emptyList()))).isFalse();
+	}
+
+	@Test
+	void isValidDoesNotBuildViolations() {
+		final AtomicInteger tested = new AtomicInteger();
+		final AtomicInteger arguments = new AtomicInteger();
+		final CustomConstraint<String> constraint = new CustomConstraint<String>() {
+			@Override
+			public boolean test(String s) {
+				tested.incrementAndGet();
+				return !s.isEmpty();
+			}
+
+			@Override
+			public Object[] arguments(@Nullable String violatedValue) {
+				arguments.incrementAndGet();
+				return new Object[] {};
+			}
+
+			@Override
+			public String messageKey() {
+				return "custom";
+			}
+
+			@Override
+			public String defaultMessageFormat() {
+				return "\"{0}\" must not be empty";
+			}
+		};
+		final Validator<Item> validator = ValidatorBuilder.<Item>of()
+			.constraint(Item::getName, "name", c -> c.predicate(constraint))
+			.constraint(Item::getName, "name", c -> c.predicate(constraint))
+			.build();
+		assertThat(validator.isValid(new Item(""))).isFalse();
+		assertThat(tested.get()).isEqualTo(1);
+		assertThat(arguments.get()).isZero();
+	}
+
+	@Test
+	void isValidReturnsAtFirstFailingElement() {
+		final AtomicInteger visited = new AtomicInteger();
+		final Validator<Item> countingValidator = ValidatorBuilder.<Item>of()
+			.constraint(Item::getName, "name", c -> c.predicate(s -> {
+				visited.incrementAndGet();
+				return !s.isEmpty();
+			}, "custom", "\"{0}\" must not be empty"))
+			.build();
+		final Validator<Order> validator = ValidatorBuilder.<Order>of()
+			.forEach(Order::getItems, "items", countingValidator)
+			.build();
+		final Order order = new Order(null, null,
+				Arrays.asList(new Item("a"), new Item(""), new Item("b"), new Item("")));
+		assertThat(validator.isValid(order)).isFalse();
+		assertThat(visited.get()).isEqualTo(2);
+	}
+
+	@Test
+	void isValidRejectsNullTarget() {
+		assertThatThrownBy(() -> orderValidator.isValid(null)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	static class Item {
+
+		private final String name;
+
+		Item(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+	}
+
+	static class Order {
+
+		@Nullable
+		private final Integer id;
+
+		@Nullable
+		private final Item main;
+
+		@Nullable
+		private final List<Item> items;
+
+		Order(@Nullable Integer id, @Nullable Item main, @Nullable List<Item> items) {
+			this.id = id;
+			this.main = main;
+			this.items = items;
+		}
+
+		@Nullable
+		public Integer getId() {
+			return id;
+		}
+
+		@Nullable
+		public Item getMain() {
+			return main;
+		}
+
+		@Nullable
+		public List<Item> getItems() {
+			return items;
+		}
+
+	}
+
+}
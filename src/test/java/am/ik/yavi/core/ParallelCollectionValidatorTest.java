@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import am.ik.yavi.builder.ValidatorBuilder.ToCollection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelCollectionValidatorTest {
+
+	static final Validator<Item> itemValidator = ValidatorBuilder.<Item>of()
+		.constraint(Item::getName, "name", c -> c.notBlank().lessThanOrEqual(5))
+		.constraint(Item::getQuantity, "quantity", c -> c.greaterThan(0))
+		.build();
+
+	ExecutorService executor;
+
+	AtomicInteger executed;
+
+	@BeforeEach
+	void setUp() {
+		this.executor = Executors.newFixedThreadPool(4);
+		this.executed = new AtomicInteger();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.executor.shutdownNow();
+	}
+
+	Validator<Order> validator(boolean failFast) {
+		return ValidatorBuilder.<Order>of()
+			.constraint(Order::getId, "id", c -> c.notBlank())
+			.forEach(Order::getItems, "items", itemValidator)
+			.failFast(failFast)
+			.build();
+	}
+
+	Validator<Order> parallelValidator(boolean failFast) {
+		return this.validator(failFast).parallel(100, command -> {
+			this.executed.incrementAndGet();
+			this.executor.execute(command);
+		});
+	}
+
+	static Order order(int size, int... invalidIndices) {
+		final List<Item> items = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			items.add(new Item("item", 1));
+		}
+		for (int i = 0; i < invalidIndices.length; i++) {
+			final int index = invalidIndices[i];
+			items.set(index, (i % 3 == 0) ? null : (i % 3 == 1) ? new Item("", 0) : new Item("too long", 1));
+		}
+		return new Order("order", items);
+	}
+
+	static List<String> describe(ConstraintViolations violations) {
+		return violations.stream().map(v -> v.name() + ": " + v.message()).collect(Collectors.toList());
+	}
+
+	@Test
+	void sameViolationsAsSequential() {
+		final Order order = order(10_000, 3, 17, 4_999, 5_000, 7_321, 9_999);
+		final ConstraintViolations expected = this.validator(false).validate(order);
+		final ConstraintViolations actual = this.parallelValidator(false).validate(order);
+		assertThat(describe(actual)).isEqualTo(describe(expected));
+		assertThat(actual).hasSize(8);
+		assertThat(actual.get(0).name()).isEqualTo("items[3]");
+		assertThat(actual.get(7).name()).isEqualTo("items[9999].name");
+		assertThat(this.executed.get()).isPositive();
+	}
+
+	@Test
+	void validCollection() {
+		final Order order = order(10_000);
+		assertThat(this.parallelValidator(false).validate(order)).isEmpty();
+		assertThat(this.parallelValidator(true).validate(order)).isEmpty();
+	}
+
+	@Test
+	void nonListCollection() {
+		final Order order = order(1_000, 10, 500);
+		final Order setOrder = new Order("order", new LinkedHashSet<>(order.getItems()));
+		assertThat(describe(this.parallelValidator(false).validate(setOrder)))
+			.isEqualTo(describe(this.validator(false).validate(setOrder)));
+	}
+
+	@Test
+	void failFastReportsFirstViolatedElement() {
+		final Order order = order(10_000, 4_000, 8_000, 9_000);
+		final ConstraintViolations expected = this.validator(true).validate(order);
+		final ConstraintViolations actual = this.parallelValidator(true).validate(order);
+		assertThat(describe(actual)).isEqualTo(describe(expected));
+		assertThat(actual).hasSize(1);
+		assertThat(actual.get(0).name()).isEqualTo("items[4000]");
+	}
+
+	@Test
+	void failFastStopsRemainingChunks() {
+		final AtomicInteger visited = new AtomicInteger();
+		final Validator<Item> countingValidator = ValidatorBuilder.<Item>of()
+			.constraint(Item::getName, "name", c -> c.predicate(s -> {
+				visited.incrementAndGet();
+				return !s.isEmpty();
+			}, "custom", "\"{0}\" must not be empty"))
+			.build();
+		final Validator<Order> validator = ValidatorBuilder.<Order>of()
+			.forEach(Order::getItems, "items", countingValidator)
+			.failFast(true)
+			.parallel(100, this.executor)
+			.build();
+		final Order order = order(100_000, 1);
+		final ConstraintViolations violations = validator.validate(order);
+		assertThat(violations).hasSize(1);
+		assertThat(violations.get(0).name()).isEqualTo("items[1]");
+		assertThat(visited.get()).isLessThan(50_000);
+	}
+
+	@Test
+	void failFastWithPreviousViolationsFallsBackToSequential() {
+		final Order order = new Order("", order(10_000, 5).getItems());
+		final Validator<Order> validator = ValidatorBuilder.<Order>of()
+			.constraint(Order::getId, "id", c -> c.notBlank())
+			.forEach(Order::getItems, "items", itemValidator.failFast(true))
+			.build();
+		final ConstraintViolations expected = validator.validate(order);
+		final ConstraintViolations actual = validator.parallel(100, this.executor).validate(order);
+		assertThat(describe(actual)).isEqualTo(describe(expected));
+		assertThat(actual).hasSize(1);
+	}
+
+	@Test
+	void belowThresholdIsSequential() {
+		final Order order = order(99, 50);
+		assertThat(this.parallelValidator(false).validate(order)).hasSize(1);
+		assertThat(this.executed.get()).isZero();
+	}
+
+	@Test
+	void elementValidatorsKeepTheirOwnSetting() {
+		final ToCollection<List<Order>, List<Order>, Order> toOrders = l -> l;
+		final List<Order> orders = new ArrayList<>();
+		orders.add(order(1_000, 10));
+		orders.add(order(1_000, 500));
+		final Validator<List<Order>> sequentialElements = ValidatorBuilder.<List<Order>>of()
+			.forEach(toOrders, "orders", this.validator(false))
+			.build()
+			.parallel(1, command -> {
+				this.executed.incrementAndGet();
+				command.run();
+			});
+		assertThat(sequentialElements.validate(orders)).hasSize(2);
+		// only the outer collection of two orders is split, not the items of each order
+		assertThat(this.executed.get()).isEqualTo(1);
+		final Validator<List<Order>> parallelElements = ValidatorBuilder.<List<Order>>of()
+			.forEach(toOrders, "orders", this.parallelValidator(false))
+			.build();
+		this.executed.set(0);
+		assertThat(describe(parallelElements.validate(orders)))
+			.isEqualTo(describe(sequentialElements.validate(orders)));
+		assertThat(this.executed.get()).isPositive();
+	}
+
+	@Test
+	void copiesKeepParallelMode() {
+		final Order order = order(1_000, 500);
+		final ConstraintViolations violations = this.parallelValidator(false)
+			.prefixed("order")
+			.failFast(true)
+			.validate(order);
+		assertThat(violations).hasSize(1);
+		assertThat(this.executed.get()).isPositive();
+	}
+
+	@Test
+	void exceptionIsPropagated() {
+		final Validator<Item> throwingValidator = ValidatorBuilder.<Item>of()
+			.constraint(Item::getName, "name", c -> c.predicate(s -> {
+				if (s.equals("boom")) {
+					throw new IllegalStateException("boom");
+				}
+				return true;
+			}, "custom", "custom"))
+			.build();
+		final List<Item> items = new ArrayList<>(order(1_000).getItems());
+		items.set(999, new Item("boom", 1));
+		final Validator<Order> validator = ValidatorBuilder.<Order>of()
+			.forEach(Order::getItems, "items", throwingValidator)
+			.parallel(100, this.executor)
+			.build();
+		assertThatThrownBy(() -> validator.validate(new Order("order", items)))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("boom");
+	}
+
+	@Test
+	void invalidThreshold() {
+		assertThatThrownBy(() -> this.validator(false).parallel(0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> ValidatorBuilder.<Order>of().parallel(-1))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	static class Item {
+
+		private final String name;
+
+		private final int quantity;
+
+		Item(String name, int quantity) {
+			this.name = name;
+			this.quantity = quantity;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getQuantity() {
+			return quantity;
+		}
+
+	}
+
+	static class Order {
+
+		private final String id;
+
+		private final Collection<Item> items;
+
+		Order(String id, Collection<Item> items) {
+			this.id = id;
+			this.items = items;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		public Collection<Item> getItems() {
+			return items;
+		}
+
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import am.ik.yavi.User;
+import am.ik.yavi.builder.ValidatorBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StreamValidationTest {
+
+	final Validator<User> validator = ValidatorBuilder.<User>of()
+		.constraint(User::getName, "name", c -> c.notBlank().lessThanOrEqual(20))
+		.constraint(User::getAge, "age", c -> c.notNull().greaterThanOrEqual(0))
+		.build();
+
+	static User user(int i) {
+		return new User(i % 3 == 0 ? "" : "user" + i, null, i);
+	}
+
+	@Test
+	void validateStream() {
+		final List<Validated<User>> results = this.validator
+			.validateStream(IntStream.range(0, 6).mapToObj(i -> user(i)))
+			.collect(Collectors.toList());
+		assertThat(results).extracting(Validated::isValid).containsExactly(false, true, true, false, true, true);
+		assertThat(results.get(0).errors()).extracting(ConstraintViolation::name).containsExactly("name");
+		assertThat(results.get(1).value().getName()).isEqualTo("user1");
+	}
+
+	@Test
+	void validateStreamIsLazy() {
+		final AtomicInteger pulled = new AtomicInteger();
+		final Stream<User> users = Stream.iterate(1, i -> i + 1).map(i -> {
+			pulled.incrementAndGet();
+			return user(i);
+		});
+		final long valid = this.validator.validateStream(users).limit(10).filter(Validated::isValid).count();
+		assertThat(valid).isEqualTo(7);
+		assertThat(pulled.get()).isEqualTo(10);
+	}
+
+	@Test
+	void parallelStream() {
+		final Map<Boolean, List<Validated<User>>> partitioned = this.validator
+			.validateStream(IntStream.range(0, 30_000).parallel().mapToObj(i -> user(i)), Locale.ENGLISH,
+					ConstraintGroup.DEFAULT)
+			.collect(Collectors.partitioningBy(Validated::isValid));
+		assertThat(partitioned.get(true)).hasSize(20_000);
+		assertThat(partitioned.get(false)).hasSize(10_000);
+		assertThat(partitioned.get(false)).allSatisfy(validated -> {
+			assertThat(validated.errors()).hasSize(1);
+			assertThat(validated.errors().get(0).message()).isEqualTo("\"name\" must not be blank");
+		});
+	}
+
+	@Test
+	void parallelStreamKeepsEncounterOrder() {
+		final List<Integer> ages = this.validator
+			.validateStream(IntStream.range(0, 10_000).parallel().mapToObj(i -> new User("user", null, i)))
+			.map(validated -> validated.value().getAge())
+			.collect(Collectors.toList());
+		assertThat(ages).isEqualTo(IntStream.range(0, 10_000).boxed().collect(Collectors.toList()));
+	}
+
+	@Test
+	void validateIterator() {
+		final AtomicInteger pulled = new AtomicInteger();
+		final Iterator<User> iterator = new Iterator<User>() {
+			@Override
+			public boolean hasNext() {
+				return true;
+			}
+
+			@Override
+			public User next() {
+				return user(pulled.incrementAndGet());
+			}
+		};
+		final List<Validated<User>> results = this.validator.validateStream(iterator)
+			.limit(3)
+			.collect(Collectors.toList());
+		assertThat(results).extracting(Validated::isValid).containsExactly(true, true, false);
+		assertThat(pulled.get()).isEqualTo(3);
+	}
+
+	@Test
+	void nullElement() {
+		assertThatThrownBy(() -> this.validator.validateStream(Stream.of(user(1), null)).collect(Collectors.toList()))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import am.ik.yavi.CalendarEntryLocalDateTime;
 import am.ik.yavi.CalendarEntryLocalTime;
@@ -995,6 +996,29 @@ class ValidatorTest {
 		assertThat(violations.get(0).message()).startsWith("\"dateTime\" must be a past date");
 	}
 
+	@Test
+	void valueIsExtractedOncePerProperty() {
+		final AtomicInteger count = new AtomicInteger();
+		final Validator<User> validator = ValidatorBuilder.<User>of().constraint((User u) -> {
+			count.incrementAndGet();
+			return u.getName();
+		}, "name", c -> c.notNull().greaterThanOrEqual(1).lessThanOrEqual(20)).build();
+		final ConstraintViolations violations = validator.validate(new User("foo", null, null));
+		assertThat(violations.isValid()).isTrue();
+		assertThat(count.get()).isEqualTo(1);
+	}
+
+	@Test
+	void nullValueSkipsNullableConstraints() {
+		final Validator<User> validator = ValidatorBuilder.<User>of()
+			.constraint(User::getName, "name", c -> c.greaterThanOrEqual(1).notNull().lessThanOrEqual(20).notBlank())
+			.build();
+		final ConstraintViolations violations = validator.validate(new User(null, null, null));
+		assertThat(violations.size()).isEqualTo(2);
+		assertThat(violations.get(0).messageKey()).isEqualTo("object.notNull");
+		assertThat(violations.get(1).messageKey()).isEqualTo("charSequence.notBlank");
+	}
+
 	Validator<User> validator() {
 		return ValidatorBuilder.<User>of() //
 			.constraint(User::getName, "name", c -> c.notNull() //
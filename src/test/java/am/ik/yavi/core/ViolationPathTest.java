@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ViolationPathTest {
+
+	@Test
+	void name() {
+		assertThat(ViolationPath.of("name").toString()).isEqualTo("name");
+		assertThat(ViolationPath.of("").toString()).isEmpty();
+		assertThat(ViolationPath.of("")).isSameAs(ViolationPath.EMPTY);
+	}
+
+	@Test
+	void index() {
+		assertThat(ViolationPath.of("items").index(0).index(12).toString()).isEqualTo("items[0][12]");
+		assertThat(ViolationPath.EMPTY.index(3).toString()).isEqualTo("[3]");
+	}
+
+	@Test
+	void joinRendersSeparatorBetweenNonEmptyPaths() {
+		final ViolationPath items = ViolationPath.of("items").index(1);
+		assertThat(items.join(ViolationPath.of("name"), ".").toString()).isEqualTo("items[1].name");
+		assertThat(items.join(ViolationPath.EMPTY, ".")).isSameAs(items);
+		assertThat(ViolationPath.EMPTY.join(items, ".")).isSameAs(items);
+		assertThat(ViolationPath.of("prefix.").join(items, "").toString()).isEqualTo("prefix.items[1]");
+	}
+
+	@Test
+	void segmentsAreShared() {
+		final ViolationPath orders = ViolationPath.of("orders").index(1234);
+		final ViolationPath lines = orders.join(ViolationPath.of("lines"), ".").index(7);
+		final ViolationPath sku = lines.join(ViolationPath.of("sku"), ".");
+		final ViolationPath quantity = lines.join(ViolationPath.of("quantity"), ".");
+		assertThat(sku.toString()).isEqualTo("orders[1234].lines[7].sku");
+		assertThat(quantity.toString()).isEqualTo("orders[1234].lines[7].quantity");
+		assertThat(lines.toString()).isEqualTo("orders[1234].lines[7]");
+		assertThat(sku.toString()).isSameAs(sku.toString());
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2018-2025 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.message;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SimpleMessageFormatterTest {
+
+	final SimpleMessageFormatter messageFormatter = SimpleMessageFormatter.getInstance();
+
+	@BeforeEach
+	@AfterEach
+	void clear() {
+		MessageFormatCache.clear();
+	}
+
+	@Test
+	void format() {
+		final String message = this.messageFormatter.format("demo", "{0} must be less than {1}",
+				new Object[] { "age", 10 }, Locale.ENGLISH);
+		assertThat(message).isEqualTo("age must be less than 10");
+	}
+
+	@Test
+	void formatCachesTemplatePerLocale() {
+		this.messageFormatter.format("demo", "{0} is {1}", new Object[] { "a", 1 }, Locale.ENGLISH);
+		this.messageFormatter.format("demo", "{0} is {1}", new Object[] { "b", 2 }, Locale.ENGLISH);
+		assertThat(MessageFormatCache.size()).isEqualTo(1);
+		final String message = this.messageFormatter.format("demo", "{0} is {1}", new Object[] { "c", 1000.5 },
+				Locale.GERMAN);
+		assertThat(message).isEqualTo("c is 1.000,5");
+		assertThat(MessageFormatCache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void formatIsBounded() {
+		for (int i = 0; i < MessageFormatCache.MAX_SIZE + 10; i++) {
+			final String message = this.messageFormatter.format("demo", "{0} #" + i, new Object[] { "a" },
+					Locale.ENGLISH);
+			assertThat(message).isEqualTo("a #" + i);
+		}
+		assertThat(MessageFormatCache.size()).isLessThanOrEqualTo(MessageFormatCache.MAX_SIZE);
+	}
+
+	@Test
+	void formatConcurrently() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			final List<Future<Boolean>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				final int n = i;
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < 1000; j++) {
+						final String message = this.messageFormatter.format("demo", "{0} must be {1,number,#.##}",
+								new Object[] { "v" + n, n + j / 1000.0 }, Locale.ENGLISH);
+						final String expected = "v" + n + " must be "
+								+ new DecimalFormat("#.##").format(n + j / 1000.0);
+						if (!message.equals(expected)) {
+							return false;
+						}
+					}
+					return true;
+				}));
+			}
+			for (Future<Boolean> future : futures) {
+				assertThat(future.get()).isTrue();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void formatToStringBuilder() {
+		final StringBuilder builder = new StringBuilder("> ");
+		this.messageFormatter.formatTo(builder, "demo", "{0} is invalid", new Object[] { "name" }, Locale.ENGLISH);
+		assertThat(builder.toString()).isEqualTo("> name is invalid");
+	}
+
+	@Test
+	void formatToStringBuffer() {
+		final StringBuffer buffer = new StringBuffer("> ");
+		this.messageFormatter.formatTo(buffer, "demo", "{0} is invalid", new Object[] { "name" }, Locale.ENGLISH);
+		assertThat(buffer.toString()).isEqualTo("> name is invalid");
+	}
+
+	@Test
+	void formatToFailingAppendable() {
+		final Writer writer = new Writer() {
+			@Override
+			public void write(char[] cbuf, int off, int len) throws IOException {
+				throw new IOException("closed");
+			}
+
+			@Override
+			public void flush() {
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+		assertThatThrownBy(() -> this.messageFormatter.formatTo(writer, "demo", "{0} is invalid",
+				new Object[] { "name" }, Locale.ENGLISH))
+			.isInstanceOf(UncheckedIOException.class)
+			.hasRootCauseMessage("closed");
+	}
+
+}